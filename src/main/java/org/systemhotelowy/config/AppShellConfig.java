@@ -0,0 +1,12 @@
+package org.systemhotelowy.config;
+
+import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
+
+/**
+ * Konfiguracja powłoki aplikacji Vaadin.
+ * Push (WebSocket) pozwala serwerowi wysyłać zmiany do przeglądarki bez odpytywania - używany przez KpiBroadcaster.
+ */
+@Push
+public class AppShellConfig implements AppShellConfigurator {
+}
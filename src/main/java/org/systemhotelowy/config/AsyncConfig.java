@@ -0,0 +1,73 @@
+package org.systemhotelowy.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Pule wątków dla zadań wykonywanych w tle (oraz włączenie zadań okresowych @Scheduled).
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * Wstępne ładowanie sąsiednich okien kalendarza rezerwacji.
+     * Mała, ograniczona pula - gdy kolejka jest pełna, zlecenie jest odrzucane (AbortPolicy), a ReservationCalendar
+     * pomija prefetch i zwalnia fragment do ponownej próby.
+     */
+    @Bean(name = "calendarPrefetchExecutor")
+    public ThreadPoolTaskExecutor calendarPrefetchExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("calendar-prefetch-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Jeden wątek roboczy kolejki CheckoutCleaningPipeline (przetwarzanie paczek zdarzeń wymeldowań).
+     */
+    @Bean(name = "checkoutCleaningExecutor")
+    public ThreadPoolTaskExecutor checkoutCleaningExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("checkout-cleaning-");
+        return executor;
+    }
+
+    /**
+     * Budowanie sekcji dni raportu zakresowego (RangeReportStreamer). Pula jest wspólna dla wszystkich żądań,
+     * więc liczba równoległych zapytań raportowych jest stała; gdy kolejka jest pełna, dzień buduje wątek żądania.
+     */
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("report-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Asynchroniczne zlecenia raportów (ReportJobService). Przy pełnej kolejce zlecenie jest odrzucane.
+     */
+    @Bean(name = "reportJobExecutor")
+    public ThreadPoolTaskExecutor reportJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(32);
+        executor.setThreadNamePrefix("report-job-");
+        return executor;
+    }
+}
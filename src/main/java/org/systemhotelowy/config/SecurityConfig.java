@@ -60,6 +60,9 @@ public class SecurityConfig {
                                 "/auth/register"
                         ).permitAll()
 
+                        // zlecenia raportów obciążają pulę i dysk - tylko dla kierownictwa
+                        .requestMatchers("/api/reports/jobs/**").hasAnyRole("ADMIN", "MANAGER")
+
                         // >>> OTWIERAMY RAPORTY XML <<<
                         .requestMatchers("/api/reports/**").permitAll()
 
@@ -4,14 +4,31 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.*;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.systemhotelowy.dto.report.HotelReportImportSummaryDto;
+import org.systemhotelowy.dto.report.ReportJobResponse;
+import org.systemhotelowy.service.RangeReportStreamer;
 import org.systemhotelowy.service.ReportExportService;
-import org.systemhotelowy.service.impl.XmlReportExportService;
+import org.systemhotelowy.service.ReportFileCache;
+import org.systemhotelowy.service.ReportFormat;
+import org.systemhotelowy.service.ReportImporter;
+import org.systemhotelowy.service.ReportJobService;
+import org.systemhotelowy.service.ReportStreamer;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
 import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
 
@@ -22,7 +39,10 @@ import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
 public class ReportController {
 
     private final ReportExportService reportExportService;
-    private final XmlReportExportService xmlService;
+    private final ReportImporter reportImporter;
+    private final ReportStreamer reportStreamer;
+    private final RangeReportStreamer rangeReportStreamer;
+    private final ReportJobService reportJobService;
 
     // -------------------------------------------------
     // GET /api/reports/daily/xml  – EXPORT XML
@@ -67,6 +87,254 @@ public class ReportController {
         return new ResponseEntity<>(xmlBytes, headers, HttpStatus.OK);
     }
 
+    // -------------------------------------------------
+    // GET /api/reports/daily/xml/stream  – EXPORT XML (strumieniowo)
+    // -------------------------------------------------
+    @GetMapping(
+            value = "/daily/xml/stream",
+            produces = MediaType.APPLICATION_XML_VALUE
+    )
+    @Operation(
+            summary = "Stream daily hotel report as XML",
+            description = "Same document as /daily/xml, written to the response while rooms, tasks and reservations " +
+                    "are read from the database. Validated against the XSD on the fly; memory use does not grow with report size."
+    )
+    public ResponseEntity<StreamingResponseBody> streamDailyXmlReport(
+            @RequestParam("date")
+            @DateTimeFormat(iso = DATE)
+            @Parameter(description = "Report date in format yyyy-MM-dd", example = "2025-12-10")
+            LocalDate date
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_XML);
+        headers.setContentDisposition(
+                ContentDisposition.attachment()
+                        .filename("hotel-report-" + date + ".xml")
+                        .build()
+        );
+
+        StreamingResponseBody body = out -> reportStreamer.writeDailyXml(date, out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    // -------------------------------------------------
+    // GET /api/reports/range/xml  – EXPORT XML za zakres dat
+    // -------------------------------------------------
+    @GetMapping(
+            value = "/range/xml",
+            produces = MediaType.APPLICATION_XML_VALUE
+    )
+    @Operation(
+            summary = "Stream hotel report for a date range as XML",
+            description = "Returns hotelRangeReport with one day section (rooms, tasks, reservations) per date from 'from' " +
+                    "to 'to' inclusive, at most " + RangeReportStreamer.MAX_DAYS + " days. Day sections are built in parallel " +
+                    "and streamed in date order."
+    )
+    public ResponseEntity<StreamingResponseBody> streamRangeXmlReport(
+            @RequestParam("from")
+            @DateTimeFormat(iso = DATE)
+            @Parameter(description = "First report date in format yyyy-MM-dd", example = "2025-12-01")
+            LocalDate from,
+            @RequestParam("to")
+            @DateTimeFormat(iso = DATE)
+            @Parameter(description = "Last report date in format yyyy-MM-dd", example = "2025-12-07")
+            LocalDate to
+    ) {
+        RangeReportStreamer.validateRange(from, to);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_XML);
+        headers.setContentDisposition(
+                ContentDisposition.attachment()
+                        .filename("hotel-report-" + from + "_" + to + ".xml")
+                        .build()
+        );
+
+        StreamingResponseBody body = out -> rangeReportStreamer.writeRangeXml(from, to, out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    // -------------------------------------------------
+    // GET /api/reports/daily, /api/reports/range  – format wg Accept (XML, CSV, NDJSON), gzip wg Accept-Encoding
+    // -------------------------------------------------
+    @GetMapping(
+            value = "/daily",
+            produces = {MediaType.APPLICATION_XML_VALUE, "text/csv", MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(
+            summary = "Stream daily hotel report in negotiated format",
+            description = "Format is chosen by the Accept header: application/xml (default), text/csv or " +
+                    "application/x-ndjson. With Accept-Encoding: gzip the body is gzip-compressed."
+    )
+    public ResponseEntity<StreamingResponseBody> streamDailyReport(
+            @RequestParam("date")
+            @DateTimeFormat(iso = DATE)
+            @Parameter(description = "Report date in format yyyy-MM-dd", example = "2025-12-10")
+            LocalDate date,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) throws HttpMediaTypeNotAcceptableException {
+        ReportFormat format = ReportFormat.fromAcceptHeader(accept);
+        return formattedReport("hotel-report-" + date, format, acceptEncoding,
+                out -> reportExportService.exportDailyReport(date, format, out));
+    }
+
+    @GetMapping(
+            value = "/range",
+            produces = {MediaType.APPLICATION_XML_VALUE, "text/csv", MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    @Operation(
+            summary = "Stream hotel report for a date range in negotiated format",
+            description = "Same content as /range/xml; format chosen by Accept (application/xml, text/csv, " +
+                    "application/x-ndjson), gzip by Accept-Encoding. CSV and NDJSON records carry the day in a date field."
+    )
+    public ResponseEntity<StreamingResponseBody> streamRangeReport(
+            @RequestParam("from")
+            @DateTimeFormat(iso = DATE)
+            @Parameter(description = "First report date in format yyyy-MM-dd", example = "2025-12-01")
+            LocalDate from,
+            @RequestParam("to")
+            @DateTimeFormat(iso = DATE)
+            @Parameter(description = "Last report date in format yyyy-MM-dd", example = "2025-12-07")
+            LocalDate to,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) throws HttpMediaTypeNotAcceptableException {
+        RangeReportStreamer.validateRange(from, to);
+        ReportFormat format = ReportFormat.fromAcceptHeader(accept);
+        return formattedReport("hotel-report-" + from + "_" + to, format, acceptEncoding,
+                out -> reportExportService.exportRangeReport(from, to, format, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> formattedReport(String baseName, ReportFormat format,
+                                                                         String acceptEncoding,
+                                                                         Consumer<OutputStream> export) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(format.getMediaType());
+        headers.setContentDisposition(
+                ContentDisposition.attachment()
+                        .filename(baseName + "." + format.getExtension())
+                        .build()
+        );
+        headers.setVary(List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING));
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                export.accept(compressed);
+                compressed.finish();
+            } else {
+                export.accept(out);
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Czy klient akceptuje gzip (Accept-Encoding: gzip albo *, z wagą q większą od 0).
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // -------------------------------------------------
+    // POST /api/reports/jobs  – asynchroniczne zlecenie raportu
+    // -------------------------------------------------
+    @PostMapping(value = "/jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Submit report generation job",
+            description = "Queues report generation and returns the job (202). Results are cached on disk by type, " +
+                    "date range and data version: reports for past dates are generated once, a repeated job returns " +
+                    "DONE immediately. Returns 409 when the queue is full."
+    )
+    public ResponseEntity<ReportJobResponse> submitReportJob(
+            @RequestParam("type")
+            @Parameter(description = "DAILY_XML or RANGE_XML", example = "RANGE_XML")
+            ReportJobService.ReportType type,
+            @RequestParam("from")
+            @DateTimeFormat(iso = DATE)
+            @Parameter(description = "First report date in format yyyy-MM-dd", example = "2025-12-01")
+            LocalDate from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DATE)
+            @Parameter(description = "Last report date (defaults to 'from')", example = "2025-12-07")
+            LocalDate to
+    ) {
+        ReportJobService.ReportJob job = reportJobService.submit(type, from, to);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/reports/jobs/" + job.getId()))
+                .body(toResponse(job));
+    }
+
+    // -------------------------------------------------
+    // GET /api/reports/jobs/{id}  – status zlecenia
+    // -------------------------------------------------
+    @GetMapping(value = "/jobs/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get report job status")
+    public ResponseEntity<ReportJobResponse> getReportJob(@PathVariable String id) {
+        return ResponseEntity.ok(toResponse(reportJobService.getJob(id)));
+    }
+
+    // -------------------------------------------------
+    // GET /api/reports/jobs/{id}/download  – wynik zlecenia
+    // -------------------------------------------------
+    @GetMapping("/jobs/{id}/download")
+    @Operation(
+            summary = "Download report job result",
+            description = "Streams the cached report file. Supports If-None-Match (304) and Range requests. " +
+                    "Returns 409 while the job is not finished."
+    )
+    public ResponseEntity<Resource> downloadReportJob(@PathVariable String id, WebRequest request) {
+        ReportJobService.ReportJob job = reportJobService.getJob(id);
+        ReportFileCache.CachedReport report = reportJobService.getResult(id);
+        if (request.checkNotModified(report.getETag())) {
+            return null;
+        }
+
+        String filename = "hotel-report-" + job.getFrom()
+                + (job.getTo().equals(job.getFrom()) ? "" : "_" + job.getTo()) + ".xml";
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_XML)
+                .contentLength(report.getSize())
+                .eTag(report.getETag())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(new FileSystemResource(report.getPath()));
+    }
+
+    private static ReportJobResponse toResponse(ReportJobService.ReportJob job) {
+        return new ReportJobResponse(job.getId(), job.getType().name(), job.getStatus().name(), job.getFrom(),
+                job.getTo(), job.getCreatedAt(), job.getFinishedAt(), job.getSizeBytes(), job.getError());
+    }
+
     // -------------------------------------------------
     // POST /api/reports/daily/xml/import – IMPORT XML
     // -------------------------------------------------
@@ -77,7 +345,8 @@ public class ReportController {
     )
     @Operation(
             summary = "Import daily hotel report from XML",
-            description = "Validates XML against XSD schema and returns summary of imported data.",
+            description = "Streams the XML body: validates it against the XSD schema while reading, applies room and task " +
+                    "changes in batches within one transaction and returns summary of imported data.",
             requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "XML file content",
                     content = @io.swagger.v3.oas.annotations.media.Content(
@@ -89,10 +358,8 @@ public class ReportController {
                     )
             )
     )
-    public ResponseEntity<?> importDailyXml(
-            @RequestBody byte[] xmlBytes
-    ) {
-        HotelReportImportSummaryDto dto = xmlService.importDailyReport(xmlBytes);
+    public ResponseEntity<?> importDailyXml(InputStream xmlStream) {
+        HotelReportImportSummaryDto dto = reportImporter.importReport(xmlStream);
         return ResponseEntity.ok(dto);
     }
 }
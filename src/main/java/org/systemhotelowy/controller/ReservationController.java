@@ -1,20 +1,32 @@
 package org.systemhotelowy.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.systemhotelowy.dto.OccupancyResponse;
+import org.systemhotelowy.dto.ReservationBatchItemResponse;
 import org.systemhotelowy.dto.ReservationRequest;
 import org.systemhotelowy.dto.ReservationResponse;
+import org.systemhotelowy.dto.RoomResponse;
+import org.systemhotelowy.mapper.RoomMapper;
 import org.systemhotelowy.model.ReservationStatus;
+import org.systemhotelowy.model.RoomType;
 import org.systemhotelowy.service.ReservationService;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Kontroler REST API dla zarządzania rezerwacjami.
@@ -24,10 +36,21 @@ import java.util.List;
 @Tag(name = "Reservations", description = "Zarządzanie rezerwacjami hotelowymi")
 public class ReservationController {
 
+    /**
+     * Nagłówek z kursorem następnej strony (ID ostatniej zwróconej rezerwacji).
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int STREAM_FLUSH_INTERVAL = 200;
+
     private final ReservationService reservationService;
+    private final RoomMapper roomMapper;
+    private final ObjectMapper objectMapper;
 
-    public ReservationController(ReservationService reservationService) {
+    public ReservationController(ReservationService reservationService, RoomMapper roomMapper, ObjectMapper objectMapper) {
         this.reservationService = reservationService;
+        this.roomMapper = roomMapper;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -39,52 +62,109 @@ public class ReservationController {
                 .body(reservationService.toResponse(created));
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Utwórz wiele rezerwacji",
+            description = "Tworzy rezerwacje wsadowo w jednej transakcji (import grupowy / OTA). Zwraca wynik dla każdej pozycji. Wymaga roli ADMIN lub MANAGER.")
+    public List<ReservationBatchItemResponse> createBatch(@RequestBody List<ReservationRequest> requests) {
+        return reservationService.createBatch(requests);
+    }
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    @Operation(summary = "Pobierz wszystkie rezerwacje", description = "Zwraca listę wszystkich rezerwacji. Wymaga roli ADMIN lub MANAGER.")
-    public List<ReservationResponse> listAll() {
-        return reservationService.toResponseList(reservationService.findAll());
+    @Operation(summary = "Pobierz wszystkie rezerwacje",
+            description = "Zwraca listę wszystkich rezerwacji. Z parametrem limit zwraca stronę (keyset po ID) - kolejną stronę pobiera się z afterId z nagłówka X-Next-Cursor. Wymaga roli ADMIN lub MANAGER.")
+    public ResponseEntity<List<ReservationResponse>> listAll(
+            @RequestParam(required = false) Integer afterId,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (limit == null) {
+            return ResponseEntity.ok(reservationService.findAllResponses());
+        }
+        return page(reservationService.findAllAfter(afterId, limit), limit);
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Strumieniuj rezerwacje (NDJSON)",
+            description = "Zwraca rezerwacje jako NDJSON (jeden obiekt JSON na linię), odczytywane z bazy w miarę wysyłania. Opcjonalne filtry: status oraz okres startDate-endDate.")
+    public ResponseEntity<StreamingResponseBody> stream(
+            @RequestParam(required = false) ReservationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+    ) {
+        if ((startDate == null) != (endDate == null)) {
+            throw new IllegalArgumentException("Okres wymaga podania obu dat: startDate i endDate");
+        }
+        StreamingResponseBody body = out -> writeNdjson(out, status, startDate, endDate);
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Pobierz rezerwację po ID", description = "Zwraca szczegóły rezerwacji o podanym ID.")
     public ResponseEntity<ReservationResponse> getById(@PathVariable Integer id) {
-        var reservation = reservationService.findById(id);
-        return ResponseEntity.ok(reservationService.toResponse(reservation));
+        return ResponseEntity.ok(reservationService.findResponseById(id));
     }
 
     @GetMapping("/room/{roomId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Pobierz rezerwacje dla pokoju", description = "Zwraca wszystkie rezerwacje dla danego pokoju.")
     public List<ReservationResponse> getByRoomId(@PathVariable Integer roomId) {
-        return reservationService.toResponseList(reservationService.findByRoomId(roomId));
+        return reservationService.findResponsesByRoomId(roomId);
     }
 
     @GetMapping("/period")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Pobierz rezerwacje w okresie", description = "Zwraca rezerwacje w podanym okresie czasu.")
-    public List<ReservationResponse> getByPeriod(
+    public ResponseEntity<List<ReservationResponse>> getByPeriod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer afterId,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (limit == null) {
+            return ResponseEntity.ok(reservationService.findResponsesInPeriod(startDate, endDate));
+        }
+        return page(reservationService.findReservationsInPeriodAfter(startDate, endDate, afterId, limit), limit);
+    }
+
+    @GetMapping("/occupancy")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Pobierz macierz zajętości pokoi",
+            description = "Zwraca dla każdego pokoju ID rezerwacji w kolejnych dniach okna (null = wolne). Domyślnie 14 dni.")
+    public OccupancyResponse getOccupancy(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
+            @RequestParam(defaultValue = "14") int days
     ) {
-        return reservationService.toResponseList(
-                reservationService.findReservationsInPeriod(startDate, endDate)
-        );
+        return reservationService.toOccupancyResponse(reservationService.getOccupancy(startDate, days));
     }
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Pobierz rezerwacje po statusie", description = "Zwraca rezerwacje o podanym statusie (PENDING, CONFIRMED, CHECKED_IN, CHECKED_OUT, CANCELLED).")
-    public List<ReservationResponse> getByStatus(@PathVariable ReservationStatus status) {
-        return reservationService.toResponseList(reservationService.findByStatus(status));
+    public ResponseEntity<List<ReservationResponse>> getByStatus(
+            @PathVariable ReservationStatus status,
+            @RequestParam(required = false) Integer afterId,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (limit == null) {
+            return ResponseEntity.ok(reservationService.findResponsesByStatus(status));
+        }
+        return page(reservationService.findByStatusAfter(status, afterId, limit), limit);
     }
 
     @GetMapping("/active")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Pobierz aktywne rezerwacje", description = "Zwraca wszystkie aktywne rezerwacje (CONFIRMED lub CHECKED_IN).")
-    public List<ReservationResponse> getActive() {
-        return reservationService.toResponseList(reservationService.findActiveReservations());
+    public ResponseEntity<List<ReservationResponse>> getActive(
+            @RequestParam(required = false) Integer afterId,
+            @RequestParam(required = false) Integer limit
+    ) {
+        if (limit == null) {
+            return ResponseEntity.ok(reservationService.findActiveResponses());
+        }
+        return page(reservationService.findActiveReservationsAfter(afterId, limit), limit);
     }
 
     @PutMapping("/{id}")
@@ -145,4 +225,50 @@ public class ReservationController {
         }
         return ResponseEntity.ok(available);
     }
+
+    @GetMapping("/available-rooms")
+    @Operation(summary = "Wyszukaj wolne pokoje",
+            description = "Zwraca wszystkie pokoje dostępne w podanym okresie, opcjonalnie filtrowane po typie i minimalnej pojemności.")
+    public List<RoomResponse> findAvailableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+            @RequestParam(required = false) RoomType type,
+            @RequestParam(required = false) Integer minCapacity
+    ) {
+        return reservationService.findAvailableRooms(checkInDate, checkOutDate, type, minCapacity).stream()
+                .map(roomMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Pełna strona oznacza, że mogą istnieć kolejne rekordy - wtedy ID ostatniej pozycji trafia do nagłówka kursora.
+     */
+    private ResponseEntity<List<ReservationResponse>> page(List<ReservationResponse> reservations, int limit) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (reservations.size() == limit) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(reservations.get(reservations.size() - 1).getId()));
+        }
+        return response.body(reservations);
+    }
+
+    private void writeNdjson(OutputStream out, ReservationStatus status, LocalDate startDate, LocalDate endDate)
+            throws IOException {
+        int[] written = {0};
+        try {
+            reservationService.streamReservations(status, startDate, endDate, response -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(response));
+                    out.write('\n');
+                    if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
 }
@@ -10,21 +10,25 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.systemhotelowy.dto.CleaningRouteStopResponse;
 import org.systemhotelowy.dto.TaskRequest;
 import org.systemhotelowy.dto.TaskResponse;
 import org.systemhotelowy.dto.UserResponse;
 import org.systemhotelowy.dto.UserTaskCountResponse;
+import org.systemhotelowy.dto.UserWorkloadResponse;
 import org.systemhotelowy.mapper.TaskMapper;
 import org.systemhotelowy.mapper.UserMapper;
 import org.systemhotelowy.model.Room;
 import org.systemhotelowy.model.Task;
 import org.systemhotelowy.model.User;
+import org.systemhotelowy.service.CleaningRoutePlanner;
 import org.systemhotelowy.service.RoomService;
 import org.systemhotelowy.service.TaskService;
 import org.systemhotelowy.service.UserService;
 
 import java.net.URI;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -137,6 +141,26 @@ public class TaskController {
                 .collect(Collectors.toList());
     }
 
+    @GetMapping("/user/{userId}/route")
+    @Operation(summary = "Trasa sprzątania użytkownika",
+            description = "Zwraca otwarte zadania użytkownika na dany dzień (domyślnie dziś) w kolejności ograniczającej zmiany pięter, z planowanym czasem rozpoczęcia (nie wcześniej niż scheduledAt).")
+    public List<CleaningRouteStopResponse> getRoute(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<CleaningRoutePlanner.Stop> route = taskService.planRoute(userId, date != null ? date : LocalDate.now());
+        List<CleaningRouteStopResponse> response = new ArrayList<>(route.size());
+        for (int i = 0; i < route.size(); i++) {
+            CleaningRoutePlanner.Stop stop = route.get(i);
+            response.add(new CleaningRouteStopResponse(
+                    i + 1,
+                    stop.getPlannedStart(),
+                    stop.getPlannedStart().plusMinutes(stop.getTask().getDurationInMinutes()),
+                    taskMapper.toResponse(stop.getTask())
+            ));
+        }
+        return response;
+    }
+
     @GetMapping("/count-per-user")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Kto ma ile tasków", description = "Zwraca liczbę zadań przypisanych do każdego użytkownika. Wymaga roli ADMIN lub MANAGER.")
@@ -144,6 +168,16 @@ public class TaskController {
         return taskService.getTaskCountPerUser();
     }
 
+    @GetMapping("/workload")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Obciążenie pracowników",
+            description = "Zwraca dla każdego użytkownika liczbę zadań w każdym statusie i sumę zaplanowanych minut (bez anulowanych). Opcjonalny zakres dni from-to (włącznie). Wymaga roli ADMIN lub MANAGER.")
+    public List<UserWorkloadResponse> getWorkload(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return taskService.getWorkloadPerUser(from, to);
+    }
+
     @GetMapping("/users")
     @PreAuthorize("hasRole('MANAGER')")
     @Operation(summary = "Pobierz listę użytkowników", description = "Zwraca listę wszystkich użytkowników. Dostępne tylko dla MANAGER.")
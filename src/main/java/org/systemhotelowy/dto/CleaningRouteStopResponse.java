@@ -0,0 +1,20 @@
+package org.systemhotelowy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Przystanek na trasie sprzątania: kolejność, planowany początek i koniec oraz samo zadanie.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CleaningRouteStopResponse {
+    private Integer position;
+    private LocalDateTime plannedStart;
+    private LocalDateTime plannedEnd;
+    private TaskResponse task;
+}
@@ -0,0 +1,20 @@
+package org.systemhotelowy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO macierzy zajętości pokoi dla okna dni rozpoczynającego się w startDate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyResponse {
+    private LocalDate startDate;
+    private int days;
+    private List<RoomOccupancyRow> rooms;
+}
@@ -0,0 +1,27 @@
+package org.systemhotelowy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Wynik pojedynczej pozycji wsadowego tworzenia rezerwacji.
+ * index odpowiada pozycji w żądaniu; przy błędzie reservation jest null, a error zawiera powód.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationBatchItemResponse {
+    private int index;
+    private boolean success;
+    private ReservationResponse reservation;
+    private String error;
+
+    public static ReservationBatchItemResponse success(int index, ReservationResponse reservation) {
+        return new ReservationBatchItemResponse(index, true, reservation, null);
+    }
+
+    public static ReservationBatchItemResponse failure(int index, String error) {
+        return new ReservationBatchItemResponse(index, false, null, error);
+    }
+}
@@ -0,0 +1,17 @@
+package org.systemhotelowy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Wiersz macierzy zajętości - ID rezerwacji dla kolejnych dni okna (null = pokój wolny).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomOccupancyRow {
+    private Integer roomId;
+    private String roomNumber;
+    private Integer[] reservationIds;
+}
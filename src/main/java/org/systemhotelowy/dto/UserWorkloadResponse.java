@@ -0,0 +1,25 @@
+package org.systemhotelowy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Obciążenie pracownika zadaniami: liczba zadań w każdym statusie oraz suma zaplanowanych minut
+ * (bez zadań anulowanych).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserWorkloadResponse {
+    private Integer userId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Long pendingCount;
+    private Long inProgressCount;
+    private Long doneCount;
+    private Long cancelledCount;
+    private Long taskCount;
+    private Long totalMinutes;
+}
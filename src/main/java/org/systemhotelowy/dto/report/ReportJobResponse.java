@@ -0,0 +1,26 @@
+package org.systemhotelowy.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO statusu asynchronicznego zlecenia raportu.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResponse {
+    private String id;
+    private String type;
+    private String status;
+    private LocalDate from;
+    private LocalDate to;
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+    private Long sizeBytes;
+    private String error;
+}
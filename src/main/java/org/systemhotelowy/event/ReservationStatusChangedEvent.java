@@ -0,0 +1,51 @@
+package org.systemhotelowy.event;
+
+import org.systemhotelowy.model.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Zdarzenie domenowe: zmiana statusu rezerwacji.
+ * Publikowane przez ReservationServiceImpl w transakcji zapisu; słuchacze reagują po jej zatwierdzeniu.
+ */
+public class ReservationStatusChangedEvent {
+
+    private final Integer reservationId;
+    private final Integer roomId;
+    private final ReservationStatus oldStatus;
+    private final ReservationStatus newStatus;
+    private final LocalDateTime occurredAt;
+
+    public ReservationStatusChangedEvent(Integer reservationId, Integer roomId,
+                                         ReservationStatus oldStatus, ReservationStatus newStatus) {
+        this.reservationId = reservationId;
+        this.roomId = roomId;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public Integer getReservationId() {
+        return reservationId;
+    }
+
+    public Integer getRoomId() {
+        return roomId;
+    }
+
+    public ReservationStatus getOldStatus() {
+        return oldStatus;
+    }
+
+    public ReservationStatus getNewStatus() {
+        return newStatus;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public boolean isCheckOut() {
+        return newStatus == ReservationStatus.CHECKED_OUT && oldStatus != ReservationStatus.CHECKED_OUT;
+    }
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -14,7 +15,15 @@ import java.time.LocalDateTime;
  * Encja reprezentująca rezerwację pokoju hotelowego.
  */
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations",
+        indexes = {
+                // kontrola nakładania się terminów w pokoju: równość po room_id, zakres po check_out_date
+                // (historia kończy się przed szukanym okresem, więc jest pomijana); status filtrowany w indeksie
+                @Index(name = "idx_reservations_room_dates",
+                        columnList = "room_id, check_out_date, check_in_date, status"),
+                // kalendarz i raporty okresowe: zakres po check_out_date >= początek okresu
+                @Index(name = "idx_reservations_checkout_checkin", columnList = "check_out_date, check_in_date")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -57,6 +66,14 @@ public class Reservation {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // ustawiane przez CheckoutCleaningPipeline - wymeldowanie jest obsługiwane dokładnie raz
+    @Column(name = "cleaning_handled_at")
+    private LocalDateTime cleaningHandledAt;
+
     @Column(name = "notes", columnDefinition = "TEXT")
     private String notes;
 }
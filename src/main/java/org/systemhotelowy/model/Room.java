@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 import lombok.experimental.FieldNameConstants;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "rooms",
@@ -42,4 +45,7 @@ public class Room {
 
     @Column(nullable = false)
     private Integer capacity = 1;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
\ No newline at end of file
@@ -14,7 +14,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "tasks",
         indexes = {
-                @Index(name = "idx_tasks_room", columnList = "room_id"),
+                @Index(name = "idx_tasks_room_scheduled_at", columnList = "room_id, scheduledAt"),
                 @Index(name = "idx_tasks_assigned", columnList = "assigned_to_id"),
                 @Index(name = "idx_tasks_scheduled_at", columnList = "scheduledAt")
         })
@@ -43,9 +43,11 @@ public class Task {
     @Column(nullable = false)
     private TaskStatus status = TaskStatus.PENDING;
 
+    @NotNull
     @Column(nullable = false)
     private LocalDateTime scheduledAt;
 
+    @NotNull
     @Min(1)
     @Column(nullable = false)
     private Integer durationInMinutes;
@@ -59,6 +61,7 @@ public class Task {
     @JoinColumn(name = "requested_by_id")
     private User requestedBy;
 
+    @NotNull
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
@@ -0,0 +1,29 @@
+package org.systemhotelowy.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Licznik zadań zaplanowanych na dany dzień (rejestr limitu "maksymalnie tyle zadań ile pokoi").
+ * Wiersz jest zakładany przy pierwszym użyciu dnia na podstawie rzeczywistej liczby zadań.
+ */
+@Entity
+@Table(name = "task_day_capacity")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+public class TaskDayCapacity {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "task_date")
+    private LocalDate taskDate;
+
+    @Column(name = "task_count", nullable = false)
+    private int taskCount;
+}
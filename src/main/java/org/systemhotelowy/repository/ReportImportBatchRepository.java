@@ -0,0 +1,76 @@
+package org.systemhotelowy.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.systemhotelowy.model.RoomStatus;
+import org.systemhotelowy.model.TaskStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Zapis zmian z importu raportu przez JDBC batch - jedna instrukcja wysyłana paczką na cały fragment importu
+ * zamiast osobnego UPDATE (i osobnej transakcji) na każdą pozycję.
+ */
+@Repository
+public class ReportImportBatchRepository {
+
+    private static final String UPDATE_ROOM_SQL = "UPDATE rooms SET room_status = ?, updated_at = ? WHERE id = ?";
+    private static final String UPDATE_TASK_SQL = "UPDATE tasks SET status = ?, assigned_to_id = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReportImportBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Ustawia statusy pokoi (ID pokoju -> nowy status).
+     */
+    public void updateRoomStatuses(Map<Integer, RoomStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(statuses.size());
+        statuses.forEach((id, status) -> rows.add(new Object[]{status.name(), now, id}));
+        jdbcTemplate.batchUpdate(UPDATE_ROOM_SQL, rows);
+    }
+
+    /**
+     * Ustawia status i osobę przypisaną zadań (ID zadania -> {status, ID użytkownika}).
+     */
+    public void updateTasks(Map<Integer, TaskChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(changes.size());
+        changes.forEach((id, change) -> rows.add(new Object[]{change.getStatus().name(), change.getAssignedToId(), now, id}));
+        jdbcTemplate.batchUpdate(UPDATE_TASK_SQL, rows);
+    }
+
+    /**
+     * Docelowy stan zadania po imporcie.
+     */
+    public static final class TaskChange {
+        private final TaskStatus status;
+        private final Integer assignedToId;
+
+        public TaskChange(TaskStatus status, Integer assignedToId) {
+            this.status = status;
+            this.assignedToId = assignedToId;
+        }
+
+        public TaskStatus getStatus() {
+            return status;
+        }
+
+        public Integer getAssignedToId() {
+            return assignedToId;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.systemhotelowy.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Wersja danych raportu za zakres dat, wyliczana z bazy: liczba wierszy i ostatni updated_at pokoi (raport zawiera
+ * bieżący stan wszystkich pokoi), zadań zaplanowanych w zakresie i rezerwacji na niego nachodzących.
+ * <p>
+ * Dodanie lub edycja wiersza przesuwa updated_at, usunięcie zmienia liczbę wierszy - wersja zmienia się tylko wtedy,
+ * gdy zmieniły się dane tego zakresu, i jest taka sama po restarcie aplikacji.
+ */
+@Repository
+public class ReportVersionRepository {
+
+    private static final String VERSION_SQL = "SELECT r.row_count, r.last_update, t.row_count, t.last_update, " +
+            "v.row_count, v.last_update FROM " +
+            "(SELECT COUNT(*) AS row_count, MAX(updated_at) AS last_update FROM rooms) r CROSS JOIN " +
+            "(SELECT COUNT(*) AS row_count, MAX(updated_at) AS last_update FROM tasks " +
+            "WHERE scheduled_at >= ? AND scheduled_at < ?) t CROSS JOIN " +
+            "(SELECT COUNT(*) AS row_count, MAX(updated_at) AS last_update FROM reservations " +
+            "WHERE check_in_date <= ? AND check_out_date >= ?) v";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReportVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Wersja danych raportu za dni from..to (włącznie).
+     */
+    public String rangeVersion(LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForObject(VERSION_SQL, (rs, rowNum) ->
+                        "r" + part(rs, 1) + "-t" + part(rs, 3) + "-v" + part(rs, 5),
+                Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.plusDays(1).atStartOfDay()),
+                Date.valueOf(to), Date.valueOf(from));
+    }
+
+    private static String part(ResultSet rs, int column) throws SQLException {
+        Timestamp lastUpdate = rs.getTimestamp(column + 1);
+        return rs.getLong(column) + "@" + (lastUpdate != null ? lastUpdate.toLocalDateTime() : "-");
+    }
+}
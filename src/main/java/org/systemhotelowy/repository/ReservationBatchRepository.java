@@ -0,0 +1,88 @@
+package org.systemhotelowy.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.systemhotelowy.model.Reservation;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Zapis wielu rezerwacji naraz przez JDBC batch.
+ * Encje z GenerationType.IDENTITY nie są batchowane przez Hibernate, dlatego wsadowy import omija JPA.
+ */
+@Repository
+public class ReservationBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO reservations " +
+            "(room_id, check_in_date, check_out_date, guest_name, guest_email, guest_phone, " +
+            "number_of_guests, total_price, status, created_at, updated_at, notes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReservationBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Wstawia rezerwacje jednym batchem i ustawia im wygenerowane ID oraz createdAt/updatedAt.
+     * Pokój każdej rezerwacji musi mieć ustawione ID.
+     */
+    public void insertAll(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Reservation r = reservations.get(i);
+                        ps.setInt(1, r.getRoom().getId());
+                        ps.setObject(2, r.getCheckInDate());
+                        ps.setObject(3, r.getCheckOutDate());
+                        ps.setString(4, r.getGuestName());
+                        ps.setString(5, r.getGuestEmail());
+                        ps.setString(6, r.getGuestPhone());
+                        ps.setInt(7, r.getNumberOfGuests());
+                        ps.setBigDecimal(8, r.getTotalPrice());
+                        ps.setString(9, r.getStatus().name());
+                        ps.setTimestamp(10, Timestamp.valueOf(now));
+                        ps.setTimestamp(11, Timestamp.valueOf(now));
+                        if (r.getNotes() != null) {
+                            ps.setString(12, r.getNotes());
+                        } else {
+                            ps.setNull(12, Types.VARCHAR);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return reservations.size();
+                    }
+                },
+                keyHolder
+        );
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < reservations.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            reservations.get(i).setId(id.intValue());
+            reservations.get(i).setCreatedAt(now);
+            reservations.get(i).setUpdatedAt(now);
+        }
+    }
+}
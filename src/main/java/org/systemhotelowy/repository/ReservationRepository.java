@@ -1,13 +1,22 @@
 package org.systemhotelowy.repository;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.systemhotelowy.dto.ReservationResponse;
 import org.systemhotelowy.model.Reservation;
 import org.systemhotelowy.model.ReservationStatus;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository dla operacji na rezerwacjach.
@@ -33,12 +42,13 @@ public interface ReservationRepository extends JpaRepository<Reservation, Intege
     List<Reservation> findByCheckOutDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     /**
-     * Znajduje wszystkie rezerwacje w podanym okresie (check-in lub check-out).
+     * Znajduje wszystkie rezerwacje nakładające się na podany okres (granice włącznie).
+     * Pojedynczy warunek nakładania się przedziałów korzysta z zakresu checkOutDate >= :startDate
+     * na idx_reservations_checkout_checkin (pomija całą historię sprzed okresu),
+     * w przeciwieństwie do alternatywy trzech warunków BETWEEN.
      */
     @Query("SELECT r FROM Reservation r LEFT JOIN FETCH r.room WHERE " +
-            "(r.checkInDate BETWEEN :startDate AND :endDate) OR " +
-            "(r.checkOutDate BETWEEN :startDate AND :endDate) OR " +
-            "(r.checkInDate <= :startDate AND r.checkOutDate >= :endDate)")
+            "r.checkInDate <= :endDate AND r.checkOutDate >= :startDate")
     List<Reservation> findReservationsInPeriod(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 
     /**
@@ -54,6 +64,43 @@ public interface ReservationRepository extends JpaRepository<Reservation, Intege
             @Param("checkOutDate") LocalDate checkOutDate
     );
 
+    /**
+     * Sprawdza czy istnieje nakładająca się rezerwacja (z pominięciem podanej rezerwacji).
+     * Lekka wersja findOverlappingReservations - nie ładuje encji.
+     */
+    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.room.id = :roomId AND " +
+            "r.status NOT IN ('CANCELLED', 'CHECKED_OUT') AND " +
+            "(:excludeId IS NULL OR r.id <> :excludeId) AND " +
+            "((r.checkInDate <= :checkOutDate AND r.checkOutDate >= :checkInDate))")
+    boolean existsOverlappingReservation(
+            @Param("roomId") Integer roomId,
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate,
+            @Param("excludeId") Integer excludeId
+    );
+
+    /**
+     * Zwraca [id, roomId, checkInDate, checkOutDate] dla aktywnych rezerwacji.
+     * Używane do załadowania indeksu dostępności.
+     */
+    @Query("SELECT r.id, r.room.id, r.checkInDate, r.checkOutDate FROM Reservation r WHERE " +
+            "r.status NOT IN ('CANCELLED', 'CHECKED_OUT')")
+    List<Object[]> findActiveReservationRanges();
+
+    /**
+     * Zwraca [id, roomId, checkInDate, checkOutDate] aktywnych rezerwacji podanych pokoi nakładających się na okres.
+     * Używane do walidacji wsadowej jednym zapytaniem.
+     */
+    @Query("SELECT r.id, r.room.id, r.checkInDate, r.checkOutDate FROM Reservation r WHERE " +
+            "r.room.id IN :roomIds AND " +
+            "r.status NOT IN ('CANCELLED', 'CHECKED_OUT') AND " +
+            "r.checkInDate <= :endDate AND r.checkOutDate >= :startDate")
+    List<Object[]> findActiveReservationRangesForRooms(
+            @Param("roomIds") Collection<Integer> roomIds,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
     /**
      * Znajduje rezerwacje po statusie.
      */
@@ -66,6 +113,95 @@ public interface ReservationRepository extends JpaRepository<Reservation, Intege
     @Query("SELECT r FROM Reservation r LEFT JOIN FETCH r.room WHERE r.status IN ('CONFIRMED', 'CHECKED_IN')")
     List<Reservation> findActiveReservations();
 
+    // -------------------------------------------------
+    // Projekcje do ReservationResponse - odczyt bez encji zarządzanych (brak snapshotów dirty-checkingu)
+    // -------------------------------------------------
+
+    /**
+     * Wspólna część zapytań projekcyjnych: kolumny w kolejności konstruktora ReservationResponse.
+     */
+    String RESPONSE_SELECT = "SELECT new org.systemhotelowy.dto.ReservationResponse(" +
+            "r.id, rm.id, rm.number, r.checkInDate, r.checkOutDate, r.guestName, r.guestEmail, r.guestPhone, " +
+            "r.numberOfGuests, r.totalPrice, r.status, r.notes, r.createdAt) " +
+            "FROM Reservation r JOIN r.room rm ";
+
+    @Query(RESPONSE_SELECT + "ORDER BY r.id")
+    List<ReservationResponse> findAllResponses();
+
+    @Query(RESPONSE_SELECT + "WHERE r.id = :id")
+    Optional<ReservationResponse> findResponseById(@Param("id") Integer id);
+
+    @Query(RESPONSE_SELECT + "WHERE rm.id = :roomId")
+    List<ReservationResponse> findResponsesByRoomId(@Param("roomId") Integer roomId);
+
+    @Query(RESPONSE_SELECT + "WHERE r.checkInDate <= :endDate AND r.checkOutDate >= :startDate")
+    List<ReservationResponse> findResponsesInPeriod(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate);
+
+    @Query(RESPONSE_SELECT + "WHERE r.status = :status")
+    List<ReservationResponse> findResponsesByStatus(@Param("status") ReservationStatus status);
+
+    @Query(RESPONSE_SELECT + "WHERE r.status IN ('CONFIRMED', 'CHECKED_IN')")
+    List<ReservationResponse> findActiveResponses();
+
+    // -------------------------------------------------
+    // Stronicowanie keyset (po ID) - kolejna strona zaczyna się za ostatnim zwróconym ID
+    // -------------------------------------------------
+
+    @Query(RESPONSE_SELECT + "WHERE r.id > :afterId ORDER BY r.id")
+    List<ReservationResponse> findPageAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE r.id > :afterId AND " +
+            "r.checkInDate <= :endDate AND r.checkOutDate >= :startDate ORDER BY r.id")
+    List<ReservationResponse> findPageInPeriodAfter(@Param("startDate") LocalDate startDate,
+                                                    @Param("endDate") LocalDate endDate,
+                                                    @Param("afterId") Integer afterId,
+                                                    Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE r.status = :status AND r.id > :afterId ORDER BY r.id")
+    List<ReservationResponse> findPageByStatusAfter(@Param("status") ReservationStatus status,
+                                                    @Param("afterId") Integer afterId,
+                                                    Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE r.status IN ('CONFIRMED', 'CHECKED_IN') AND r.id > :afterId ORDER BY r.id")
+    List<ReservationResponse> findActivePageAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    /**
+     * Strumień rezerwacji z opcjonalnym filtrem statusu i okresu (null = bez filtra).
+     * Fetch size Integer.MIN_VALUE włącza w sterowniku MySQL odczyt wiersz po wierszu (bez buforowania wyniku).
+     * Projekcja nie trafia do kontekstu persystencji, więc pamięć nie rośnie z liczbą wierszy.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query(RESPONSE_SELECT + "WHERE " +
+            "(:status IS NULL OR r.status = :status) AND " +
+            "(:startDate IS NULL OR :endDate IS NULL OR " +
+            "(r.checkInDate <= :endDate AND r.checkOutDate >= :startDate)) ORDER BY r.id")
+    Stream<ReservationResponse> streamFiltered(@Param("status") ReservationStatus status,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    /**
+     * Wymeldowania (CHECKED_OUT) w dniu date jeszcze nieobsłużone przez CheckoutCleaningPipeline.
+     * Używane przez okresowe uzgodnienie.
+     */
+    @Query("SELECT r.id FROM Reservation r WHERE r.status = 'CHECKED_OUT' AND r.checkOutDate = :date " +
+            "AND r.cleaningHandledAt IS NULL ORDER BY r.id")
+    List<Integer> findUnhandledCheckoutIds(@Param("date") LocalDate date);
+
+    /**
+     * Nieobsłużone wymeldowania spośród podanych rezerwacji jako wiersze [id rezerwacji, id pokoju].
+     */
+    @Query("SELECT r.id, r.room.id FROM Reservation r WHERE r.id IN :ids AND r.status = 'CHECKED_OUT' " +
+            "AND r.cleaningHandledAt IS NULL ORDER BY r.id")
+    List<Object[]> findUnhandledCheckouts(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Oznacza wymeldowania jako obsłużone - pokój oznaczony jako DIRTY, zadanie sprzątania utworzone lub pominięte.
+     */
+    @Modifying
+    @Query("UPDATE Reservation r SET r.cleaningHandledAt = :handledAt WHERE r.id IN :ids")
+    int markCleaningHandled(@Param("ids") Collection<Integer> ids, @Param("handledAt") LocalDateTime handledAt);
+
     /**
      * Liczy rezerwacje dla pokoju w danym okresie.
      */
@@ -1,12 +1,72 @@
 package org.systemhotelowy.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.RoomType;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RoomRepository extends JpaRepository<Room, Integer> {
     Optional<Room> findByNumber(String number);
 
     long count();
+
+    @Query("SELECT rm.roomStatus, COUNT(rm) FROM Room rm GROUP BY rm.roomStatus")
+    List<Object[]> countGroupedByStatus();
+
+    /**
+     * Bieżące statusy pokoi jako wiersze [id, roomStatus] - prefetch dla importu raportu.
+     */
+    @Query("SELECT rm.id, rm.roomStatus FROM Room rm WHERE rm.id IN :ids")
+    List<Object[]> findStatusesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Pokoje do raportu jako wiersze [id, number, floor, roomStatus, type], odczytywane wiersz po wierszu.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT rm.id, rm.number, rm.floor, rm.roomStatus, rm.type FROM Room rm ORDER BY rm.id")
+    Stream<Object[]> streamReportRows();
+
+    /**
+     * Blokuje wiersz pokoju do końca transakcji (SELECT ... FOR UPDATE).
+     * Używane do serializacji rezerwacji tego samego pokoju między instancjami aplikacji.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT rm FROM Room rm WHERE rm.id = :id")
+    Optional<Room> lockById(@Param("id") Integer id);
+
+    /**
+     * Blokuje wiersze wielu pokoi do końca transakcji, zawsze w kolejności ID (bez zakleszczeń między wsadami).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT rm FROM Room rm WHERE rm.id IN :ids ORDER BY rm.id")
+    List<Room> lockAllByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Znajduje pokoje wolne w podanym okresie (anti-join z aktywnymi rezerwacjami) jednym zapytaniem.
+     * Filtry type i minCapacity są opcjonalne.
+     */
+    @Query("SELECT rm FROM Room rm WHERE " +
+            "(:type IS NULL OR rm.type = :type) AND " +
+            "(:minCapacity IS NULL OR rm.capacity >= :minCapacity) AND " +
+            "NOT EXISTS (SELECT r.id FROM Reservation r WHERE r.room = rm AND " +
+            "r.status NOT IN ('CANCELLED', 'CHECKED_OUT') AND " +
+            "r.checkInDate <= :checkOutDate AND r.checkOutDate >= :checkInDate) " +
+            "ORDER BY rm.number")
+    List<Room> findAvailableRooms(
+            @Param("checkInDate") LocalDate checkInDate,
+            @Param("checkOutDate") LocalDate checkOutDate,
+            @Param("type") RoomType type,
+            @Param("minCapacity") Integer minCapacity
+    );
 }
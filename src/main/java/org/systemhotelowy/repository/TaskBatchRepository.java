@@ -0,0 +1,90 @@
+package org.systemhotelowy.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.systemhotelowy.model.Task;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Zapis wielu zadań naraz przez JDBC batch (jak ReservationBatchRepository).
+ * Task używa GenerationType.IDENTITY, więc Hibernate wysłałby osobny INSERT dla każdego zadania.
+ */
+@Repository
+public class TaskBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO tasks " +
+            "(description, remarks, status, scheduled_at, duration_in_minutes, " +
+            "assigned_to_id, requested_by_id, room_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Wstawia zadania jednym batchem i ustawia im wygenerowane ID oraz znaczniki czasu.
+     * Pokój i osoba przypisana muszą mieć ustawione ID.
+     */
+    public void insertAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Task t = tasks.get(i);
+                        ps.setString(1, t.getDescription());
+                        if (t.getRemarks() != null) {
+                            ps.setString(2, t.getRemarks());
+                        } else {
+                            ps.setNull(2, Types.VARCHAR);
+                        }
+                        ps.setString(3, t.getStatus().name());
+                        ps.setTimestamp(4, Timestamp.valueOf(t.getScheduledAt()));
+                        ps.setInt(5, t.getDurationInMinutes());
+                        ps.setInt(6, t.getAssignedTo().getId());
+                        if (t.getRequestedBy() != null) {
+                            ps.setInt(7, t.getRequestedBy().getId());
+                        } else {
+                            ps.setNull(7, Types.INTEGER);
+                        }
+                        ps.setInt(8, t.getRoom().getId());
+                        ps.setTimestamp(9, Timestamp.valueOf(now));
+                        ps.setTimestamp(10, Timestamp.valueOf(now));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return tasks.size();
+                    }
+                },
+                keyHolder
+        );
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < tasks.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            tasks.get(i).setId(id.intValue());
+            tasks.get(i).setCreatedAt(now);
+            tasks.get(i).setUpdatedAt(now);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.systemhotelowy.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.systemhotelowy.model.TaskDayCapacity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Operacje na licznikach zadań per dzień. Wszystkie zmiany to pojedyncze, atomowe instrukcje UPDATE/INSERT.
+ */
+public interface TaskDayCapacityRepository extends JpaRepository<TaskDayCapacity, LocalDate> {
+
+    /**
+     * Zakłada licznik dnia z aktualną liczbą zadań w [start, end), jeśli jeszcze nie istnieje.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO task_day_capacity (task_date, task_count) " +
+            "SELECT :date, COUNT(*) FROM tasks t WHERE t.scheduled_at >= :start AND t.scheduled_at < :end",
+            nativeQuery = true)
+    int initIfAbsent(@Param("date") LocalDate date,
+                     @Param("start") LocalDateTime start,
+                     @Param("end") LocalDateTime end);
+
+    /**
+     * Zwiększa licznik o count, o ile po zmianie nie przekroczy liczby pokoi. Zwraca 1 gdy się udało, 0 gdy brak miejsca.
+     */
+    @Modifying
+    @Query(value = "UPDATE task_day_capacity SET task_count = task_count + :count " +
+            "WHERE task_date = :date AND task_count + :count <= (SELECT COUNT(*) FROM rooms)",
+            nativeQuery = true)
+    int tryIncrement(@Param("date") LocalDate date, @Param("count") int count);
+
+    @Modifying
+    @Query(value = "UPDATE task_day_capacity SET task_count = GREATEST(task_count - :count, 0) WHERE task_date = :date",
+            nativeQuery = true)
+    int decrement(@Param("date") LocalDate date, @Param("count") int count);
+
+    @Modifying
+    @Query(value = "DELETE FROM task_day_capacity", nativeQuery = true)
+    int clear();
+
+    @Query("SELECT c.taskDate FROM TaskDayCapacity c")
+    List<LocalDate> findAllDates();
+
+    /**
+     * Blokuje licznik dnia (czeka na transakcje, które go właśnie zmieniają) i zwraca jego wartość.
+     */
+    @Query(value = "SELECT task_count FROM task_day_capacity WHERE task_date = :date FOR UPDATE", nativeQuery = true)
+    Integer lockCount(@Param("date") LocalDate date);
+
+    @Query(value = "SELECT COUNT(*) FROM tasks t WHERE t.scheduled_at >= :start AND t.scheduled_at < :end",
+            nativeQuery = true)
+    int countTasks(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Modifying
+    @Query(value = "UPDATE task_day_capacity SET task_count = :count WHERE task_date = :date", nativeQuery = true)
+    int setCount(@Param("date") LocalDate date, @Param("count") int count);
+}
@@ -1,13 +1,18 @@
 package org.systemhotelowy.repository;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.systemhotelowy.dto.UserTaskCountResponse;
+import org.systemhotelowy.dto.UserWorkloadResponse;
 import org.systemhotelowy.model.Task;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Integer> {
 
@@ -20,21 +25,83 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
     @Query("SELECT t FROM Task t LEFT JOIN FETCH t.room LEFT JOIN FETCH t.assignedTo WHERE t.assignedTo.id = :userId")
     List<Task> findByAssignedToId(@Param("userId") Integer userId);
 
-    @Query("SELECT t FROM Task t WHERE t.room.id = :roomId AND DATE(t.scheduledAt) = :date")
-    List<Task> findByRoomIdAndDate(@Param("roomId") Integer roomId, @Param("date") LocalDate date);
+    // Zapytania dzienne używają przedziału [start, end) na scheduledAt zamiast DATE(scheduledAt),
+    // dzięki czemu korzystają z indeksów idx_tasks_scheduled_at i idx_tasks_room_scheduled_at.
 
-    @Query("SELECT t FROM Task t WHERE DATE(t.scheduledAt) = :date")
-    List<Task> findByDate(@Param("date") LocalDate date);
+    @Query("SELECT t FROM Task t WHERE t.room.id = :roomId AND t.scheduledAt >= :start AND t.scheduledAt < :end")
+    List<Task> findByRoomIdAndScheduledAtRange(@Param("roomId") Integer roomId,
+                                               @Param("start") LocalDateTime start,
+                                               @Param("end") LocalDateTime end);
+
+    /**
+     * Zwraca ID tych spośród podanych pokoi, które mają już zadanie w przedziale [start, end).
+     */
+    @Query("SELECT DISTINCT t.room.id FROM Task t WHERE t.room.id IN :roomIds " +
+            "AND t.scheduledAt >= :start AND t.scheduledAt < :end")
+    List<Integer> findRoomIdsWithTasksBetween(@Param("roomIds") Collection<Integer> roomIds,
+                                              @Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end);
+
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.room LEFT JOIN FETCH t.assignedTo WHERE t.assignedTo.id = :userId " +
+            "AND t.scheduledAt >= :start AND t.scheduledAt < :end")
+    List<Task> findByAssignedToIdAndScheduledAtRange(@Param("userId") Integer userId,
+                                                     @Param("start") LocalDateTime start,
+                                                     @Param("end") LocalDateTime end);
+
+    @Query("SELECT t FROM Task t WHERE t.scheduledAt >= :start AND t.scheduledAt < :end")
+    List<Task> findByScheduledAtRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     @Query("SELECT t FROM Task t WHERE t.scheduledAt BETWEEN :start AND :end")
     List<Task> findByScheduledAtBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
-    @Query("SELECT COUNT(t) FROM Task t WHERE DATE(t.scheduledAt) = :date")
-    long countTasksByDate(@Param("date") LocalDate date);
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.scheduledAt >= :start AND t.scheduledAt < :end")
+    long countByScheduledAtRange(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
     @Query("SELECT COUNT(t) FROM Task t WHERE t.assignedTo.id = :userId")
     long countByAssignedToId(@Param("userId") Integer userId);
 
-    @Query("SELECT t.assignedTo.id, COUNT(t) FROM Task t WHERE t.assignedTo IS NOT NULL GROUP BY t.assignedTo.id")
-    List<Object[]> countTasksGroupedByUser();
+    @Query("SELECT t.assignedTo.id, t.status, COUNT(t) FROM Task t GROUP BY t.assignedTo.id, t.status")
+    List<Object[]> countGroupedByUserAndStatus();
+
+    /**
+     * Bieżący stan zadań jako wiersze [id, status, assignedTo.id] - prefetch dla importu raportu.
+     */
+    @Query("SELECT t.id, t.status, t.assignedTo.id FROM Task t WHERE t.id IN :ids")
+    List<Object[]> findImportStateByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Zadania z przedziału [start, end) do raportu jako wiersze
+     * [id, status, room.number, assignedTo.email, scheduledAt, durationInMinutes], odczytywane wiersz po wierszu.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT t.id, t.status, rm.number, u.email, t.scheduledAt, t.durationInMinutes " +
+            "FROM Task t JOIN t.room rm LEFT JOIN t.assignedTo u " +
+            "WHERE t.scheduledAt >= :start AND t.scheduledAt < :end ORDER BY t.id")
+    Stream<Object[]> streamReportRows(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Liczba zadań na użytkownika razem z jego danymi - jedno zapytanie z JOIN i GROUP BY.
+     */
+    @Query("SELECT new org.systemhotelowy.dto.UserTaskCountResponse(u.id, u.firstName, u.lastName, u.email, COUNT(t)) " +
+            "FROM Task t JOIN t.assignedTo u GROUP BY u.id, u.firstName, u.lastName, u.email ORDER BY u.id")
+    List<UserTaskCountResponse> countTasksPerUser();
+
+    /**
+     * Obciążenie użytkowników w oknie [from, to) (null = bez ograniczenia): liczby zadań per status
+     * i suma minut zadań nieanulowanych, policzone jednym zapytaniem grupującym. Zapytanie startuje od User
+     * z LEFT JOIN zadań z okna, więc sprzątacze bez zadań mają wiersz z zerami; pozostali użytkownicy
+     * pojawiają się tylko, gdy mają zadania w oknie.
+     */
+    @Query("SELECT new org.systemhotelowy.dto.UserWorkloadResponse(u.id, u.firstName, u.lastName, u.email, " +
+            "SUM(CASE WHEN t.status = 'PENDING' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.status = 'DONE' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN t.status = 'CANCELLED' THEN 1 ELSE 0 END), " +
+            "COUNT(t), " +
+            "SUM(CASE WHEN t.status <> 'CANCELLED' THEN t.durationInMinutes ELSE 0 END)) " +
+            "FROM User u LEFT JOIN Task t ON t.assignedTo = u " +
+            "AND (:from IS NULL OR t.scheduledAt >= :from) AND (:to IS NULL OR t.scheduledAt < :to) " +
+            "WHERE u.role = org.systemhotelowy.model.Role.CLEANER OR t.id IS NOT NULL " +
+            "GROUP BY u.id, u.firstName, u.lastName, u.email ORDER BY u.id")
+    List<UserWorkloadResponse> findWorkloadPerUser(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -1,10 +1,23 @@
 package org.systemhotelowy.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.systemhotelowy.model.Role;
 import org.systemhotelowy.model.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByEmail(String email);
+
+    List<User> findByRoleOrderByIdAsc(Role role);
+
+    /**
+     * Wiersze [email, id] dla podanych adresów - prefetch dla importu raportu.
+     */
+    @Query("SELECT u.email, u.id FROM User u WHERE u.email IN :emails")
+    List<Object[]> findIdsByEmailIn(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
@@ -0,0 +1,291 @@
+package org.systemhotelowy.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.systemhotelowy.event.ReservationStatusChangedEvent;
+import org.systemhotelowy.model.Role;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.RoomStatus;
+import org.systemhotelowy.model.Task;
+import org.systemhotelowy.model.TaskStatus;
+import org.systemhotelowy.repository.ReservationRepository;
+import org.systemhotelowy.repository.TaskRepository;
+import org.systemhotelowy.repository.UserRepository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Automatyczne sprzątanie po wymeldowaniu.
+ * <p>
+ * Zmiana statusu rezerwacji na CHECKED_OUT trafia po commicie do ograniczonej kolejki, więc żądanie
+ * wymeldowania nie czeka na tworzenie zadań. Wstawienie nigdy nie blokuje - przy pełnej kolejce zdarzenie jest
+ * pomijane. Przetwarzanie uruchamiane na executorze zbiera zdarzenia w paczki (krótkie odczekanie + drainTo)
+ * i w jednej transakcji oznacza pokoje jako DIRTY, tworzy zadania sprzątania jednym batchem z przydziałem wg
+ * obciążenia sprzątających oraz zapisuje na rezerwacji znacznik obsłużenia (cleaningHandledAt). Błędy przejściowe
+ * są ponawiane; przy błędzie reguły biznesowej (np. limit zadań na dzień) pokoje są oznaczane jako DIRTY bez zadań.
+ * <p>
+ * Zdarzenia pominięte przy pełnej kolejce albo utracone przy zatrzymaniu aplikacji odzyskuje okresowe uzgodnienie
+ * {@link #sweep()}: dzisiejsze wymeldowania bez znacznika przechodzą tę samą ścieżkę. Wymeldowanie obsłużone raz nie
+ * jest przetwarzane ponownie - pokój przestawiony później przez obsługę na READY ani usunięte zadanie nie wracają.
+ */
+@Service
+public class CheckoutCleaningPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(CheckoutCleaningPipeline.class);
+
+    private static final String TASK_DESCRIPTION = "Sprzątanie po wymeldowaniu";
+    private static final int TASK_DURATION_MINUTES = 30;
+
+    private static final int QUEUE_CAPACITY = 1000;
+    private static final int MAX_BATCH = 100;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final BlockingQueue<ReservationStatusChangedEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Object processLock = new Object();
+
+    private final RoomService roomService;
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ReservationRepository reservationRepository;
+    private final TaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final long lingerMs;
+    private final long retryBackoffMs;
+
+    private volatile boolean running;
+
+    public CheckoutCleaningPipeline(RoomService roomService,
+                                    TaskService taskService,
+                                    TaskRepository taskRepository,
+                                    UserRepository userRepository,
+                                    ReservationRepository reservationRepository,
+                                    @Qualifier("checkoutCleaningExecutor") TaskExecutor executor,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${checkout.cleaning.linger-ms:200}") long lingerMs,
+                                    @Value("${checkout.cleaning.retry-backoff-ms:500}") long retryBackoffMs) {
+        this.roomService = roomService;
+        this.taskService = taskService;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.reservationRepository = reservationRepository;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lingerMs = lingerMs;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    /**
+     * Wywoływane po zatwierdzeniu transakcji zmiany statusu - wycofane wymeldowanie nie generuje zadania.
+     * Nie blokuje wątku wymeldowania: przy pełnej kolejce zdarzenie przejmie {@link #sweep()}.
+     */
+    @TransactionalEventListener
+    public void onStatusChanged(ReservationStatusChangedEvent event) {
+        if (!event.isCheckOut()) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            log.warn("Kolejka sprzątania pełna - wymeldowanie rezerwacji {} (pokój {}) obsłuży okresowe uzgodnienie",
+                    event.getReservationId(), event.getRoomId());
+            return;
+        }
+        scheduleDrain();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        scheduleDrain();
+    }
+
+    /**
+     * Zdarzenia pozostałe w kolejce przy zatrzymaniu przepadają - po restarcie odzyska je {@link #sweep()}.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    /**
+     * Liczba zdarzeń oczekujących w kolejce.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Okresowe uzgodnienie: dzisiejsze wymeldowania (CHECKED_OUT) jeszcze nieobsłużone przechodzą
+     * tę samą ścieżkę co zdarzenia z kolejki.
+     */
+    @Scheduled(fixedDelayString = "${checkout.cleaning.sweep-interval-ms:300000}",
+            initialDelayString = "${checkout.cleaning.sweep-initial-delay-ms:60000}")
+    public void sweep() {
+        if (!running) {
+            return;
+        }
+        List<Integer> reservationIds = reservationRepository.findUnhandledCheckoutIds(LocalDate.now());
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        log.info("Uzgodnienie wymeldowań: {} nieobsłużonych wymeldowań", reservationIds.size());
+        try {
+            processWithRetry(new LinkedHashSet<>(reservationIds));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Zleca przetworzenie kolejki, o ile nie jest już zlecone lub w toku (najwyżej jedno zadanie na executorze).
+     */
+    private void scheduleDrain() {
+        if (!running || !drainScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RuntimeException e) {
+            drainScheduled.set(false);
+            log.error("Nie udało się uruchomić przetwarzania kolejki sprzątania", e);
+        }
+    }
+
+    private void drain() {
+        try {
+            // krótkie odczekanie, żeby wymeldowania z jednej fali trafiły do wspólnej paczki
+            if (lingerMs > 0) {
+                Thread.sleep(lingerMs);
+            }
+            List<ReservationStatusChangedEvent> batch = new ArrayList<>(MAX_BATCH);
+            while (running && queue.drainTo(batch, MAX_BATCH) > 0) {
+                Set<Integer> reservationIds = new LinkedHashSet<>();
+                for (ReservationStatusChangedEvent event : batch) {
+                    reservationIds.add(event.getReservationId());
+                }
+                batch.clear();
+                processWithRetry(reservationIds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (RuntimeException e) {
+            log.error("Nieoczekiwany błąd w kolejce sprzątania po wymeldowaniu", e);
+        } finally {
+            drainScheduled.set(false);
+        }
+        // zdarzenie dodane między ostatnim drainTo a zwolnieniem flagi
+        if (!queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Kolejka i uzgodnienie przetwarzają wymeldowania po kolei, więc sprawdzenie znacznika obsłużenia
+     * i "pokój ma już dziś zadanie" nie ściga się z drugim przetwarzaniem tej samej rezerwacji.
+     */
+    private void processWithRetry(Set<Integer> reservationIds) throws InterruptedException {
+        synchronized (processLock) {
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                try {
+                    process(reservationIds, true);
+                    return;
+                } catch (IllegalStateException | IllegalArgumentException e) {
+                    // reguła biznesowa (np. limit zadań na dzień) - ponowienie nic nie zmieni
+                    log.warn("Nie utworzono zadań sprzątania dla rezerwacji {}: {}", reservationIds, e.getMessage());
+                    process(reservationIds, false);
+                    return;
+                } catch (RuntimeException e) {
+                    if (attempt == MAX_ATTEMPTS) {
+                        log.error("Nie udało się przetworzyć wymeldowań {} po {} próbach", reservationIds, attempt, e);
+                        return;
+                    }
+                    log.warn("Próba {} przetworzenia wymeldowań nie powiodła się, ponawiam: {}", attempt, e.getMessage());
+                    Thread.sleep(retryBackoffMs * attempt);
+                }
+            }
+        }
+    }
+
+    /**
+     * Jedna transakcja: pokoje nieobsłużonych wymeldowań są oznaczane jako DIRTY, dostają zadania sprzątania
+     * (gdy withTasks) i wymeldowania dostają znacznik obsłużenia. Błąd wycofuje całość, więc pokój nie zostaje
+     * DIRTY bez znacznika i nie jest przestawiany ponownie przy kolejnym uzgodnieniu.
+     */
+    private void process(Set<Integer> reservationIds, boolean withTasks) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Integer> checkouts = new ArrayList<>();
+            Set<Integer> roomIds = new LinkedHashSet<>();
+            for (Object[] row : reservationRepository.findUnhandledCheckouts(reservationIds)) {
+                checkouts.add((Integer) row[0]);
+                roomIds.add((Integer) row[1]);
+            }
+            if (checkouts.isEmpty()) {
+                return;
+            }
+
+            List<Room> rooms = roomService.updateStatuses(roomIds, RoomStatus.DIRTY);
+            int created = withTasks && !rooms.isEmpty() ? createCleaningTasks(rooms) : 0;
+            reservationRepository.markCleaningHandled(checkouts, LocalDateTime.now());
+            log.info("Wymeldowania: {} pokoi oznaczonych jako DIRTY, utworzono {} zadań sprzątania", rooms.size(), created);
+        });
+    }
+
+    private int createCleaningTasks(List<Room> rooms) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        LocalDate today = now.toLocalDate();
+
+        List<Integer> ids = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            ids.add(room.getId());
+        }
+        // pokój, który ma już dziś zadanie, nie dostaje drugiego
+        Set<Integer> occupied = new HashSet<>(taskRepository.findRoomIdsWithTasksBetween(
+                ids, today.atStartOfDay(), today.plusDays(1).atStartOfDay()));
+
+        List<Task> tasks = new ArrayList<>();
+        for (Room room : rooms) {
+            if (occupied.contains(room.getId())) {
+                continue;
+            }
+            Task task = new Task();
+            task.setDescription(TASK_DESCRIPTION);
+            task.setStatus(TaskStatus.PENDING);
+            task.setScheduledAt(now);
+            task.setDurationInMinutes(TASK_DURATION_MINUTES);
+            task.setRoom(room);
+            tasks.add(task);
+        }
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        if (userRepository.findByRoleOrderByIdAsc(Role.CLEANER).isEmpty()) {
+            log.warn("Brak sprzątających - pokoje {} oznaczone jako DIRTY bez zadania sprzątania", ids);
+            return 0;
+        }
+
+        taskService.assignToCleaners(tasks);
+        return taskService.createBatch(tasks).size();
+    }
+}
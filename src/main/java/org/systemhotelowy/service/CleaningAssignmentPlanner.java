@@ -0,0 +1,149 @@
+package org.systemhotelowy.service;
+
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.Task;
+import org.systemhotelowy.model.User;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Rozdziela zadania sprzątania pokoi między sprzątających tak, aby zminimalizować największe obciążenie
+ * (suma durationInMinutes), trzymając pokoje z jednego piętra razem.
+ * <p>
+ * Zadania są grupowane po piętrach w bloki; piętro większe niż średnie obciążenie jest dzielone na kolejne
+ * (wg numeru pokoju) kawałki. Bloki są przydzielane od największego do osoby o najmniejszym obciążeniu
+ * (LPT - longest processing time first). Złożoność O(n log n + b log k), wynik jest deterministyczny:
+ * remisy rozstrzyga piętro, numer pokoju i ID pracownika.
+ */
+public final class CleaningAssignmentPlanner {
+
+    private static final Comparator<Task> ROOM_ORDER = Comparator
+            .comparing((Task t) -> floorOf(t.getRoom()))
+            .thenComparing(t -> t.getRoom().getNumber(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(t -> t.getRoom().getId(), Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private CleaningAssignmentPlanner() {
+    }
+
+    /**
+     * Ustawia assignedTo dla każdego zadania i zwraca łączne obciążenie (w minutach) każdego pracownika,
+     * włącznie z obciążeniem początkowym.
+     *
+     * @param tasks          zadania do przydzielenia (z ustawionym pokojem i czasem trwania)
+     * @param cleaners       dostępni sprzątający
+     * @param initialMinutes minuty już zaplanowane dla pracownika (ID użytkownika -> minuty), może być pusta
+     */
+    public static Map<User, Long> assign(List<Task> tasks, List<User> cleaners, Map<Integer, Long> initialMinutes) {
+        if (cleaners.isEmpty()) {
+            throw new IllegalStateException("Brak dostępnych sprzątających do przydzielenia zadań");
+        }
+
+        List<Block> blocks = buildBlocks(tasks, cleaners.size());
+        blocks.sort(Comparator.comparingLong((Block b) -> b.minutes).reversed()
+                .thenComparingInt(b -> b.floor)
+                .thenComparingInt(b -> b.order));
+
+        List<User> sortedCleaners = new ArrayList<>(cleaners);
+        sortedCleaners.sort(Comparator.comparing(User::getId));
+
+        Map<User, Long> load = new LinkedHashMap<>();
+        PriorityQueue<Slot> queue = new PriorityQueue<>(Comparator.comparingLong((Slot s) -> s.minutes)
+                .thenComparing(s -> s.cleaner.getId()));
+        for (User cleaner : sortedCleaners) {
+            long minutes = initialMinutes.getOrDefault(cleaner.getId(), 0L);
+            load.put(cleaner, minutes);
+            queue.add(new Slot(cleaner, minutes));
+        }
+
+        for (Block block : blocks) {
+            Slot slot = queue.poll();
+            for (Task task : block.tasks) {
+                task.setAssignedTo(slot.cleaner);
+            }
+            long minutes = slot.minutes + block.minutes;
+            load.put(slot.cleaner, minutes);
+            queue.add(new Slot(slot.cleaner, minutes));
+        }
+        return load;
+    }
+
+    /**
+     * Dzieli zadania na bloki pięter. Piętro przekraczające średnie obciążenie na osobę jest cięte
+     * na kolejne kawałki, żeby jedno duże piętro nie przeważyło całego planu.
+     */
+    private static List<Block> buildBlocks(List<Task> tasks, int cleanerCount) {
+        List<Task> ordered = new ArrayList<>(tasks);
+        ordered.sort(ROOM_ORDER);
+
+        long total = 0;
+        long longest = 0;
+        Map<Integer, List<Task>> byFloor = new TreeMap<>();
+        for (Task task : ordered) {
+            long duration = durationOf(task);
+            total += duration;
+            longest = Math.max(longest, duration);
+            byFloor.computeIfAbsent(floorOf(task.getRoom()), f -> new ArrayList<>()).add(task);
+        }
+        long chunkLimit = Math.max(longest, (total + cleanerCount - 1) / cleanerCount);
+
+        List<Block> blocks = new ArrayList<>();
+        Map<Integer, Integer> chunksPerFloor = new HashMap<>();
+        for (Map.Entry<Integer, List<Task>> floor : byFloor.entrySet()) {
+            List<Task> current = new ArrayList<>();
+            long minutes = 0;
+            for (Task task : floor.getValue()) {
+                long duration = durationOf(task);
+                if (!current.isEmpty() && minutes + duration > chunkLimit) {
+                    blocks.add(new Block(floor.getKey(), chunksPerFloor.merge(floor.getKey(), 1, Integer::sum), current, minutes));
+                    current = new ArrayList<>();
+                    minutes = 0;
+                }
+                current.add(task);
+                minutes += duration;
+            }
+            if (!current.isEmpty()) {
+                blocks.add(new Block(floor.getKey(), chunksPerFloor.merge(floor.getKey(), 1, Integer::sum), current, minutes));
+            }
+        }
+        return blocks;
+    }
+
+    private static int floorOf(Room room) {
+        return room.getFloor() != null ? room.getFloor() : 0;
+    }
+
+    private static long durationOf(Task task) {
+        return task.getDurationInMinutes() != null ? task.getDurationInMinutes() : 0;
+    }
+
+    private static final class Block {
+        private final int floor;
+        private final int order;
+        private final List<Task> tasks;
+        private final long minutes;
+
+        private Block(int floor, int order, List<Task> tasks, long minutes) {
+            this.floor = floor;
+            this.order = order;
+            this.tasks = tasks;
+            this.minutes = minutes;
+        }
+    }
+
+    private static final class Slot {
+        private final User cleaner;
+        private final long minutes;
+
+        private Slot(User cleaner, long minutes) {
+            this.cleaner = cleaner;
+            this.minutes = minutes;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.systemhotelowy.service;
+
+import org.systemhotelowy.dto.report.ReservationReportEntry;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Raport w CSV (RFC 4180, UTF-8): jedna tabela z kolumną section (room/task/reservation) i datą dnia,
+ * pozostałe kolumny to suma atrybutów wszystkich pozycji - puste, gdy pozycja ich nie ma.
+ */
+public class CsvReportWriter extends FlatReportWriter {
+
+    public static final String HEADER = "section,date,id,number,floor,status,type,roomNumber,assignedToEmail," +
+            "scheduledDate,durationInMinutes,guestName,checkInDate,checkOutDate";
+
+    private final Writer out;
+
+    public CsvReportWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    @Override
+    protected void start() {
+        write(HEADER);
+        write("\r\n");
+    }
+
+    @Override
+    protected void finish() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void room(RoomReportEntry entry) {
+        record("room", entry.getId(), entry.getNumber(), entry.getFloor(), entry.getStatus(), entry.getType(),
+                null, null, null, null, null, null, null);
+    }
+
+    @Override
+    public void task(TaskReportEntry entry) {
+        record("task", entry.getId(), null, null, entry.getStatus(), null, entry.getRoomNumber(),
+                entry.getAssignedToEmail(), entry.getScheduledDate(), entry.getDurationInMinutes(), null, null, null);
+    }
+
+    @Override
+    public void reservation(ReservationReportEntry entry) {
+        record("reservation", entry.getId(), null, null, entry.getStatus(), null, entry.getRoomNumber(),
+                null, null, null, entry.getGuestName(), entry.getCheckInDate(), entry.getCheckOutDate());
+    }
+
+    private void record(String section, Object... values) {
+        write(section);
+        write(",");
+        field(currentDate);
+        for (Object value : values) {
+            write(",");
+            field(value);
+        }
+        write("\r\n");
+    }
+
+    private void field(Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            write(text);
+            return;
+        }
+        write("\"");
+        write(text.replace("\"", "\"\""));
+        write("\"");
+    }
+
+    private void write(String text) {
+        try {
+            out.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.systemhotelowy.service;
+
+/**
+ * Wspólna podstawa formatów płaskich (CSV, NDJSON): jeden rekord na pozycję, bez zagnieżdżonych sekcji.
+ * Każdy rekord niesie nazwę sekcji i datę dnia raportu, więc raport zakresowy to po prostu kolejne dni rekordów.
+ */
+abstract class FlatReportWriter implements ReportFormatWriter {
+
+    /**
+     * Data bieżącego dnia raportu (dzienny: data raportu, zakresowy: data otwartej sekcji day).
+     */
+    protected String currentDate;
+
+    @Override
+    public void startReport(String date) {
+        currentDate = date;
+        start();
+    }
+
+    @Override
+    public void endReport() {
+        finish();
+    }
+
+    @Override
+    public void startRangeReport(String from, String to) {
+        start();
+    }
+
+    @Override
+    public void endRangeReport() {
+        finish();
+    }
+
+    @Override
+    public void startDay(String date) {
+        currentDate = date;
+    }
+
+    @Override
+    public void endDay() {
+        currentDate = null;
+    }
+
+    @Override
+    public void startSection(String name) {
+        // sekcje nie mają reprezentacji - nazwa sekcji jest w każdym rekordzie
+    }
+
+    @Override
+    public void endSection(String name) {
+    }
+
+    /**
+     * Początek dokumentu (np. nagłówek CSV).
+     */
+    protected abstract void start();
+
+    /**
+     * Koniec dokumentu - opróżnia bufor, nie zamyka strumienia.
+     */
+    protected abstract void finish();
+}
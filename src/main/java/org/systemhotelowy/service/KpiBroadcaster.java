@@ -0,0 +1,78 @@
+package org.systemhotelowy.service;
+
+import com.vaadin.flow.shared.Registration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.systemhotelowy.dto.ManagerKpiData;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * Wspólne źródło odświeżeń KPI dla wszystkich otwartych dashboardów.
+ * <p>
+ * Jedno zadanie okresowe sprawdza wersję liczników KpiCounters; tylko gdy się zmieniła, KPI są liczone raz
+ * i rozsyłane do zarejestrowanych paneli (panele przekazują je do przeglądarki przez UI.access i Vaadin Push).
+ * Liczba wątków i obciążenie nie zależą od liczby otwartych kart - zmiany są scalane do jednej wysyłki na interwał.
+ */
+@Service
+public class KpiBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(KpiBroadcaster.class);
+
+    private final DashboardService dashboardService;
+    private final KpiCounters kpiCounters;
+
+    private final Set<Consumer<ManagerKpiData>> listeners = new CopyOnWriteArraySet<>();
+
+    private volatile long broadcastVersion = -1;
+    private volatile ManagerKpiData latest;
+
+    public KpiBroadcaster(DashboardService dashboardService, KpiCounters kpiCounters) {
+        this.dashboardService = dashboardService;
+        this.kpiCounters = kpiCounters;
+    }
+
+    /**
+     * Rejestruje odbiorcę odświeżeń. Odbiorca jest wywoływany z wątku harmonogramu - panel musi
+     * przełączyć się na swój UI (UI.access) i nie może blokować.
+     */
+    public Registration register(Consumer<ManagerKpiData> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Ostatnio rozesłane KPI (albo świeżo policzone, jeśli jeszcze nic nie rozesłano).
+     */
+    public ManagerKpiData getLatest() {
+        ManagerKpiData data = latest;
+        return data != null ? data : dashboardService.getManagerKpiData();
+    }
+
+    public int getListenerCount() {
+        return listeners.size();
+    }
+
+    @Scheduled(fixedDelayString = "${kpi.broadcast-interval-ms:1000}")
+    public void broadcastIfChanged() {
+        long version = kpiCounters.getVersion();
+        if (version == broadcastVersion) {
+            return;
+        }
+        ManagerKpiData data = dashboardService.getManagerKpiData();
+        latest = data;
+        broadcastVersion = version;
+
+        for (Consumer<ManagerKpiData> listener : listeners) {
+            try {
+                listener.accept(data);
+            } catch (RuntimeException e) {
+                log.warn("Nie udało się przekazać KPI do panelu: {}", e.getMessage());
+            }
+        }
+    }
+}
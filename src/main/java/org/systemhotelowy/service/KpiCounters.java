@@ -0,0 +1,238 @@
+package org.systemhotelowy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.systemhotelowy.model.RoomStatus;
+import org.systemhotelowy.model.TaskStatus;
+import org.systemhotelowy.repository.RoomRepository;
+import org.systemhotelowy.repository.TaskRepository;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Liczniki KPI trzymane w pamięci: pokoje wg statusu, zadania wg statusu i zadania na pracownika.
+ * <p>
+ * RoomServiceImpl i TaskServiceImpl zgłaszają każdą zmianę jako różnicę (stary stan -> nowy stan), stosowaną
+ * po zatwierdzeniu transakcji, więc odczyt KPI nie dotyka bazy. Zmiany wykonane poza serwisami (inne instancje,
+ * ręczne zapytania, kaskady) wyrównuje okresowe uzgodnienie z zapytaniami GROUP BY.
+ */
+@Service
+public class KpiCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(KpiCounters.class);
+
+    private final RoomRepository roomRepository;
+    private final TaskRepository taskRepository;
+
+    // mapy wypełnione w konstruktorze i potem tylko czytane - bezpieczne między wątkami
+    private final Map<RoomStatus, LongAdder> rooms = new EnumMap<>(RoomStatus.class);
+    private final Map<TaskStatus, LongAdder> tasks = new EnumMap<>(TaskStatus.class);
+    private final Map<Integer, UserCounters> tasksByUser = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public KpiCounters(RoomRepository roomRepository, TaskRepository taskRepository) {
+        this.roomRepository = roomRepository;
+        this.taskRepository = taskRepository;
+        for (RoomStatus status : RoomStatus.values()) {
+            rooms.put(status, new LongAdder());
+        }
+        for (TaskStatus status : TaskStatus.values()) {
+            tasks.put(status, new LongAdder());
+        }
+    }
+
+    // -------------------------------------------
+    // Odczyt
+    // -------------------------------------------
+
+    /**
+     * Numer wersji zwiększany przy każdej zmianie liczników - pozwala wykryć zmianę bez porównywania wartości.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long roomCount(RoomStatus status) {
+        return rooms.get(status).sum();
+    }
+
+    public long taskCount() {
+        long total = 0;
+        for (LongAdder count : tasks.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public long taskCountForUser(Integer userId) {
+        UserCounters counters = tasksByUser.get(userId);
+        return counters != null ? counters.total.sum() : 0;
+    }
+
+    /**
+     * Zadania pracownika w stanie PENDING lub IN_PROGRESS.
+     */
+    public long openTaskCountForUser(Integer userId) {
+        UserCounters counters = tasksByUser.get(userId);
+        return counters != null ? counters.open.sum() : 0;
+    }
+
+    // -------------------------------------------
+    // Zmiany (null oznacza brak stanu - utworzenie albo usunięcie)
+    // -------------------------------------------
+
+    public void roomChanged(RoomStatus oldStatus, RoomStatus newStatus) {
+        if (oldStatus == newStatus) {
+            return;
+        }
+        afterCommit(() -> {
+            if (oldStatus != null) {
+                rooms.get(oldStatus).decrement();
+            }
+            if (newStatus != null) {
+                rooms.get(newStatus).increment();
+            }
+            version.incrementAndGet();
+        });
+    }
+
+    public void taskAdded(Integer userId, TaskStatus status) {
+        afterCommit(() -> applyTask(userId, status, 1));
+    }
+
+    public void taskRemoved(Integer userId, TaskStatus status) {
+        afterCommit(() -> applyTask(userId, status, -1));
+    }
+
+    public void taskChanged(Integer oldUserId, TaskStatus oldStatus, Integer newUserId, TaskStatus newStatus) {
+        if (oldStatus == newStatus && Objects.equals(oldUserId, newUserId)) {
+            return;
+        }
+        afterCommit(() -> {
+            applyTask(oldUserId, oldStatus, -1);
+            applyTask(newUserId, newStatus, 1);
+        });
+    }
+
+    // -------------------------------------------
+    // Uzgadnianie z bazą
+    // -------------------------------------------
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        sync();
+        log.info("Liczniki KPI załadowane: {} zadań", taskCount());
+    }
+
+    /**
+     * Porównuje liczniki z wynikiem zapytań GROUP BY i dodaje różnice (bez zerowania, więc odczyt
+     * w trakcie uzgadniania nie widzi chwilowych zer). Zmiana zatwierdzona między zapytaniem a korektą
+     * może zostać policzona podwójnie - zniknie przy kolejnym uzgodnieniu.
+     */
+    @Scheduled(fixedDelayString = "${kpi.reconcile-interval-ms:300000}", initialDelayString = "${kpi.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        long drift = sync();
+        if (drift != 0) {
+            log.warn("Uzgodnienie liczników KPI skorygowało {} pozycji", drift);
+        }
+    }
+
+    /**
+     * Zwraca łączną wielkość korekty.
+     */
+    private long sync() {
+        Map<RoomStatus, Long> roomCounts = new EnumMap<>(RoomStatus.class);
+        for (Object[] row : roomRepository.countGroupedByStatus()) {
+            roomCounts.put((RoomStatus) row[0], (Long) row[1]);
+        }
+        Map<TaskStatus, Long> taskCounts = new EnumMap<>(TaskStatus.class);
+        Map<Integer, long[]> userCounts = new HashMap<>();
+        for (Object[] row : taskRepository.countGroupedByUserAndStatus()) {
+            Integer userId = (Integer) row[0];
+            TaskStatus status = (TaskStatus) row[1];
+            long count = (Long) row[2];
+            taskCounts.merge(status, count, Long::sum);
+            long[] user = userCounts.computeIfAbsent(userId, id -> new long[2]);
+            user[0] += count;
+            if (isOpen(status)) {
+                user[1] += count;
+            }
+        }
+
+        long drift = 0;
+        for (RoomStatus status : RoomStatus.values()) {
+            drift += adjust(rooms.get(status), roomCounts.getOrDefault(status, 0L));
+        }
+        for (TaskStatus status : TaskStatus.values()) {
+            drift += adjust(tasks.get(status), taskCounts.getOrDefault(status, 0L));
+        }
+        for (Integer userId : tasksByUser.keySet()) {
+            userCounts.putIfAbsent(userId, new long[2]);
+        }
+        for (Map.Entry<Integer, long[]> entry : userCounts.entrySet()) {
+            UserCounters counters = tasksByUser.computeIfAbsent(entry.getKey(), id -> new UserCounters());
+            drift += adjust(counters.total, entry.getValue()[0]);
+            drift += adjust(counters.open, entry.getValue()[1]);
+        }
+        if (drift != 0) {
+            version.incrementAndGet();
+        }
+        return drift;
+    }
+
+    private long adjust(LongAdder counter, long expected) {
+        long difference = expected - counter.sum();
+        if (difference != 0) {
+            counter.add(difference);
+        }
+        return Math.abs(difference);
+    }
+
+    private void applyTask(Integer userId, TaskStatus status, int delta) {
+        if (status != null) {
+            tasks.get(status).add(delta);
+        }
+        if (userId != null) {
+            UserCounters counters = tasksByUser.computeIfAbsent(userId, id -> new UserCounters());
+            counters.total.add(delta);
+            if (isOpen(status)) {
+                counters.open.add(delta);
+            }
+        }
+        version.incrementAndGet();
+    }
+
+    private static boolean isOpen(TaskStatus status) {
+        return status == TaskStatus.PENDING || status == TaskStatus.IN_PROGRESS;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class UserCounters {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder open = new LongAdder();
+    }
+}
@@ -0,0 +1,116 @@
+package org.systemhotelowy.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.systemhotelowy.dto.report.ReservationReportEntry;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Raport w NDJSON (application/x-ndjson): jeden obiekt JSON na linię, z polami section i date oraz atrybutami
+ * pozycji (pola o wartości null są pomijane, jak atrybuty w XML).
+ */
+public class NdjsonReportWriter extends FlatReportWriter {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final JsonGenerator json;
+
+    public NdjsonReportWriter(OutputStream out) {
+        try {
+            json = JSON_FACTORY.createGenerator(out);
+            json.setRootValueSeparator(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected void start() {
+    }
+
+    @Override
+    protected void finish() {
+        try {
+            json.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void room(RoomReportEntry entry) {
+        try {
+            begin("room");
+            number("id", entry.getId());
+            string("number", entry.getNumber());
+            number("floor", entry.getFloor());
+            string("status", entry.getStatus());
+            string("type", entry.getType());
+            end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void task(TaskReportEntry entry) {
+        try {
+            begin("task");
+            number("id", entry.getId());
+            string("status", entry.getStatus());
+            string("roomNumber", entry.getRoomNumber());
+            string("assignedToEmail", entry.getAssignedToEmail());
+            string("scheduledDate", entry.getScheduledDate());
+            number("durationInMinutes", entry.getDurationInMinutes());
+            end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void reservation(ReservationReportEntry entry) {
+        try {
+            begin("reservation");
+            number("id", entry.getId());
+            string("roomNumber", entry.getRoomNumber());
+            string("status", entry.getStatus());
+            string("guestName", entry.getGuestName());
+            string("checkInDate", entry.getCheckInDate());
+            string("checkOutDate", entry.getCheckOutDate());
+            end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void begin(String section) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("section", section);
+        string("date", currentDate);
+    }
+
+    private void end() throws IOException {
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void string(String name, String value) throws IOException {
+        if (value != null) {
+            json.writeStringField(name, value);
+        }
+    }
+
+    private void number(String name, Integer value) throws IOException {
+        if (value != null) {
+            json.writeNumberField(name, value);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.systemhotelowy.service;
+
+import org.systemhotelowy.model.Reservation;
+import org.systemhotelowy.model.ReservationStatus;
+import org.systemhotelowy.model.Room;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Macierz zajętości pokoi (pokój × dzień) budowana raz dla okna kalendarza.
+ * Komórka przechowuje indeks rezerwacji + 1 (0 = wolne), więc odczyt jest O(1).
+ * Rezerwacje anulowane są pomijane.
+ */
+public class OccupancyMatrix {
+
+    private final LocalDate startDate;
+    private final int days;
+    private final List<Room> rooms;
+    private final List<Reservation> reservations;
+    private final Map<Integer, Integer> rowByRoomId;
+    private final int[] slots;
+
+    private OccupancyMatrix(LocalDate startDate, int days, List<Room> rooms, List<Reservation> reservations) {
+        this.startDate = startDate;
+        this.days = days;
+        this.rooms = rooms;
+        this.reservations = reservations;
+        this.rowByRoomId = new HashMap<>(rooms.size() * 2);
+        this.slots = new int[rooms.size() * days];
+    }
+
+    /**
+     * Buduje macierz dla okna [startDate, startDate + days) w jednym przebiegu po rezerwacjach.
+     */
+    public static OccupancyMatrix build(List<Room> rooms, List<Reservation> reservations, LocalDate startDate, int days) {
+        OccupancyMatrix matrix = new OccupancyMatrix(startDate, days, rooms, reservations);
+
+        for (int row = 0; row < rooms.size(); row++) {
+            matrix.rowByRoomId.put(rooms.get(row).getId(), row);
+        }
+
+        for (int i = 0; i < reservations.size(); i++) {
+            Reservation reservation = reservations.get(i);
+            if (reservation.getStatus() == ReservationStatus.CANCELLED) {
+                continue;
+            }
+            Integer row = matrix.rowByRoomId.get(reservation.getRoom().getId());
+            if (row == null) {
+                continue;
+            }
+
+            int from = (int) Math.max(0, ChronoUnit.DAYS.between(startDate, reservation.getCheckInDate()));
+            int to = (int) Math.min(days - 1, ChronoUnit.DAYS.between(startDate, reservation.getCheckOutDate()));
+            int base = row * days;
+            for (int day = from; day <= to; day++) {
+                // pierwsza rezerwacja wygrywa, tak jak przy wyszukiwaniu liniowym
+                if (matrix.slots[base + day] == 0) {
+                    matrix.slots[base + day] = i + 1;
+                }
+            }
+        }
+
+        return matrix;
+    }
+
+    /**
+     * Zwraca rezerwację zajmującą pokój w danym dniu lub null, jeśli pokój jest wolny.
+     */
+    public Reservation get(Integer roomId, LocalDate day) {
+        Integer row = rowByRoomId.get(roomId);
+        long offset = ChronoUnit.DAYS.between(startDate, day);
+        if (row == null || offset < 0 || offset >= days) {
+            return null;
+        }
+        int slot = slots[row * days + (int) offset];
+        return slot == 0 ? null : reservations.get(slot - 1);
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
+    public List<Reservation> getReservations() {
+        return reservations;
+    }
+}
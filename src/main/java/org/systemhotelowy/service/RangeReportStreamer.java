@@ -0,0 +1,159 @@
+package org.systemhotelowy.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import org.systemhotelowy.dto.report.ReservationReportEntry;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+import org.systemhotelowy.model.Reservation;
+import org.systemhotelowy.repository.ReservationRepository;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Raport hotelowy za zakres dat: root hotelRangeReport z jedną sekcją day na każdy dzień, rosnąco.
+ * <p>
+ * Pokoje są czytane raz i ten sam snapshot trafia do każdego dnia; rezerwacje są czytane raz dla całego zakresu
+ * (findReservationsInPeriod) i rozdzielane na dni w pamięci. Sekcje dni (zadania dnia + jego rezerwacje) są budowane
+ * równolegle na wspólnej, ograniczonej puli reportExecutor, a zapisywane do wyjścia po kolei, gdy tylko następny
+ * dzień jest gotowy - naraz buduje się lub czeka najwyżej {@value #DAYS_IN_FLIGHT} dni, więc pamięć nie rośnie
+ * z długością zakresu.
+ */
+@Service
+public class RangeReportStreamer {
+
+    public static final int MAX_DAYS = 92;
+
+    private static final int DAYS_IN_FLIGHT = 8;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final ReportStreamer reportStreamer;
+    private final ReservationRepository reservationRepository;
+    private final Executor reportExecutor;
+
+    public RangeReportStreamer(ReportStreamer reportStreamer, ReservationRepository reservationRepository,
+                               @Qualifier("reportExecutor") Executor reportExecutor) {
+        this.reportStreamer = reportStreamer;
+        this.reservationRepository = reservationRepository;
+        this.reportExecutor = reportExecutor;
+    }
+
+    /**
+     * Sprawdza zakres przed rozpoczęciem odpowiedzi (błąd ma być 400, a nie przerwanym strumieniem).
+     */
+    public static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to dates are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Report end date cannot be before start date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > MAX_DAYS) {
+            throw new IllegalArgumentException("Report range cannot exceed " + MAX_DAYS + " days");
+        }
+    }
+
+    /**
+     * Zapisuje raport za dni from..to (włącznie) jako XML, z walidacją XSD w trakcie zapisu.
+     */
+    public void writeRangeXml(LocalDate from, LocalDate to, OutputStream out) {
+        writeRange(from, to, new ReportXmlWriter(out));
+    }
+
+    /**
+     * Zapisuje raport za dni from..to (włącznie) w formacie podanego writera (XML, CSV, NDJSON).
+     */
+    public void writeRange(LocalDate from, LocalDate to, ReportFormatWriter writer) {
+        validateRange(from, to);
+
+        List<RoomReportEntry> rooms = new ArrayList<>();
+        reportStreamer.forEachRoom(rooms::add);
+        List<Reservation> reservations = new ArrayList<>(reservationRepository.findReservationsInPeriod(from, to));
+        reservations.sort(Comparator.comparing(Reservation::getId));
+
+        writer.startRangeReport(DATE_FORMATTER.format(from), DATE_FORMATTER.format(to));
+
+        Deque<CompletableFuture<DaySection>> inFlight = new ArrayDeque<>();
+        LocalDate next = from;
+        try {
+            while (next != null || !inFlight.isEmpty()) {
+                while (next != null && inFlight.size() < DAYS_IN_FLIGHT) {
+                    LocalDate day = next;
+                    inFlight.add(CompletableFuture.supplyAsync(() -> buildDay(day, reservations), reportExecutor));
+                    next = day.isBefore(to) ? day.plusDays(1) : null;
+                }
+                writeDay(writer, rooms, join(inFlight.poll()));
+            }
+        } finally {
+            // przy błędzie zapisu (np. zerwane połączenie) nie budujemy kolejnych dni
+            inFlight.forEach(future -> future.cancel(false));
+        }
+
+        writer.endRangeReport();
+    }
+
+    private DaySection buildDay(LocalDate day, List<Reservation> reservations) {
+        List<TaskReportEntry> tasks = new ArrayList<>();
+        reportStreamer.forEachTask(day, tasks::add);
+
+        List<ReservationReportEntry> dayReservations = new ArrayList<>();
+        for (Reservation reservation : reservations) {
+            if (!reservation.getCheckInDate().isAfter(day) && !reservation.getCheckOutDate().isBefore(day)) {
+                dayReservations.add(ReportStreamer.toEntry(reservation));
+            }
+        }
+        return new DaySection(day, tasks, dayReservations);
+    }
+
+    private static void writeDay(ReportFormatWriter writer, List<RoomReportEntry> rooms, DaySection section) {
+        writer.startDay(DATE_FORMATTER.format(section.date));
+
+        writer.startSection("rooms");
+        rooms.forEach(writer::room);
+        writer.endSection("rooms");
+
+        writer.startSection("tasks");
+        section.tasks.forEach(writer::task);
+        writer.endSection("tasks");
+
+        writer.startSection("reservations");
+        section.reservations.forEach(writer::reservation);
+        writer.endSection("reservations");
+
+        writer.endDay();
+    }
+
+    private static DaySection join(CompletableFuture<DaySection> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class DaySection {
+        private final LocalDate date;
+        private final List<TaskReportEntry> tasks;
+        private final List<ReservationReportEntry> reservations;
+
+        private DaySection(LocalDate date, List<TaskReportEntry> tasks, List<ReservationReportEntry> reservations) {
+            this.date = date;
+            this.tasks = tasks;
+            this.reservations = reservations;
+        }
+    }
+}
@@ -2,11 +2,22 @@ package org.systemhotelowy.service;
 
 import org.systemhotelowy.dto.report.HotelReportImportSummaryDto;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 
 public interface ReportExportService {
 
     byte[] exportDailyReport(LocalDate date);
 
+    /**
+     * Strumieniowy eksport raportu dziennego w podanym formacie.
+     */
+    void exportDailyReport(LocalDate date, ReportFormat format, OutputStream out);
+
+    /**
+     * Strumieniowy eksport raportu za dni from..to (włącznie) w podanym formacie.
+     */
+    void exportRangeReport(LocalDate from, LocalDate to, ReportFormat format, OutputStream out);
+
     HotelReportImportSummaryDto importDailyReport(byte[] xmlBytes);
 }
@@ -0,0 +1,192 @@
+package org.systemhotelowy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Lokalny, plikowy cache wygenerowanych raportów.
+ * <p>
+ * Kluczem jest opis raportu (typ + zakres dat + wersja danych); nazwa pliku to skrót SHA-256 klucza, więc po restarcie
+ * aplikacji pliki są odnajdywane bez osobnego indeksu. Ten sam skrót służy jako ETag - treść pliku wynika
+ * jednoznacznie z klucza. Plik jest zapisywany obok pod nazwą tymczasową i przenoszony atomowo, więc czytelnik nigdy
+ * nie widzi niepełnego raportu. Łączny rozmiar jest ograniczony: po zapisie usuwane są najdawniej używane pliki.
+ */
+@Service
+public class ReportFileCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportFileCache.class);
+
+    private static final String SUFFIX = ".report";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    private final Map<String, CachedReport> entries = new ConcurrentHashMap<>();
+
+    public ReportFileCache(@Value("${report.cache.dir:${java.io.tmpdir}/systemhotelowy-reports}") String directory,
+                           @Value("${report.cache.max-bytes:536870912}") long maxBytes) {
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Odtwarza indeks z plików zapisanych przed restartem; porzucone pliki tymczasowe są usuwane.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    if (name.endsWith(TEMP_SUFFIX)) {
+                        Files.deleteIfExists(file);
+                    } else if (name.endsWith(SUFFIX)) {
+                        String hash = name.substring(0, name.length() - SUFFIX.length());
+                        entries.put(hash, new CachedReport(file, Files.size(file), hash,
+                                Files.getLastModifiedTime(file).toMillis()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open report cache directory " + directory, e);
+        }
+        evict(null);
+        log.info("Cache raportów {}: {} plików, {} B", directory, entries.size(), totalBytes());
+    }
+
+    public Optional<CachedReport> get(String key) {
+        CachedReport report = entries.get(hash(key));
+        if (report == null) {
+            return Optional.empty();
+        }
+        if (!Files.exists(report.path)) {
+            entries.remove(report.hash, report);
+            return Optional.empty();
+        }
+        report.lastAccess = System.currentTimeMillis();
+        return Optional.of(report);
+    }
+
+    /**
+     * Generuje raport do pliku w cache i zwraca wpis. Błąd generowania nie zostawia żadnego pliku.
+     */
+    public CachedReport put(String key, Consumer<OutputStream> generator) {
+        String hash = hash(key);
+        Path target = directory.resolve(hash + SUFFIX);
+        Path temp = directory.resolve(hash + "-" + Thread.currentThread().getId() + TEMP_SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                generator.accept(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            CachedReport report = new CachedReport(target, Files.size(target), hash, System.currentTimeMillis());
+            entries.put(hash, report);
+            evict(hash);
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write report to cache", e);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("Nie udało się usunąć pliku tymczasowego {}", temp);
+            }
+        }
+    }
+
+    public long totalBytes() {
+        return entries.values().stream().mapToLong(CachedReport::getSize).sum();
+    }
+
+    /**
+     * Usuwa najdawniej używane pliki, aż łączny rozmiar zmieści się w limicie. Właśnie zapisany plik jest pomijany.
+     */
+    private synchronized void evict(String keepHash) {
+        long total = totalBytes();
+        while (total > maxBytes) {
+            CachedReport oldest = null;
+            for (CachedReport report : entries.values()) {
+                if (!report.hash.equals(keepHash) && (oldest == null || report.lastAccess < oldest.lastAccess)) {
+                    oldest = report;
+                }
+            }
+            if (oldest == null) {
+                return;
+            }
+            entries.remove(oldest.hash, oldest);
+            total -= oldest.size;
+            try {
+                // plik, który jest właśnie wysyłany, pozostaje czytelny przez otwarty deskryptor
+                Files.deleteIfExists(oldest.path);
+            } catch (IOException e) {
+                log.warn("Nie udało się usunąć raportu {} z cache: {}", oldest.path, e.getMessage());
+            }
+        }
+    }
+
+    private static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Plik raportu w cache.
+     */
+    public static final class CachedReport {
+        private final Path path;
+        private final long size;
+        private final String hash;
+        private volatile long lastAccess;
+
+        private CachedReport(Path path, long size, String hash, long lastAccess) {
+            this.path = path;
+            this.size = size;
+            this.hash = hash;
+            this.lastAccess = lastAccess;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Silny ETag (w cudzysłowie, jak w nagłówku HTTP).
+         */
+        public String getETag() {
+            return "\"" + hash.substring(0, 32) + "\"";
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.systemhotelowy.service;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Formaty raportów i ich zapis strumieniowy. XML jest formatem domyślnym - także gdy klient akceptuje dowolny typ.
+ */
+public enum ReportFormat {
+
+    XML(MediaType.APPLICATION_XML, "xml", ReportXmlWriter::new),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv", CsvReportWriter::new),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson", NdjsonReportWriter::new);
+
+    private final MediaType mediaType;
+    private final String extension;
+    private final Function<OutputStream, ReportFormatWriter> writerFactory;
+
+    ReportFormat(MediaType mediaType, String extension, Function<OutputStream, ReportFormatWriter> writerFactory) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+        this.writerFactory = writerFactory;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public ReportFormatWriter newWriter(OutputStream out) {
+        return writerFactory.apply(out);
+    }
+
+    /**
+     * Wybiera format na podstawie nagłówka Accept (z uwzględnieniem wag q); brak nagłówka oznacza XML.
+     * Nieobsługiwany lub niepoprawny nagłówek daje HttpMediaTypeNotAcceptableException (406).
+     */
+    public static ReportFormat fromAcceptHeader(String accept) throws HttpMediaTypeNotAcceptableException {
+        if (accept == null || accept.isBlank()) {
+            return XML;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            throw new HttpMediaTypeNotAcceptableException("Invalid Accept header: " + accept);
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (ReportFormat format : values()) {
+                if (type.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(supportedMediaTypes());
+    }
+
+    private static List<MediaType> supportedMediaTypes() {
+        List<MediaType> types = new ArrayList<>();
+        for (ReportFormat format : values()) {
+            types.add(format.mediaType);
+        }
+        return types;
+    }
+}
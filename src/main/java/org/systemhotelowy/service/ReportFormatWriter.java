@@ -0,0 +1,40 @@
+package org.systemhotelowy.service;
+
+import org.systemhotelowy.dto.report.ReservationReportEntry;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+
+/**
+ * Strumieniowy zapis raportu hotelowego w jednym formacie (XML, CSV, NDJSON - patrz ReportFormat).
+ * <p>
+ * Raport dzienny: startReport, sekcje rooms/tasks/reservations z pozycjami, endReport.
+ * Raport zakresowy: startRangeReport, dla każdego dnia startDay + te same sekcje + endDay, endRangeReport.
+ * Implementacje nie zamykają strumienia wyjściowego - na końcu raportu tylko go opróżniają (flush).
+ */
+public interface ReportFormatWriter {
+
+    void startReport(String date);
+
+    void endReport();
+
+    void startRangeReport(String from, String to);
+
+    void endRangeReport();
+
+    void startDay(String date);
+
+    void endDay();
+
+    /**
+     * Otwiera sekcję rooms, tasks albo reservations.
+     */
+    void startSection(String name);
+
+    void endSection(String name);
+
+    void room(RoomReportEntry entry);
+
+    void task(TaskReportEntry entry);
+
+    void reservation(ReservationReportEntry entry);
+}
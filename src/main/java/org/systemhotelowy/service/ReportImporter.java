@@ -0,0 +1,344 @@
+package org.systemhotelowy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.systemhotelowy.dto.report.HotelReportImportSummaryDto;
+import org.systemhotelowy.model.RoomStatus;
+import org.systemhotelowy.model.TaskStatus;
+import org.systemhotelowy.repository.ReportImportBatchRepository;
+import org.systemhotelowy.repository.ReportImportBatchRepository.TaskChange;
+import org.systemhotelowy.repository.RoomRepository;
+import org.systemhotelowy.repository.TaskRepository;
+import org.systemhotelowy.repository.UserRepository;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.validation.ValidatorHandler;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Strumieniowy import raportu hotelowego z XML.
+ * <p>
+ * Dokument jest czytany parserem StAX element po elemencie; każde zdarzenie trafia też do ValidatorHandler,
+ * więc walidacja XSD odbywa się w tym samym przebiegu. Pozycje pokoi i zadań są zbierane we fragmenty
+ * po {@value #CHUNK_SIZE}: dla fragmentu bieżący stan pokoi, zadań i użytkowników jest pobierany zapytaniami IN,
+ * zmiany są wyliczane w pamięci i zapisywane jednym JDBC batch.
+ * <p>
+ * Treść żądania jest najpierw w całości zapisywana do pliku tymczasowego i sprawdzana (XSD, rodzaj raportu)
+ * bez transakcji; dopiero potem plik jest czytany drugi raz i zmiany są stosowane w jednej transakcji. Blokady
+ * wierszy z UPDATE nie są więc trzymane, gdy wolny klient jeszcze wysyła dokument, a błędny dokument (także
+ * z błędem pod koniec) nie zmienia niczego. Błąd w trakcie stosowania zmian wycofuje wszystkie fragmenty.
+ */
+@Service
+public class ReportImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportImporter.class);
+
+    public static final int CHUNK_SIZE = 1000;
+
+    private final RoomRepository roomRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ReportImportBatchRepository batchRepository;
+    private final KpiCounters kpiCounters;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReportImporter(RoomRepository roomRepository, TaskRepository taskRepository, UserRepository userRepository,
+                          ReportImportBatchRepository batchRepository, KpiCounters kpiCounters,
+                          PlatformTransactionManager transactionManager) {
+        this.roomRepository = roomRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.batchRepository = batchRepository;
+        this.kpiCounters = kpiCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Importuje raport i zwraca podsumowanie (liczby pozycji w dokumencie).
+     * Niepoprawny dokument kończy się IllegalArgumentException i nie zmienia danych.
+     */
+    public HotelReportImportSummaryDto importReport(InputStream in) {
+        Path file = spool(in);
+        try {
+            parseFile(file, false);
+            return transactionTemplate.execute(status -> parseFile(file, true));
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete spooled report {}", file, e);
+            }
+        }
+    }
+
+    private static Path spool(InputStream in) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("report-import-", ".xml");
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+            return file;
+        } catch (IOException e) {
+            if (file != null) {
+                file.toFile().delete();
+            }
+            throw new IllegalArgumentException("Could not read XML daily report", e);
+        }
+    }
+
+    /**
+     * Jeden przebieg po dokumencie; apply = false tylko waliduje i liczy pozycje.
+     */
+    private HotelReportImportSummaryDto parseFile(Path file, boolean apply) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return parse(in, apply);
+        } catch (XMLStreamException | SAXException e) {
+            log.error("Failed to import XML daily report", e);
+            throw new IllegalArgumentException("Could not import XML daily report", e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read XML daily report", e);
+        }
+    }
+
+    private HotelReportImportSummaryDto parse(InputStream in, boolean apply) throws XMLStreamException, SAXException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        ValidatorHandler validator = ReportXmlContext.schema().newValidatorHandler();
+        HotelReportImportSummaryDto summary = new HotelReportImportSummaryDto();
+        List<RoomEntry> rooms = new ArrayList<>(CHUNK_SIZE);
+        List<TaskEntry> tasks = new ArrayList<>(CHUNK_SIZE);
+        int[] updated = new int[2];
+
+        XMLStreamReader reader = factory.createXMLStreamReader(in);
+        try {
+            validator.startDocument();
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        String name = reader.getLocalName();
+                        validator.startElement(namespaceOf(reader), name, name, attributesOf(reader));
+                        switch (name) {
+                            case "hotelReport" -> summary.setDate(reader.getAttributeValue(null, "date"));
+                            case "hotelRangeReport" ->
+                                    throw new IllegalArgumentException("Only daily reports (hotelReport) can be imported");
+                            case "room" -> {
+                                summary.setRoomsCount(summary.getRoomsCount() + 1);
+                                if (apply) {
+                                    rooms.add(new RoomEntry(intAttribute(reader, "id"), reader.getAttributeValue(null, "status")));
+                                    if (rooms.size() >= CHUNK_SIZE) {
+                                        updated[0] += flushRooms(rooms);
+                                    }
+                                }
+                            }
+                            case "task" -> {
+                                summary.setTasksCount(summary.getTasksCount() + 1);
+                                if (apply) {
+                                    tasks.add(new TaskEntry(intAttribute(reader, "id"),
+                                            reader.getAttributeValue(null, "status"),
+                                            reader.getAttributeValue(null, "assignedToEmail")));
+                                    if (tasks.size() >= CHUNK_SIZE) {
+                                        updated[1] += flushTasks(tasks);
+                                    }
+                                }
+                            }
+                            case "reservation" -> summary.setReservationsCount(summary.getReservationsCount() + 1);
+                            default -> {
+                                // sekcje rooms/tasks/reservations - tylko walidacja
+                            }
+                        }
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        String name = reader.getLocalName();
+                        validator.endElement(namespaceOf(reader), name, name);
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                            validator.characters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    default -> {
+                        // komentarze, instrukcje przetwarzania - pomijane
+                    }
+                }
+            }
+            validator.endDocument();
+        } finally {
+            reader.close();
+        }
+
+        if (!apply) {
+            return summary;
+        }
+        updated[0] += flushRooms(rooms);
+        updated[1] += flushTasks(tasks);
+        log.info("Imported XML report {}: {} rooms ({} updated), {} tasks ({} updated)",
+                summary.getDate(), summary.getRoomsCount(), updated[0], summary.getTasksCount(), updated[1]);
+        return summary;
+    }
+
+    /**
+     * Stosuje statusy pokoi z fragmentu; zwraca liczbę zmienionych pokoi.
+     */
+    private int flushRooms(List<RoomEntry> entries) {
+        Set<Integer> ids = new HashSet<>();
+        for (RoomEntry entry : entries) {
+            if (entry.id != null) {
+                ids.add(entry.id);
+            }
+        }
+        Map<Integer, RoomStatus> current = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Object[] row : roomRepository.findStatusesByIdIn(ids)) {
+                current.put((Integer) row[0], (RoomStatus) row[1]);
+            }
+        }
+
+        Map<Integer, RoomStatus> changes = new LinkedHashMap<>();
+        for (RoomEntry entry : entries) {
+            if (entry.id == null || entry.status == null || !current.containsKey(entry.id)) {
+                continue;
+            }
+            RoomStatus newStatus = parseEnum(RoomStatus.class, entry.status);
+            if (newStatus == null) {
+                log.warn("Invalid room status in import: {}", entry.status);
+                continue;
+            }
+            RoomStatus oldStatus = current.put(entry.id, newStatus);
+            if (oldStatus != newStatus) {
+                changes.put(entry.id, newStatus);
+                kpiCounters.roomChanged(oldStatus, newStatus);
+            }
+        }
+        batchRepository.updateRoomStatuses(changes);
+        entries.clear();
+        return changes.size();
+    }
+
+    /**
+     * Stosuje statusy i przypisania zadań z fragmentu; zwraca liczbę zmienionych zadań.
+     */
+    private int flushTasks(List<TaskEntry> entries) {
+        Set<Integer> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (TaskEntry entry : entries) {
+            if (entry.id != null) {
+                ids.add(entry.id);
+            }
+            if (entry.assignedToEmail != null) {
+                emails.add(entry.assignedToEmail);
+            }
+        }
+        Map<Integer, TaskChange> current = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Object[] row : taskRepository.findImportStateByIdIn(ids)) {
+                current.put((Integer) row[0], new TaskChange((TaskStatus) row[1], (Integer) row[2]));
+            }
+        }
+        Map<String, Integer> userIds = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (Object[] row : userRepository.findIdsByEmailIn(emails)) {
+                userIds.put((String) row[0], (Integer) row[1]);
+            }
+        }
+
+        Map<Integer, TaskChange> changes = new LinkedHashMap<>();
+        for (TaskEntry entry : entries) {
+            TaskChange before = entry.id != null ? current.get(entry.id) : null;
+            if (before == null) {
+                continue;
+            }
+            TaskStatus status = before.getStatus();
+            if (entry.status != null) {
+                TaskStatus parsed = parseEnum(TaskStatus.class, entry.status);
+                if (parsed != null) {
+                    status = parsed;
+                } else {
+                    log.warn("Invalid task status in import: {}", entry.status);
+                }
+            }
+            Integer assignedToId = before.getAssignedToId();
+            if (entry.assignedToEmail != null && userIds.containsKey(entry.assignedToEmail)) {
+                assignedToId = userIds.get(entry.assignedToEmail);
+            }
+
+            if (status != before.getStatus() || !Objects.equals(assignedToId, before.getAssignedToId())) {
+                TaskChange after = new TaskChange(status, assignedToId);
+                current.put(entry.id, after);
+                changes.put(entry.id, after);
+                kpiCounters.taskChanged(before.getAssignedToId(), before.getStatus(), assignedToId, status);
+            }
+        }
+        batchRepository.updateTasks(changes);
+        entries.clear();
+        return changes.size();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Integer intAttribute(XMLStreamReader reader, String name) {
+        // wartość jest już sprawdzona przez walidator (xs:int)
+        String value = reader.getAttributeValue(null, name);
+        return value != null ? Integer.valueOf(value.trim()) : null;
+    }
+
+    private static String namespaceOf(XMLStreamReader reader) {
+        String uri = reader.getNamespaceURI();
+        return uri != null ? uri : "";
+    }
+
+    private static AttributesImpl attributesOf(XMLStreamReader reader) {
+        AttributesImpl attributes = new AttributesImpl();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String uri = reader.getAttributeNamespace(i);
+            String localName = reader.getAttributeLocalName(i);
+            attributes.addAttribute(uri != null ? uri : "", localName, localName, "CDATA", reader.getAttributeValue(i));
+        }
+        return attributes;
+    }
+
+    private static final class RoomEntry {
+        private final Integer id;
+        private final String status;
+
+        private RoomEntry(Integer id, String status) {
+            this.id = id;
+            this.status = status;
+        }
+    }
+
+    private static final class TaskEntry {
+        private final Integer id;
+        private final String status;
+        private final String assignedToEmail;
+
+        private TaskEntry(Integer id, String status, String assignedToEmail) {
+            this.id = id;
+            this.status = status;
+            this.assignedToEmail = assignedToEmail;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package org.systemhotelowy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.systemhotelowy.exception.ResourceNotFoundException;
+import org.systemhotelowy.repository.ReportVersionRepository;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Asynchroniczne generowanie raportów: zlecenie, sprawdzanie statusu, pobranie wyniku z ReportFileCache.
+ * <p>
+ * Klucz cache to typ + zakres dat + wersja danych zakresu z ReportVersionRepository (liczba wierszy i ostatni
+ * updated_at pokoi, zadań z zakresu i nachodzących na niego rezerwacji). Raport za miniony zakres jest więc
+ * generowany raz i serwowany z dysku także po restarcie - dopóki ktoś nie zmieni zadań lub rezerwacji z tych dni
+ * albo pokoi; zmiany w innych dniach go nie unieważniają.
+ * Zlecenia z tym samym kluczem w trakcie generowania są łączone w jedno. Pula reportJobExecutor jest ograniczona -
+ * przy pełnej kolejce zlecenie jest odrzucane (409).
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    private final ReportStreamer reportStreamer;
+    private final RangeReportStreamer rangeReportStreamer;
+    private final ReportFileCache cache;
+    private final ReportVersionRepository reportVersionRepository;
+    private final Executor reportJobExecutor;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> runningByKey = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportStreamer reportStreamer, RangeReportStreamer rangeReportStreamer, ReportFileCache cache,
+                            ReportVersionRepository reportVersionRepository,
+                            @Qualifier("reportJobExecutor") Executor reportJobExecutor) {
+        this.reportStreamer = reportStreamer;
+        this.rangeReportStreamer = rangeReportStreamer;
+        this.cache = cache;
+        this.reportVersionRepository = reportVersionRepository;
+        this.reportJobExecutor = reportJobExecutor;
+    }
+
+    /**
+     * Zleca raport. Jeśli wynik jest już w cache, zlecenie od razu ma status DONE;
+     * jeśli identyczny raport jest właśnie generowany, zwracane jest tamto zlecenie.
+     */
+    public ReportJob submit(ReportType type, LocalDate from, LocalDate to) {
+        if (type == null) {
+            throw new IllegalArgumentException("Report type is required");
+        }
+        if (type == ReportType.DAILY_XML && to != null && !to.equals(from)) {
+            throw new IllegalArgumentException("Daily report covers a single date");
+        }
+        LocalDate end = to != null ? to : from;
+        RangeReportStreamer.validateRange(from, end);
+
+        String key = cacheKey(type, from, end);
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), type, from, end, key);
+
+        Optional<ReportFileCache.CachedReport> cached = cache.get(key);
+        if (cached.isPresent()) {
+            job.complete(cached.get());
+            jobs.put(job.id, job);
+            return job;
+        }
+
+        ReportJob running = runningByKey.putIfAbsent(key, job);
+        if (running != null) {
+            return running;
+        }
+        jobs.put(job.id, job);
+        try {
+            reportJobExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            runningByKey.remove(key, job);
+            throw new IllegalStateException("Report queue is full, try again later");
+        }
+        return job;
+    }
+
+    public ReportJob getJob(String id) {
+        ReportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job not found with id: " + id);
+        }
+        return job;
+    }
+
+    /**
+     * Plik z wynikiem zlecenia. Zlecenie musi być zakończone; wynik mógł zostać usunięty z cache (404).
+     */
+    public ReportFileCache.CachedReport getResult(String id) {
+        ReportJob job = getJob(id);
+        if (job.status == ReportJobStatus.FAILED) {
+            throw new IllegalStateException("Report job failed: " + job.error);
+        }
+        if (job.status != ReportJobStatus.DONE) {
+            throw new IllegalStateException("Report is not ready yet");
+        }
+        return cache.get(job.cacheKey)
+                .orElseThrow(() -> new ResourceNotFoundException("Report result expired, submit the job again"));
+    }
+
+    /**
+     * Usuwa z pamięci zakończone zlecenia starsze niż {@code JOB_RETENTION} (pliki zostają w cache).
+     */
+    @Scheduled(fixedDelayString = "${report.jobs.cleanup-interval-ms:600000}")
+    public void removeExpiredJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(threshold));
+    }
+
+    private void run(ReportJob job) {
+        job.status = ReportJobStatus.RUNNING;
+        long start = System.nanoTime();
+        try {
+            job.complete(cache.put(job.cacheKey, out -> write(job, out)));
+            log.info("Raport {} {}..{} wygenerowany w {} ms ({} B)", job.type, job.from, job.to,
+                    (System.nanoTime() - start) / 1_000_000, job.sizeBytes);
+        } catch (RuntimeException e) {
+            log.error("Report job {} failed", job.id, e);
+            job.fail(e.getMessage());
+        } finally {
+            runningByKey.remove(job.cacheKey, job);
+        }
+    }
+
+    private void write(ReportJob job, OutputStream out) {
+        switch (job.type) {
+            case DAILY_XML -> reportStreamer.writeDailyXml(job.from, out);
+            case RANGE_XML -> rangeReportStreamer.writeRangeXml(job.from, job.to, out);
+        }
+    }
+
+    private String cacheKey(ReportType type, LocalDate from, LocalDate to) {
+        return type + ":" + from + ":" + to + ":" + reportVersionRepository.rangeVersion(from, to);
+    }
+
+    public enum ReportType {
+        DAILY_XML,
+        RANGE_XML
+    }
+
+    public enum ReportJobStatus {
+        QUEUED,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    /**
+     * Stan jednego zlecenia raportu.
+     */
+    public static final class ReportJob {
+        private final String id;
+        private final ReportType type;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final String cacheKey;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+        private volatile LocalDateTime finishedAt;
+        private volatile Long sizeBytes;
+        private volatile String eTag;
+        private volatile String error;
+
+        private ReportJob(String id, ReportType type, LocalDate from, LocalDate to, String cacheKey) {
+            this.id = id;
+            this.type = type;
+            this.from = from;
+            this.to = to;
+            this.cacheKey = cacheKey;
+        }
+
+        private void complete(ReportFileCache.CachedReport report) {
+            sizeBytes = report.getSize();
+            eTag = report.getETag();
+            finishedAt = LocalDateTime.now();
+            status = ReportJobStatus.DONE;
+        }
+
+        private void fail(String message) {
+            error = message;
+            finishedAt = LocalDateTime.now();
+            status = ReportJobStatus.FAILED;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public ReportType getType() {
+            return type;
+        }
+
+        public LocalDate getFrom() {
+            return from;
+        }
+
+        public LocalDate getTo() {
+            return to;
+        }
+
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+
+        public ReportJobStatus getStatus() {
+            return status;
+        }
+
+        public LocalDateTime getFinishedAt() {
+            return finishedAt;
+        }
+
+        public Long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
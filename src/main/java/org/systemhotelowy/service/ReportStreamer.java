@@ -0,0 +1,127 @@
+package org.systemhotelowy.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.systemhotelowy.dto.ReservationResponse;
+import org.systemhotelowy.dto.report.ReservationReportEntry;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+import org.systemhotelowy.model.Reservation;
+import org.systemhotelowy.repository.ReservationRepository;
+import org.systemhotelowy.repository.RoomRepository;
+import org.systemhotelowy.repository.TaskRepository;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Strumieniowe generowanie raportu dziennego: pozycje są czytane kursorem z bazy (projekcje, bez encji
+ * w kontekście persystencji) i od razu zapisywane do wyjścia, więc pamięć nie rośnie z wielkością raportu.
+ * Sekcje są czytane po kolei - sterownik MySQL pozwala na jeden strumieniowany wynik na połączenie naraz.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReportStreamer {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    private final RoomRepository roomRepository;
+    private final TaskRepository taskRepository;
+    private final ReservationRepository reservationRepository;
+
+    public ReportStreamer(RoomRepository roomRepository, TaskRepository taskRepository,
+                          ReservationRepository reservationRepository) {
+        this.roomRepository = roomRepository;
+        this.taskRepository = taskRepository;
+        this.reservationRepository = reservationRepository;
+    }
+
+    /**
+     * Zapisuje raport dzienny jako XML do strumienia, z walidacją XSD w trakcie zapisu.
+     */
+    public void writeDailyXml(LocalDate date, OutputStream out) {
+        writeDaily(date, new ReportXmlWriter(out));
+    }
+
+    /**
+     * Zapisuje raport dzienny w formacie podanego writera (XML, CSV, NDJSON).
+     */
+    public void writeDaily(LocalDate date, ReportFormatWriter writer) {
+        writer.startReport(DATE_FORMATTER.format(date));
+
+        writer.startSection("rooms");
+        forEachRoom(writer::room);
+        writer.endSection("rooms");
+
+        writer.startSection("tasks");
+        forEachTask(date, writer::task);
+        writer.endSection("tasks");
+
+        writer.startSection("reservations");
+        forEachReservation(date, writer::reservation);
+        writer.endSection("reservations");
+
+        writer.endReport();
+    }
+
+    public void forEachRoom(Consumer<RoomReportEntry> consumer) {
+        try (Stream<Object[]> rows = roomRepository.streamReportRows()) {
+            rows.forEach(row -> consumer.accept(new RoomReportEntry(
+                    (Integer) row[0],
+                    (String) row[1],
+                    (Integer) row[2],
+                    row[3] != null ? ((Enum<?>) row[3]).name() : null,
+                    row[4] != null ? ((Enum<?>) row[4]).name() : null
+            )));
+        }
+    }
+
+    public void forEachTask(LocalDate date, Consumer<TaskReportEntry> consumer) {
+        try (Stream<Object[]> rows = taskRepository.streamReportRows(
+                date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+            rows.forEach(row -> consumer.accept(new TaskReportEntry(
+                    (Integer) row[0],
+                    row[1] != null ? ((Enum<?>) row[1]).name() : null,
+                    (String) row[2],
+                    (String) row[3],
+                    row[4] != null ? DATE_FORMATTER.format(((LocalDateTime) row[4]).toLocalDate()) : null,
+                    (Integer) row[5]
+            )));
+        }
+    }
+
+    /**
+     * Rezerwacje obejmujące podany dzień (dowolny status).
+     */
+    public void forEachReservation(LocalDate date, Consumer<ReservationReportEntry> consumer) {
+        try (Stream<ReservationResponse> rows = reservationRepository.streamFiltered(null, date, date)) {
+            rows.forEach(reservation -> consumer.accept(toEntry(reservation)));
+        }
+    }
+
+    public static ReservationReportEntry toEntry(ReservationResponse reservation) {
+        return new ReservationReportEntry(
+                reservation.getId(),
+                reservation.getRoomNumber(),
+                reservation.getStatus() != null ? reservation.getStatus().name() : null,
+                reservation.getGuestName(),
+                reservation.getCheckInDate() != null ? DATE_FORMATTER.format(reservation.getCheckInDate()) : null,
+                reservation.getCheckOutDate() != null ? DATE_FORMATTER.format(reservation.getCheckOutDate()) : null
+        );
+    }
+
+    public static ReservationReportEntry toEntry(Reservation reservation) {
+        return new ReservationReportEntry(
+                reservation.getId(),
+                reservation.getRoom() != null ? reservation.getRoom().getNumber() : null,
+                reservation.getStatus() != null ? reservation.getStatus().name() : null,
+                reservation.getGuestName(),
+                reservation.getCheckInDate() != null ? DATE_FORMATTER.format(reservation.getCheckInDate()) : null,
+                reservation.getCheckOutDate() != null ? DATE_FORMATTER.format(reservation.getCheckOutDate()) : null
+        );
+    }
+}
@@ -0,0 +1,102 @@
+package org.systemhotelowy.service;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import org.systemhotelowy.dto.report.HotelReportDto;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Współdzielone obiekty JAXB dla raportów XML.
+ * <p>
+ * JAXBContext i skompilowany Schema są bezpieczne wątkowo i tworzone raz przy ładowaniu klasy - to najdroższe
+ * operacje w całym stosie JAXB. Marshaller i Unmarshaller nie są bezpieczne wątkowo, więc są wypożyczane
+ * z małych pul. Oba mają ustawiony Schema, dzięki czemu walidacja XSD odbywa się w tym samym przebiegu
+ * co zapis/odczyt (bez ponownego parsowania dokumentu).
+ */
+public final class ReportXmlContext {
+
+    public static final String SCHEMA_PATH = "xsd/hotel-report.xsd";
+
+    private static final int POOL_SIZE = 16;
+
+    private static final JAXBContext CONTEXT;
+    private static final Schema SCHEMA;
+
+    static {
+        try {
+            CONTEXT = JAXBContext.newInstance(HotelReportDto.class);
+            SCHEMA = compileSchema();
+        } catch (JAXBException | SAXException | IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final BlockingQueue<Marshaller> MARSHALLERS = new ArrayBlockingQueue<>(POOL_SIZE);
+    private static final BlockingQueue<Unmarshaller> UNMARSHALLERS = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    private ReportXmlContext() {
+    }
+
+    public static JAXBContext context() {
+        return CONTEXT;
+    }
+
+    public static Schema schema() {
+        return SCHEMA;
+    }
+
+    /**
+     * Zapisuje raport jako sformatowany XML, walidując go względem XSD w trakcie zapisu.
+     */
+    public static void marshal(HotelReportDto report, OutputStream out) throws JAXBException {
+        Marshaller marshaller = MARSHALLERS.poll();
+        if (marshaller == null) {
+            marshaller = CONTEXT.createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+            marshaller.setSchema(SCHEMA);
+        }
+        try {
+            marshaller.marshal(report, out);
+        } finally {
+            MARSHALLERS.offer(marshaller);
+        }
+    }
+
+    /**
+     * Odczytuje raport z XML, walidując go względem XSD w trakcie odczytu.
+     */
+    public static HotelReportDto unmarshal(InputStream in) throws JAXBException {
+        Unmarshaller unmarshaller = UNMARSHALLERS.poll();
+        if (unmarshaller == null) {
+            unmarshaller = CONTEXT.createUnmarshaller();
+            unmarshaller.setSchema(SCHEMA);
+        }
+        try {
+            return (HotelReportDto) unmarshaller.unmarshal(in);
+        } finally {
+            UNMARSHALLERS.offer(unmarshaller);
+        }
+    }
+
+    private static Schema compileSchema() throws SAXException, IOException {
+        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        try (InputStream xsdStream = ReportXmlContext.class.getClassLoader().getResourceAsStream(SCHEMA_PATH)) {
+            if (xsdStream == null) {
+                throw new IllegalStateException("XSD schema '" + SCHEMA_PATH + "' not found on classpath");
+            }
+            return factory.newSchema(new StreamSource(xsdStream));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package org.systemhotelowy.service;
+
+import org.systemhotelowy.dto.report.ReservationReportEntry;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.validation.Schema;
+import javax.xml.validation.ValidatorHandler;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Strumieniowy zapis raportu hotelowego do XML, element po elemencie.
+ * <p>
+ * Zdarzenia SAX trafiają najpierw do ValidatorHandler (walidacja XSD w locie), a potem do serializera
+ * piszącego bezpośrednio do strumienia wyjściowego. Żaden fragment dokumentu nie jest trzymany w pamięci,
+ * więc zużycie pamięci nie zależy od wielkości raportu. Format wyjścia odpowiada wynikowi JAXB
+ * (te same elementy i kolejność atrybutów). Błąd walidacji przerywa zapis wyjątkiem IllegalStateException,
+ * błąd zapisu - UncheckedIOException.
+ * Obiekt nie jest bezpieczny wątkowo - jeden zapis na instancję.
+ */
+public class ReportXmlWriter implements ReportFormatWriter {
+
+    private static final String NO_NAMESPACE = "";
+    private static final String CDATA = "CDATA";
+
+    private final ValidatorHandler handler;
+    private final AttributesImpl attributes = new AttributesImpl();
+
+    public ReportXmlWriter(OutputStream out) {
+        this(out, ReportXmlContext.schema());
+    }
+
+    public ReportXmlWriter(OutputStream out, Schema schema) {
+        try {
+            SAXTransformerFactory factory = (SAXTransformerFactory) TransformerFactory.newInstance();
+            TransformerHandler serializer = factory.newTransformerHandler();
+            Transformer transformer = serializer.getTransformer();
+            transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+            transformer.setOutputProperty(OutputKeys.STANDALONE, "yes");
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
+            serializer.setResult(new StreamResult(out));
+
+            handler = schema.newValidatorHandler();
+            handler.setContentHandler(serializer);
+        } catch (TransformerConfigurationException e) {
+            throw new IllegalStateException("Could not create XML report writer", e);
+        }
+    }
+
+    @Override
+    public void startReport(String date) {
+        try {
+            handler.startDocument();
+        } catch (SAXException e) {
+            throw failure(e);
+        }
+        attributes.clear();
+        attribute("date", date);
+        start("hotelReport");
+    }
+
+    @Override
+    public void endReport() {
+        end("hotelReport");
+        try {
+            handler.endDocument();
+        } catch (SAXException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Otwiera raport za zakres dat (root hotelRangeReport); kolejne dni zapisuje się przez startDay/endDay.
+     */
+    @Override
+    public void startRangeReport(String from, String to) {
+        try {
+            handler.startDocument();
+        } catch (SAXException e) {
+            throw failure(e);
+        }
+        attributes.clear();
+        attribute("from", from);
+        attribute("to", to);
+        start("hotelRangeReport");
+    }
+
+    @Override
+    public void endRangeReport() {
+        end("hotelRangeReport");
+        try {
+            handler.endDocument();
+        } catch (SAXException e) {
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Otwiera sekcję jednego dnia raportu zakresowego (zawiera rooms, tasks i reservations).
+     */
+    @Override
+    public void startDay(String date) {
+        attributes.clear();
+        attribute("date", date);
+        start("day");
+    }
+
+    @Override
+    public void endDay() {
+        end("day");
+    }
+
+    /**
+     * Otwiera sekcję rooms, tasks albo reservations.
+     */
+    @Override
+    public void startSection(String name) {
+        attributes.clear();
+        start(name);
+    }
+
+    @Override
+    public void endSection(String name) {
+        end(name);
+    }
+
+    @Override
+    public void room(RoomReportEntry entry) {
+        attributes.clear();
+        attribute("id", entry.getId());
+        attribute("number", entry.getNumber());
+        attribute("floor", entry.getFloor());
+        attribute("status", entry.getStatus());
+        attribute("type", entry.getType());
+        element("room");
+    }
+
+    @Override
+    public void task(TaskReportEntry entry) {
+        attributes.clear();
+        attribute("id", entry.getId());
+        attribute("status", entry.getStatus());
+        attribute("roomNumber", entry.getRoomNumber());
+        attribute("assignedToEmail", entry.getAssignedToEmail());
+        attribute("scheduledDate", entry.getScheduledDate());
+        attribute("durationInMinutes", entry.getDurationInMinutes());
+        element("task");
+    }
+
+    @Override
+    public void reservation(ReservationReportEntry entry) {
+        attributes.clear();
+        attribute("id", entry.getId());
+        attribute("roomNumber", entry.getRoomNumber());
+        attribute("status", entry.getStatus());
+        attribute("guestName", entry.getGuestName());
+        attribute("checkInDate", entry.getCheckInDate());
+        attribute("checkOutDate", entry.getCheckOutDate());
+        element("reservation");
+    }
+
+    private void attribute(String name, Object value) {
+        // JAXB pomija atrybuty o wartości null - tutaj tak samo
+        if (value != null) {
+            attributes.addAttribute(NO_NAMESPACE, name, name, CDATA, value.toString());
+        }
+    }
+
+    private void element(String name) {
+        start(name);
+        end(name);
+    }
+
+    private void start(String name) {
+        try {
+            handler.startElement(NO_NAMESPACE, name, name, attributes);
+        } catch (SAXException e) {
+            throw failure(e);
+        }
+    }
+
+    private void end(String name) {
+        try {
+            handler.endElement(NO_NAMESPACE, name, name);
+        } catch (SAXException e) {
+            throw failure(e);
+        }
+    }
+
+    private RuntimeException failure(SAXException e) {
+        // serializer opakowuje błędy zapisu (np. zerwane połączenie) w SAXException
+        if (e.getException() instanceof IOException io) {
+            return new UncheckedIOException(io);
+        }
+        return new IllegalStateException("XML report is not valid against schema", e);
+    }
+}
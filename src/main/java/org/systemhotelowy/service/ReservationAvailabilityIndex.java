@@ -0,0 +1,191 @@
+package org.systemhotelowy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.systemhotelowy.model.Reservation;
+import org.systemhotelowy.model.ReservationStatus;
+import org.systemhotelowy.repository.ReservationRepository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Indeks zajętości pokoi trzymany w pamięci.
+ * Dla każdego pokoju przechowuje przedziały dat aktywnych rezerwacji (wszystkie poza CANCELLED i CHECKED_OUT),
+ * dzięki czemu sprawdzenie dostępności nie wymaga zapytania do bazy.
+ * Indeks jest ładowany przy starcie aplikacji i aktualizowany przez ReservationServiceImpl po zatwierdzeniu transakcji.
+ */
+@Service
+public class ReservationAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationAvailabilityIndex.class);
+
+    private final ReservationRepository reservationRepository;
+
+    private final Map<Integer, RoomTimeline> timelines = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> roomByReservation = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile boolean ready = false;
+
+    public ReservationAvailabilityIndex(ReservationRepository reservationRepository) {
+        this.reservationRepository = reservationRepository;
+    }
+
+    /**
+     * Ładuje aktywne rezerwacje z bazy (tylko id, pokój i daty - bez encji).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<Object[]> ranges = reservationRepository.findActiveReservationRanges();
+        for (Object[] row : ranges) {
+            put((Integer) row[0], (Integer) row[1], (LocalDate) row[2], (LocalDate) row[3]);
+        }
+        ready = true;
+        log.info("Indeks dostępności pokoi załadowany: {} aktywnych rezerwacji", ranges.size());
+    }
+
+    /**
+     * Czy indeks został załadowany i może odpowiadać na zapytania.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Sprawdza czy pokój jest wolny w okresie [checkInDate, checkOutDate] (semantyka jak w findOverlappingReservations).
+     */
+    public boolean isAvailable(Integer roomId, LocalDate checkInDate, LocalDate checkOutDate, Integer excludeReservationId) {
+        RoomTimeline timeline = timelines.get(roomId);
+        return timeline == null || !timeline.overlaps(checkInDate, checkOutDate, excludeReservationId);
+    }
+
+    /**
+     * Licznik zmian rezerwacji zatwierdzonych od startu aplikacji (np. do unieważniania cache raportów).
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Rejestruje stan rezerwacji w indeksie po zatwierdzeniu bieżącej transakcji.
+     * Rezerwacje nieaktywne (CANCELLED, CHECKED_OUT) są z indeksu usuwane.
+     */
+    public void register(Reservation reservation) {
+        Integer id = reservation.getId();
+        Integer roomId = reservation.getRoom().getId();
+        LocalDate checkIn = reservation.getCheckInDate();
+        LocalDate checkOut = reservation.getCheckOutDate();
+        boolean active = isActive(reservation.getStatus());
+
+        afterCommit(() -> {
+            if (active) {
+                put(id, roomId, checkIn, checkOut);
+            } else {
+                remove(id);
+            }
+            version.incrementAndGet();
+        });
+    }
+
+    /**
+     * Usuwa rezerwację z indeksu po zatwierdzeniu bieżącej transakcji.
+     */
+    public void unregister(Integer reservationId) {
+        afterCommit(() -> {
+            remove(reservationId);
+            version.incrementAndGet();
+        });
+    }
+
+    public static boolean isActive(ReservationStatus status) {
+        return status != ReservationStatus.CANCELLED && status != ReservationStatus.CHECKED_OUT;
+    }
+
+    private void put(Integer reservationId, Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        Integer previousRoomId = roomByReservation.put(reservationId, roomId);
+        if (previousRoomId != null && !previousRoomId.equals(roomId)) {
+            timelines.get(previousRoomId).remove(reservationId);
+        }
+        timelines.computeIfAbsent(roomId, id -> new RoomTimeline()).put(reservationId, checkIn, checkOut);
+    }
+
+    private void remove(Integer reservationId) {
+        Integer roomId = roomByReservation.remove(reservationId);
+        if (roomId != null) {
+            timelines.get(roomId).remove(reservationId);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Przedziały rezerwacji jednego pokoju posortowane po dacie zameldowania.
+     * Najdłuższy zapamiętany pobyt ogranicza zakres skanowania: przedział nakładający się na [from, to]
+     * musi zaczynać się nie wcześniej niż from - maxNights.
+     */
+    private static final class RoomTimeline {
+
+        private final NavigableMap<LocalDate, Map<Integer, LocalDate>> byCheckIn = new TreeMap<>();
+        private final Map<Integer, LocalDate> checkInByReservation = new HashMap<>();
+        private long maxNights = 0;
+
+        synchronized void put(Integer reservationId, LocalDate checkIn, LocalDate checkOut) {
+            remove(reservationId);
+            byCheckIn.computeIfAbsent(checkIn, d -> new HashMap<>()).put(reservationId, checkOut);
+            checkInByReservation.put(reservationId, checkIn);
+            maxNights = Math.max(maxNights, ChronoUnit.DAYS.between(checkIn, checkOut));
+        }
+
+        synchronized void remove(Integer reservationId) {
+            LocalDate checkIn = checkInByReservation.remove(reservationId);
+            if (checkIn == null) {
+                return;
+            }
+            Map<Integer, LocalDate> sameDay = byCheckIn.get(checkIn);
+            sameDay.remove(reservationId);
+            if (sameDay.isEmpty()) {
+                byCheckIn.remove(checkIn);
+            }
+        }
+
+        synchronized boolean overlaps(LocalDate from, LocalDate to, Integer excludeReservationId) {
+            LocalDate scanFrom = from.minusDays(maxNights);
+            if (scanFrom.isAfter(to)) {
+                return false;
+            }
+            for (Map<Integer, LocalDate> sameDay : byCheckIn.subMap(scanFrom, true, to, true).values()) {
+                for (Map.Entry<Integer, LocalDate> entry : sameDay.entrySet()) {
+                    if (!entry.getValue().isBefore(from) && !entry.getKey().equals(excludeReservationId)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
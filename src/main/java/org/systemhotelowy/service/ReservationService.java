@@ -1,12 +1,17 @@
 package org.systemhotelowy.service;
 
+import org.systemhotelowy.dto.OccupancyResponse;
+import org.systemhotelowy.dto.ReservationBatchItemResponse;
 import org.systemhotelowy.dto.ReservationRequest;
 import org.systemhotelowy.dto.ReservationResponse;
 import org.systemhotelowy.model.Reservation;
 import org.systemhotelowy.model.ReservationStatus;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.RoomType;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interfejs serwisu do zarządzania rezerwacjami.
@@ -43,12 +48,60 @@ public interface ReservationService {
      */
     List<Reservation> findActiveReservations();
 
+    // Odczyty tylko do serializacji - projekcje prosto do DTO, bez ładowania encji
+
+    List<ReservationResponse> findAllResponses();
+
+    ReservationResponse findResponseById(Integer id);
+
+    List<ReservationResponse> findResponsesByRoomId(Integer roomId);
+
+    List<ReservationResponse> findResponsesInPeriod(LocalDate startDate, LocalDate endDate);
+
+    List<ReservationResponse> findResponsesByStatus(ReservationStatus status);
+
+    List<ReservationResponse> findActiveResponses();
+
+    /**
+     * Strona wszystkich rezerwacji o ID większym niż afterId (keyset), maksymalnie limit pozycji.
+     */
+    List<ReservationResponse> findAllAfter(Integer afterId, int limit);
+
+    /**
+     * Strona rezerwacji w podanym okresie o ID większym niż afterId.
+     */
+    List<ReservationResponse> findReservationsInPeriodAfter(LocalDate startDate, LocalDate endDate, Integer afterId, int limit);
+
+    /**
+     * Strona rezerwacji o danym statusie o ID większym niż afterId.
+     */
+    List<ReservationResponse> findByStatusAfter(ReservationStatus status, Integer afterId, int limit);
+
+    /**
+     * Strona aktywnych rezerwacji (CONFIRMED lub CHECKED_IN) o ID większym niż afterId.
+     */
+    List<ReservationResponse> findActiveReservationsAfter(Integer afterId, int limit);
+
+    /**
+     * Przekazuje rezerwacje (posortowane po ID) do consumer w miarę odczytu z bazy, przy stałym zużyciu pamięci.
+     * Filtry status oraz okres (startDate + endDate) są opcjonalne.
+     */
+    void streamReservations(ReservationStatus status, LocalDate startDate, LocalDate endDate,
+                            Consumer<ReservationResponse> consumer);
+
     /**
      * Tworzy nową rezerwację.
      * Waliduje czy pokój jest dostępny w podanym okresie.
      */
     Reservation create(ReservationRequest request);
 
+    /**
+     * Tworzy wiele rezerwacji w jednej transakcji (import grupowy / channel manager).
+     * Pozycje są walidowane między sobą i względem istniejących rezerwacji; błędna pozycja nie blokuje pozostałych.
+     * Zwraca wynik dla każdej pozycji w kolejności żądania.
+     */
+    List<ReservationBatchItemResponse> createBatch(List<ReservationRequest> requests);
+
     /**
      * Aktualizuje istniejącą rezerwację.
      */
@@ -74,6 +127,22 @@ public interface ReservationService {
      */
     boolean isRoomAvailable(Integer roomId, LocalDate checkInDate, LocalDate checkOutDate, Integer excludeReservationId);
 
+    /**
+     * Znajduje wszystkie pokoje dostępne w podanym okresie.
+     * Opcjonalnie filtruje po typie pokoju i minimalnej pojemności (null = bez filtra).
+     */
+    List<Room> findAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate, RoomType type, Integer minCapacity);
+
+    /**
+     * Buduje macierz zajętości wszystkich pokoi dla okna [startDate, startDate + days).
+     */
+    OccupancyMatrix getOccupancy(LocalDate startDate, int days);
+
+    /**
+     * Konwertuje macierz zajętości na OccupancyResponse.
+     */
+    OccupancyResponse toOccupancyResponse(OccupancyMatrix matrix);
+
     /**
      * Konwertuje Reservation na ReservationResponse.
      */
@@ -0,0 +1,82 @@
+package org.systemhotelowy.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Blokady rezerwacji pokoi w pamięci JVM, podzielone na paski (striped locks) wg ID pokoju.
+ * Rezerwacje tego samego pokoju są wykonywane po kolei, rezerwacje różnych pokoi - równolegle
+ * (z dokładnością do kolizji pasków). Blokada jest trzymana do zakończenia bieżącej transakcji,
+ * więc kolejna rezerwacja widzi już zatwierdzone dane.
+ */
+@Service
+public class RoomBookingLocks {
+
+    private static final int STRIPES = 64;
+    private static final long LOCK_TIMEOUT_SECONDS = 10;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public RoomBookingLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Blokuje podane pokoje do końca bieżącej transakcji.
+     * Paski są zajmowane w stałej kolejności, więc blokowanie wielu pokoi naraz nie prowadzi do zakleszczeń.
+     * Poza transakcją metoda nic nie robi - ochronę zapewnia wtedy tylko blokada wiersza w bazie.
+     */
+    public void lockForTransaction(Collection<Integer> roomIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (Integer roomId : roomIds) {
+            stripes.add(stripeOf(roomId));
+        }
+
+        List<ReentrantLock> acquired = new ArrayList<>(stripes.size());
+        try {
+            for (Integer stripe : stripes) {
+                ReentrantLock lock = locks[stripe];
+                if (!lock.tryLock(LOCK_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Pokój jest właśnie rezerwowany przez innego użytkownika, spróbuj ponownie");
+                }
+                acquired.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired.forEach(ReentrantLock::unlock);
+            throw new IllegalStateException("Przerwano oczekiwanie na blokadę pokoju", e);
+        } catch (RuntimeException e) {
+            acquired.forEach(ReentrantLock::unlock);
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                acquired.forEach(ReentrantLock::unlock);
+            }
+        });
+    }
+
+    public void lockForTransaction(Integer roomId) {
+        lockForTransaction(List.of(roomId));
+    }
+
+    private int stripeOf(Integer roomId) {
+        return Math.floorMod(roomId.hashCode(), STRIPES);
+    }
+}
@@ -3,6 +3,7 @@ package org.systemhotelowy.service;
 import org.systemhotelowy.model.Room;
 import org.systemhotelowy.model.RoomStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,5 +22,10 @@ public interface RoomService {
 
     Room updateStatus(Integer id, RoomStatus status);
 
+    /**
+     * Ustawia status wielu pokoi w jednej transakcji. Zwraca zaktualizowane pokoje (nieistniejące ID są pomijane).
+     */
+    List<Room> updateStatuses(Collection<Integer> ids, RoomStatus status);
+
     long countRooms();
 }
@@ -0,0 +1,109 @@
+package org.systemhotelowy.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.systemhotelowy.repository.TaskDayCapacityRepository;
+
+import java.time.LocalDate;
+
+/**
+ * Rejestr dziennego limitu zadań (maksymalnie tyle zadań na dzień ile pokoi).
+ * Zamiast liczyć pokoje i zadania przy każdym utworzeniu, utrzymuje licznik per dzień zmieniany
+ * warunkowym UPDATE - sprawdzenie limitu i zajęcie miejsca to jedna atomowa instrukcja,
+ * więc dwa równoległe utworzenia nie mogą razem przekroczyć limitu.
+ * Operacje dołączają się do transakcji wywołującego - wycofanie zapisu zadania wycofuje też licznik.
+ */
+@Service
+@Transactional
+public class TaskCapacityLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCapacityLedger.class);
+
+    private final TaskDayCapacityRepository capacityRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskCapacityLedger(TaskDayCapacityRepository capacityRepository, PlatformTransactionManager transactionManager) {
+        this.capacityRepository = capacityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Liczniki mogą się rozjechać, jeśli zadania zmieniano poza aplikacją (albo przez kaskadowe usunięcia),
+     * dlatego przy starcie są kasowane i zakładane na nowo z tabeli tasks przy pierwszym użyciu dnia,
+     * a w trakcie działania okresowo uzgadniane przez {@link #reconcile()}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reset() {
+        int removed = capacityRepository.clear();
+        log.info("Rejestr limitu zadań wyczyszczony ({} dni), liczniki zostaną odbudowane przy pierwszym użyciu", removed);
+    }
+
+    /**
+     * Okresowe uzgodnienie liczników z tabelą tasks - koryguje rozjazd po usunięciach zadań z pominięciem
+     * TaskServiceImpl (np. kaskadowo razem z pokojem). Każdy dzień w osobnej krótkiej transakcji: najpierw blokada
+     * licznika (czeka na tworzenia/usunięcia w toku, nowe czekają na nas), dopiero potem liczenie zadań,
+     * więc odczyt widzi wszystkie zatwierdzone zmiany i korekta nie zaniża licznika.
+     */
+    @Scheduled(fixedDelayString = "${task.capacity.reconcile-interval-ms:300000}",
+            initialDelayString = "${task.capacity.reconcile-interval-ms:300000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reconcile() {
+        int corrected = 0;
+        for (LocalDate date : capacityRepository.findAllDates()) {
+            Boolean changed = transactionTemplate.execute(status -> reconcileDay(date));
+            if (Boolean.TRUE.equals(changed)) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.warn("Uzgodnienie rejestru limitu zadań skorygowało liczniki {} dni", corrected);
+        }
+    }
+
+    private boolean reconcileDay(LocalDate date) {
+        Integer counted = capacityRepository.lockCount(date);
+        if (counted == null) {
+            return false;
+        }
+        int actual = capacityRepository.countTasks(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        if (actual == counted) {
+            return false;
+        }
+        capacityRepository.setCount(date, actual);
+        return true;
+    }
+
+    /**
+     * Zajmuje count miejsc w limicie dnia lub rzuca IllegalStateException, gdy limit zostałby przekroczony.
+     */
+    public void reserve(LocalDate date, int count) {
+        if (count <= 0) {
+            return;
+        }
+        capacityRepository.initIfAbsent(date, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+        if (capacityRepository.tryIncrement(date, count) == 0) {
+            throw new IllegalStateException(
+                    "Nie można utworzyć zadania - osiągnięto limit tasków na dzień " + date +
+                            " (maksymalnie tyle tasków ile pokoi)."
+            );
+        }
+    }
+
+    /**
+     * Zwalnia count miejsc w limicie dnia (usunięcie lub przeniesienie zadania).
+     */
+    public void release(LocalDate date, int count) {
+        if (count <= 0) {
+            return;
+        }
+        capacityRepository.decrement(date, count);
+    }
+}
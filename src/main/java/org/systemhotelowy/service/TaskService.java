@@ -1,10 +1,13 @@
 package org.systemhotelowy.service;
 
 import org.systemhotelowy.dto.UserTaskCountResponse;
+import org.systemhotelowy.dto.UserWorkloadResponse;
 import org.systemhotelowy.model.Task;
+import org.systemhotelowy.model.User;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface TaskService {
@@ -12,6 +15,13 @@ public interface TaskService {
 
     List<Task> createBatch(List<Task> tasks);
 
+    /**
+     * Rozdziela zadania (z jednego dnia) między wszystkich sprzątających, minimalizując największe obciążenie
+     * i trzymając pokoje z jednego piętra razem. Uwzględnia zadania już zaplanowane na ten dzień.
+     * Ustawia assignedTo w zadaniach (bez zapisu) i zwraca łączne minuty na pracownika.
+     */
+    Map<User, Long> assignToCleaners(List<Task> tasks);
+
     Optional<Task> findById(Integer id);
 
     List<Task> findAll();
@@ -26,12 +36,23 @@ public interface TaskService {
 
     List<Task> findByAssignedToId(Integer userId);
 
+    /**
+     * Trasa sprzątającego na dany dzień: otwarte zadania (bez DONE i CANCELLED) ułożone tak,
+     * aby ograniczyć zmiany pięter, z zachowaniem scheduledAt i czasu trwania.
+     */
+    List<CleaningRoutePlanner.Stop> planRoute(Integer userId, LocalDate date);
+
     Task update(Task task);
 
     void deleteById(Integer id);
 
     List<UserTaskCountResponse> getTaskCountPerUser();
 
+    /**
+     * Obciążenie pracowników w dniach [from, to] (obie daty opcjonalne).
+     */
+    List<UserWorkloadResponse> getWorkloadPerUser(LocalDate from, LocalDate to);
+
     boolean canCreateTaskForDate(LocalDate date);
 
     boolean canCreateTasksForRoomsAndDate(List<Integer> roomIds, LocalDate date);
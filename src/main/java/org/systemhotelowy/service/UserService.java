@@ -1,5 +1,6 @@
 package org.systemhotelowy.service;
 
+import org.systemhotelowy.model.Role;
 import org.systemhotelowy.model.User;
 
 import java.util.List;
@@ -14,6 +15,8 @@ public interface UserService {
 
     Optional<User> findByEmail(String email);
 
+    List<User> findByRole(Role role);
+
     User update(User user);
 
     void deleteById(Integer id);
@@ -1,22 +1,45 @@
 package org.systemhotelowy.service.impl;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.systemhotelowy.dto.OccupancyResponse;
+import org.systemhotelowy.dto.ReservationBatchItemResponse;
 import org.systemhotelowy.dto.ReservationRequest;
 import org.systemhotelowy.dto.ReservationResponse;
+import org.systemhotelowy.dto.RoomOccupancyRow;
+import org.systemhotelowy.event.ReservationStatusChangedEvent;
 import org.systemhotelowy.exception.ResourceNotFoundException;
 import org.systemhotelowy.mapper.ReservationMapper;
 import org.systemhotelowy.model.Reservation;
 import org.systemhotelowy.model.ReservationStatus;
 import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.RoomType;
+import org.systemhotelowy.repository.ReservationBatchRepository;
 import org.systemhotelowy.repository.ReservationRepository;
 import org.systemhotelowy.repository.RoomRepository;
+import org.systemhotelowy.service.OccupancyMatrix;
+import org.systemhotelowy.service.ReservationAvailabilityIndex;
 import org.systemhotelowy.service.ReservationService;
+import org.systemhotelowy.service.RoomBookingLocks;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementacja serwisu do zarządzania rezerwacjami.
@@ -26,9 +49,18 @@ import java.util.stream.Collectors;
 @Transactional
 public class ReservationServiceImpl implements ReservationService {
 
+    private static final int MAX_OCCUPANCY_DAYS = 366;
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final ReservationRepository reservationRepository;
     private final RoomRepository roomRepository;
     private final ReservationMapper reservationMapper;
+    private final ReservationAvailabilityIndex availabilityIndex;
+    private final RoomBookingLocks roomBookingLocks;
+    private final ReservationBatchRepository reservationBatchRepository;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     private void validateGuestCount(ReservationRequest request, Room room) {
@@ -85,6 +117,105 @@ public class ReservationServiceImpl implements ReservationService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> findAllResponses() {
+        return reservationRepository.findAllResponses();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReservationResponse findResponseById(Integer id) {
+        return reservationRepository.findResponseById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Rezerwacja nie znaleziona: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> findResponsesByRoomId(Integer roomId) {
+        return reservationRepository.findResponsesByRoomId(roomId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> findResponsesInPeriod(LocalDate startDate, LocalDate endDate) {
+        return reservationRepository.findResponsesInPeriod(startDate, endDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> findResponsesByStatus(ReservationStatus status) {
+        return reservationRepository.findResponsesByStatus(status);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> findActiveResponses() {
+        return reservationRepository.findActiveResponses();
+    }
+
+    private Pageable keysetPage(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit musi być w zakresie 1-" + MAX_PAGE_SIZE);
+        }
+        return PageRequest.of(0, limit);
+    }
+
+    private Integer cursor(Integer afterId) {
+        return afterId != null ? afterId : 0;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> findAllAfter(Integer afterId, int limit) {
+        return reservationRepository.findPageAfter(cursor(afterId), keysetPage(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> findReservationsInPeriodAfter(LocalDate startDate, LocalDate endDate, Integer afterId, int limit) {
+        return reservationRepository.findPageInPeriodAfter(startDate, endDate, cursor(afterId), keysetPage(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> findByStatusAfter(ReservationStatus status, Integer afterId, int limit) {
+        return reservationRepository.findPageByStatusAfter(status, cursor(afterId), keysetPage(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> findActiveReservationsAfter(Integer afterId, int limit) {
+        return reservationRepository.findActivePageAfter(cursor(afterId), keysetPage(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamReservations(ReservationStatus status, LocalDate startDate, LocalDate endDate,
+                                   Consumer<ReservationResponse> consumer) {
+        try (Stream<ReservationResponse> stream = reservationRepository.streamFiltered(status, startDate, endDate)) {
+            stream.forEach(consumer);
+        }
+    }
+
+    /**
+     * Rezerwuje termin w pokoju w ramach bieżącej transakcji.
+     * Rezerwacje tego samego pokoju są serializowane blokadą w JVM oraz blokadą wiersza pokoju
+     * (SELECT ... FOR UPDATE), obie trzymane do końca transakcji. Różne pokoje nie blokują się nawzajem.
+     */
+    private void lockAndCheckAvailability(Integer roomId, LocalDate checkInDate, LocalDate checkOutDate,
+                                          Integer excludeReservationId) {
+        roomBookingLocks.lockForTransaction(roomId);
+        roomRepository.lockById(roomId);
+
+        if (!isRoomAvailable(roomId, checkInDate, checkOutDate, excludeReservationId)) {
+            throw new IllegalArgumentException("Pokój jest już zarezerwowany w tym okresie");
+        }
+        // Indeks w pamięci jest szybkim filtrem, ostateczną weryfikację robi baza
+        confirmAvailabilityInDatabase(roomId, checkInDate, checkOutDate, excludeReservationId);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Reservation create(ReservationRequest request) {
         // Walidacja dat
         if (request.getCheckInDate().isAfter(request.getCheckOutDate())) {
@@ -102,10 +233,8 @@ public class ReservationServiceImpl implements ReservationService {
         // liczba gości ≤ pojemność pokoju
         validateGuestCount(request, room);
 
-        // Sprawdź czy pokój jest dostępny
-        if (!isRoomAvailable(request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate())) {
-            throw new IllegalArgumentException("Pokój jest już zarezerwowany w tym okresie");
-        }
+        // Sprawdź czy pokój jest dostępny (z blokadą pokoju do końca transakcji)
+        lockAndCheckAvailability(request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate(), null);
 
         // Utwórz rezerwację
         Reservation reservation = reservationMapper.toEntity(request);
@@ -115,10 +244,137 @@ public class ReservationServiceImpl implements ReservationService {
             reservation.setStatus(ReservationStatus.PENDING);
         }
 
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        availabilityIndex.register(saved);
+        return saved;
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<ReservationBatchItemResponse> createBatch(List<ReservationRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Maksymalna liczba rezerwacji we wsadzie to " + MAX_BATCH_SIZE);
+        }
+
+        ReservationBatchItemResponse[] results = new ReservationBatchItemResponse[requests.size()];
+        LocalDate today = LocalDate.now();
+
+        // 1. Walidacja pojedynczych pozycji (bez bazy)
+        TreeSet<Integer> roomIds = new TreeSet<>();
+        LocalDate minDate = null;
+        LocalDate maxDate = null;
+        for (int i = 0; i < requests.size(); i++) {
+            ReservationRequest request = requests.get(i);
+            String error = validateBatchItem(request, today);
+            if (error != null) {
+                results[i] = ReservationBatchItemResponse.failure(i, error);
+                continue;
+            }
+            roomIds.add(request.getRoomId());
+            minDate = minDate == null || request.getCheckInDate().isBefore(minDate) ? request.getCheckInDate() : minDate;
+            maxDate = maxDate == null || request.getCheckOutDate().isAfter(maxDate) ? request.getCheckOutDate() : maxDate;
+        }
+
+        if (roomIds.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // 2. Blokada i pobranie wszystkich pokoi jednym zapytaniem
+        roomBookingLocks.lockForTransaction(roomIds);
+        Map<Integer, Room> rooms = roomRepository.lockAllByIdIn(roomIds).stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+
+        // 3. Istniejące aktywne rezerwacje tych pokoi w łącznym okresie - jednym zapytaniem
+        Map<Integer, List<LocalDate[]>> takenByRoom = new HashMap<>();
+        for (Object[] row : reservationRepository.findActiveReservationRangesForRooms(roomIds, minDate, maxDate)) {
+            takenByRoom.computeIfAbsent((Integer) row[1], id -> new ArrayList<>())
+                    .add(new LocalDate[]{(LocalDate) row[2], (LocalDate) row[3]});
+        }
+
+        // 4. Walidacja względem bazy i wcześniejszych pozycji wsadu (wcześniejsza pozycja wygrywa)
+        List<Reservation> toInsert = new ArrayList<>();
+        List<Integer> insertIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            ReservationRequest request = requests.get(i);
+            Room room = rooms.get(request.getRoomId());
+            if (room == null) {
+                results[i] = ReservationBatchItemResponse.failure(i, "Pokój nie znaleziony: " + request.getRoomId());
+                continue;
+            }
+            try {
+                validateGuestCount(request, room);
+            } catch (IllegalArgumentException e) {
+                results[i] = ReservationBatchItemResponse.failure(i, e.getMessage());
+                continue;
+            }
+
+            List<LocalDate[]> taken = takenByRoom.computeIfAbsent(room.getId(), id -> new ArrayList<>());
+            if (overlapsAny(taken, request.getCheckInDate(), request.getCheckOutDate())) {
+                results[i] = ReservationBatchItemResponse.failure(i, "Pokój jest już zarezerwowany w tym okresie");
+                continue;
+            }
+
+            Reservation reservation = reservationMapper.toEntity(request);
+            reservation.setRoom(room);
+            if (reservation.getStatus() == null) {
+                reservation.setStatus(ReservationStatus.PENDING);
+            }
+            if (ReservationAvailabilityIndex.isActive(reservation.getStatus())) {
+                taken.add(new LocalDate[]{request.getCheckInDate(), request.getCheckOutDate()});
+            }
+            toInsert.add(reservation);
+            insertIndexes.add(i);
+        }
+
+        // 5. Zapis jednym batchem JDBC
+        reservationBatchRepository.insertAll(toInsert);
+        for (int k = 0; k < toInsert.size(); k++) {
+            Reservation saved = toInsert.get(k);
+            int index = insertIndexes.get(k);
+            results[index] = ReservationBatchItemResponse.success(index, reservationMapper.toResponse(saved));
+            availabilityIndex.register(saved);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private String validateBatchItem(ReservationRequest request, LocalDate today) {
+        if (request == null) {
+            return "Pusta pozycja";
+        }
+        var violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (request.getCheckInDate().isAfter(request.getCheckOutDate())) {
+            return "Data wymeldowania musi być późniejsza niż data zameldowania";
+        }
+        if (request.getCheckInDate().isBefore(today)) {
+            return "Data zameldowania nie może być w przeszłości";
+        }
+        return null;
+    }
+
+    private boolean overlapsAny(List<LocalDate[]> ranges, LocalDate checkInDate, LocalDate checkOutDate) {
+        for (LocalDate[] range : ranges) {
+            if (!range[0].isAfter(checkOutDate) && !range[1].isBefore(checkInDate)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Reservation update(Integer id, ReservationRequest request) {
         Reservation existing = findById(id);
 
@@ -128,14 +384,15 @@ public class ReservationServiceImpl implements ReservationService {
         }
 
         boolean roomChanged = !existing.getRoom().getId().equals(request.getRoomId());
+        boolean datesChanged = !existing.getCheckInDate().equals(request.getCheckInDate())
+                || !existing.getCheckOutDate().equals(request.getCheckOutDate());
+        ReservationStatus oldStatus = existing.getStatus();
+        ReservationStatus newStatus = request.getStatus() != null ? request.getStatus() : existing.getStatus();
 
-        if (roomChanged) {
-            if (!isRoomAvailable(request.getRoomId(),
-                    request.getCheckInDate(),
-                    request.getCheckOutDate(),
-                    id)) {
-                throw new IllegalArgumentException("Pokój jest już zarezerwowany w tym okresie");
-            }
+        boolean reactivated = !ReservationAvailabilityIndex.isActive(existing.getStatus());
+
+        if ((roomChanged || datesChanged || reactivated) && ReservationAvailabilityIndex.isActive(newStatus)) {
+            lockAndCheckAvailability(request.getRoomId(), request.getCheckInDate(), request.getCheckOutDate(), id);
         }
 
         if (roomChanged) {
@@ -153,20 +410,44 @@ public class ReservationServiceImpl implements ReservationService {
         // Aktualizuj pozostałe pola z DTO
         reservationMapper.updateEntityFromRequest(request, existing);
 
-        return reservationRepository.save(existing);
+        Reservation saved = reservationRepository.save(existing);
+        availabilityIndex.register(saved);
+        publishStatusChange(saved, oldStatus);
+        return saved;
     }
 
     @Override
     public void delete(Integer id) {
         Reservation reservation = findById(id);
         reservationRepository.delete(reservation);
+        availabilityIndex.unregister(id);
     }
 
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Reservation changeStatus(Integer id, ReservationStatus newStatus) {
         Reservation reservation = findById(id);
+        ReservationStatus oldStatus = reservation.getStatus();
+        // Przywrócenie anulowanej/zakończonej rezerwacji zajmuje pokój ponownie
+        if (!ReservationAvailabilityIndex.isActive(reservation.getStatus()) && ReservationAvailabilityIndex.isActive(newStatus)) {
+            lockAndCheckAvailability(reservation.getRoom().getId(), reservation.getCheckInDate(),
+                    reservation.getCheckOutDate(), id);
+        }
         reservation.setStatus(newStatus);
-        return reservationRepository.save(reservation);
+        Reservation saved = reservationRepository.save(reservation);
+        availabilityIndex.register(saved);
+        publishStatusChange(saved, oldStatus);
+        return saved;
+    }
+
+    /**
+     * Publikuje zdarzenie zmiany statusu; słuchacze (np. CheckoutCleaningPipeline) obsługują je po commicie.
+     */
+    private void publishStatusChange(Reservation reservation, ReservationStatus oldStatus) {
+        if (oldStatus != reservation.getStatus()) {
+            eventPublisher.publishEvent(new ReservationStatusChangedEvent(
+                    reservation.getId(), reservation.getRoom().getId(), oldStatus, reservation.getStatus()));
+        }
     }
 
     @Override
@@ -179,16 +460,55 @@ public class ReservationServiceImpl implements ReservationService {
     @Transactional(readOnly = true)
     public boolean isRoomAvailable(Integer roomId, LocalDate checkInDate, LocalDate checkOutDate,
                                    Integer excludeReservationId) {
-        List<Reservation> overlapping = reservationRepository.findOverlappingReservations(
-                roomId, checkInDate, checkOutDate);
+        if (availabilityIndex.isReady()) {
+            return availabilityIndex.isAvailable(roomId, checkInDate, checkOutDate, excludeReservationId);
+        }
+        return !reservationRepository.existsOverlappingReservation(
+                roomId, checkInDate, checkOutDate, excludeReservationId);
+    }
+
+    private void confirmAvailabilityInDatabase(Integer roomId, LocalDate checkInDate, LocalDate checkOutDate,
+                                               Integer excludeReservationId) {
+        if (availabilityIndex.isReady()
+                && reservationRepository.existsOverlappingReservation(roomId, checkInDate, checkOutDate, excludeReservationId)) {
+            throw new IllegalArgumentException("Pokój jest już zarezerwowany w tym okresie");
+        }
+    }
 
-        if (excludeReservationId != null) {
-            overlapping = overlapping.stream()
-                    .filter(r -> !r.getId().equals(excludeReservationId))
-                    .toList();
+    @Override
+    @Transactional(readOnly = true)
+    public List<Room> findAvailableRooms(LocalDate checkInDate, LocalDate checkOutDate, RoomType type,
+                                         Integer minCapacity) {
+        if (checkInDate.isAfter(checkOutDate)) {
+            throw new IllegalArgumentException("Data wymeldowania musi być późniejsza niż data zameldowania");
         }
+        return roomRepository.findAvailableRooms(checkInDate, checkOutDate, type, minCapacity);
+    }
 
-        return overlapping.isEmpty();
+    @Override
+    @Transactional(readOnly = true)
+    public OccupancyMatrix getOccupancy(LocalDate startDate, int days) {
+        if (days < 1 || days > MAX_OCCUPANCY_DAYS) {
+            throw new IllegalArgumentException("Liczba dni musi być w zakresie 1-" + MAX_OCCUPANCY_DAYS);
+        }
+        List<Room> rooms = roomRepository.findAll();
+        List<Reservation> reservations = reservationRepository.findReservationsInPeriod(
+                startDate, startDate.plusDays(days - 1));
+        return OccupancyMatrix.build(rooms, reservations, startDate, days);
+    }
+
+    @Override
+    public OccupancyResponse toOccupancyResponse(OccupancyMatrix matrix) {
+        List<RoomOccupancyRow> rows = new ArrayList<>(matrix.getRooms().size());
+        for (Room room : matrix.getRooms()) {
+            Integer[] reservationIds = new Integer[matrix.getDays()];
+            for (int day = 0; day < matrix.getDays(); day++) {
+                Reservation reservation = matrix.get(room.getId(), matrix.getStartDate().plusDays(day));
+                reservationIds[day] = reservation != null ? reservation.getId() : null;
+            }
+            rows.add(new RoomOccupancyRow(room.getId(), room.getNumber(), reservationIds));
+        }
+        return new OccupancyResponse(matrix.getStartDate(), matrix.getDays(), rows);
     }
 
     @Override
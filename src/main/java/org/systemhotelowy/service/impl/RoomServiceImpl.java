@@ -6,8 +6,10 @@ import org.systemhotelowy.exception.ResourceNotFoundException;
 import org.systemhotelowy.model.Room;
 import org.systemhotelowy.model.RoomStatus;
 import org.systemhotelowy.repository.RoomRepository;
+import org.systemhotelowy.service.KpiCounters;
 import org.systemhotelowy.service.RoomService;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,14 +18,18 @@ import java.util.Optional;
 public class RoomServiceImpl implements RoomService {
 
     private final RoomRepository roomRepository;
+    private final KpiCounters kpiCounters;
 
-    public RoomServiceImpl(RoomRepository roomRepository) {
+    public RoomServiceImpl(RoomRepository roomRepository, KpiCounters kpiCounters) {
         this.roomRepository = roomRepository;
+        this.kpiCounters = kpiCounters;
     }
 
     @Override
     public Room create(Room room) {
-        return roomRepository.save(room);
+        Room saved = roomRepository.save(room);
+        kpiCounters.roomChanged(null, saved.getRoomStatus());
+        return saved;
     }
 
     @Override
@@ -52,6 +58,7 @@ public class RoomServiceImpl implements RoomService {
         }
         Room existing = roomRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Room with id " + id + " not found."));
+        RoomStatus oldStatus = existing.getRoomStatus();
 
         existing.setNumber(room.getNumber());
         existing.setFloor(room.getFloor());
@@ -59,25 +66,38 @@ public class RoomServiceImpl implements RoomService {
         existing.setRoomStatus(room.getRoomStatus());
         existing.setCapacity(room.getCapacity());
 
-        return roomRepository.save(existing);
+        Room saved = roomRepository.save(existing);
+        kpiCounters.roomChanged(oldStatus, saved.getRoomStatus());
+        return saved;
     }
 
     @Override
     public void deleteById(Integer id) {
-        if (!roomRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Room with id " + id + " not found.");
-        }
-        roomRepository.deleteById(id);
+        Room room = roomRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Room with id " + id + " not found."));
+        roomRepository.delete(room);
+        kpiCounters.roomChanged(room.getRoomStatus(), null);
     }
 
     @Override
     public Room updateStatus(Integer id, RoomStatus status) {
         Room room = roomRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Room with id " + id + " not found."));
+        kpiCounters.roomChanged(room.getRoomStatus(), status);
         room.setRoomStatus(status);
         return roomRepository.save(room);
     }
 
+    @Override
+    public List<Room> updateStatuses(Collection<Integer> ids, RoomStatus status) {
+        List<Room> rooms = roomRepository.findAllById(ids);
+        for (Room room : rooms) {
+            kpiCounters.roomChanged(room.getRoomStatus(), status);
+            room.setRoomStatus(status);
+        }
+        return roomRepository.saveAll(rooms);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public long countRooms() {
@@ -1,18 +1,36 @@
 package org.systemhotelowy.service.impl;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.systemhotelowy.dto.UserTaskCountResponse;
+import org.systemhotelowy.dto.UserWorkloadResponse;
+import org.systemhotelowy.model.Role;
 import org.systemhotelowy.model.Task;
+import org.systemhotelowy.model.TaskStatus;
+import org.systemhotelowy.model.User;
 import org.systemhotelowy.repository.RoomRepository;
+import org.systemhotelowy.repository.TaskBatchRepository;
 import org.systemhotelowy.repository.TaskRepository;
 import org.systemhotelowy.repository.UserRepository;
+import org.systemhotelowy.service.CleaningAssignmentPlanner;
+import org.systemhotelowy.service.CleaningRoutePlanner;
+import org.systemhotelowy.service.KpiCounters;
+import org.systemhotelowy.service.TaskCapacityLedger;
 import org.systemhotelowy.service.TaskService;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -21,23 +39,30 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
+    private final TaskBatchRepository taskBatchRepository;
+    private final TaskCapacityLedger capacityLedger;
+    private final KpiCounters kpiCounters;
+    private final Validator validator;
 
-    public TaskServiceImpl(TaskRepository taskRepository, RoomRepository roomRepository, UserRepository userRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, RoomRepository roomRepository, UserRepository userRepository,
+                           TaskBatchRepository taskBatchRepository, TaskCapacityLedger capacityLedger,
+                           KpiCounters kpiCounters, Validator validator) {
         this.taskRepository = taskRepository;
         this.roomRepository = roomRepository;
         this.userRepository = userRepository;
+        this.taskBatchRepository = taskBatchRepository;
+        this.capacityLedger = capacityLedger;
+        this.kpiCounters = kpiCounters;
+        this.validator = validator;
     }
 
     @Override
     public Task create(Task task) {
-        LocalDate taskDate = task.getScheduledAt().toLocalDate();
-        if (!canCreateTaskForDate(taskDate)) {
-            throw new IllegalStateException(
-                    "Nie można utworzyć zadania - osiągnięto limit tasków na dzień " + taskDate +
-                            " (maksymalnie tyle tasków ile pokoi)."
-            );
-        }
-        return taskRepository.save(task);
+        // Zajęcie miejsca w limicie dnia (rzuca IllegalStateException po przekroczeniu)
+        capacityLedger.reserve(task.getScheduledAt().toLocalDate(), 1);
+        Task saved = taskRepository.save(task);
+        kpiCounters.taskAdded(userIdOf(saved), saved.getStatus());
+        return saved;
     }
 
     @Override
@@ -70,13 +95,13 @@ public class TaskServiceImpl implements TaskService {
     @Override
     @Transactional(readOnly = true)
     public List<Task> findByRoomIdAndDate(Integer roomId, LocalDate date) {
-        return taskRepository.findByRoomIdAndDate(roomId, date);
+        return taskRepository.findByRoomIdAndScheduledAtRange(roomId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Task> findByDate(LocalDate date) {
-        return taskRepository.findByDate(date);
+        return taskRepository.findByScheduledAtRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
     }
 
     @Override
@@ -85,6 +110,19 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findByAssignedToId(userId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CleaningRoutePlanner.Stop> planRoute(Integer userId, LocalDate date) {
+        List<Task> open = new ArrayList<>();
+        for (Task task : taskRepository.findByAssignedToIdAndScheduledAtRange(
+                userId, date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+            if (task.getStatus() != TaskStatus.DONE && task.getStatus() != TaskStatus.CANCELLED) {
+                open.add(task);
+            }
+        }
+        return CleaningRoutePlanner.plan(open);
+    }
+
     @Override
     public Task update(Task task) {
         Integer id = task.getId();
@@ -94,6 +132,17 @@ public class TaskServiceImpl implements TaskService {
         Task existing = taskRepository.findById(id)
                 .orElseThrow(() -> new IllegalStateException("Task with id " + id + " not found."));
 
+        // Przeniesienie na inny dzień: zajmij miejsce w nowym dniu, zwolnij w starym
+        LocalDate oldDate = existing.getScheduledAt().toLocalDate();
+        LocalDate newDate = task.getScheduledAt().toLocalDate();
+        if (!oldDate.equals(newDate)) {
+            capacityLedger.reserve(newDate, 1);
+            capacityLedger.release(oldDate, 1);
+        }
+
+        Integer oldUserId = userIdOf(existing);
+        TaskStatus oldStatus = existing.getStatus();
+
         existing.setDescription(task.getDescription());
         existing.setRemarks(task.getRemarks());
         existing.setStatus(task.getStatus());
@@ -103,41 +152,43 @@ public class TaskServiceImpl implements TaskService {
         existing.setRequestedBy(task.getRequestedBy());
         existing.setRoom(task.getRoom());
 
-        return taskRepository.save(existing);
+        Task saved = taskRepository.save(existing);
+        kpiCounters.taskChanged(oldUserId, oldStatus, userIdOf(saved), saved.getStatus());
+        return saved;
     }
 
     @Override
     public void deleteById(Integer id) {
-        taskRepository.deleteById(id);
+        taskRepository.findById(id).ifPresent(task -> {
+            capacityLedger.release(task.getScheduledAt().toLocalDate(), 1);
+            taskRepository.delete(task);
+            kpiCounters.taskRemoved(userIdOf(task), task.getStatus());
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<UserTaskCountResponse> getTaskCountPerUser() {
-        List<Object[]> results = taskRepository.countTasksGroupedByUser();
-        List<UserTaskCountResponse> responses = new ArrayList<>();
-
-        for (Object[] result : results) {
-            Integer userId = (Integer) result[0];
-            Long count = (Long) result[1];
-
-            userRepository.findById(userId).ifPresent(user -> responses.add(new UserTaskCountResponse(
-                    user.getId(),
-                    user.getFirstName(),
-                    user.getLastName(),
-                    user.getEmail(),
-                    count
-            )));
-        }
+        return taskRepository.countTasksPerUser();
+    }
 
-        return responses;
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserWorkloadResponse> getWorkloadPerUser(LocalDate from, LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("Data końcowa nie może być wcześniejsza niż początkowa");
+        }
+        return taskRepository.findWorkloadPerUser(
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null
+        );
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean canCreateTaskForDate(LocalDate date) {
         long roomCount = roomRepository.count();
-        long taskCountForDate = taskRepository.countTasksByDate(date);
+        long taskCountForDate = taskRepository.countByScheduledAtRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
         return taskCountForDate < roomCount;
     }
 
@@ -148,21 +199,71 @@ public class TaskServiceImpl implements TaskService {
             return List.of();
         }
 
-        // Walidacja zadań przed zapisem
+        // Bean Validation jak przy saveAll - zapis przez JDBC jej nie wykonuje
+        for (int i = 0; i < tasks.size(); i++) {
+            Set<ConstraintViolation<Task>> violations = validator.validate(tasks.get(i));
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException("Niepoprawne zadanie nr " + (i + 1) + " w paczce: " +
+                        violations.stream()
+                                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                                .sorted()
+                                .collect(Collectors.joining("; ")));
+            }
+        }
+
+        // Walidacja zadań przed zapisem - jedno zapytanie na każdy dzień występujący w paczce
+        Map<LocalDate, List<Task>> tasksByDate = new LinkedHashMap<>();
         for (Task task : tasks) {
-            LocalDate taskDate = task.getScheduledAt().toLocalDate();
-            Integer roomId = task.getRoom().getId();
+            tasksByDate.computeIfAbsent(task.getScheduledAt().toLocalDate(), d -> new ArrayList<>()).add(task);
+        }
 
-            // Sprawdź czy pokój nie ma już zadania na ten dzień
-            if (!taskRepository.findByRoomIdAndDate(roomId, taskDate).isEmpty()) {
+        for (Map.Entry<LocalDate, List<Task>> entry : tasksByDate.entrySet()) {
+            LocalDate taskDate = entry.getKey();
+            Map<Integer, Task> taskByRoomId = new HashMap<>();
+            for (Task task : entry.getValue()) {
+                if (taskByRoomId.put(task.getRoom().getId(), task) != null) {
+                    throw new IllegalStateException(
+                            "Pokój " + task.getRoom().getNumber() + " występuje w paczce kilka razy na dzień " + taskDate
+                    );
+                }
+            }
+
+            // Sprawdź czy któryś pokój nie ma już zadania na ten dzień
+            Set<Integer> occupied = findRoomIdsWithTasksOn(taskByRoomId.keySet(), taskDate);
+            if (!occupied.isEmpty()) {
+                Task task = taskByRoomId.get(occupied.iterator().next());
                 throw new IllegalStateException(
                         "Pokój " + task.getRoom().getNumber() + " ma już zadanie na dzień " + taskDate
                 );
             }
         }
 
-        // Zapisz wszystkie zadania (requestedBy powinien być już ustawiony w warstwie UI)
-        return taskRepository.saveAll(tasks);
+        tasksByDate.forEach((date, dayTasks) -> capacityLedger.reserve(date, dayTasks.size()));
+
+        // Zapisz wszystkie zadania jednym batchem (requestedBy powinien być już ustawiony w warstwie UI)
+        taskBatchRepository.insertAll(tasks);
+        for (Task task : tasks) {
+            kpiCounters.taskAdded(userIdOf(task), task.getStatus());
+        }
+        return tasks;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<User, Long> assignToCleaners(List<Task> tasks) {
+        if (tasks == null || tasks.isEmpty()) {
+            return Map.of();
+        }
+        List<User> cleaners = userRepository.findByRoleOrderByIdAsc(Role.CLEANER);
+
+        LocalDate day = tasks.get(0).getScheduledAt().toLocalDate();
+        Map<Integer, Long> scheduledMinutes = new HashMap<>();
+        for (UserWorkloadResponse workload : taskRepository.findWorkloadPerUser(
+                day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+            scheduledMinutes.put(workload.getUserId(), workload.getTotalMinutes());
+        }
+
+        return CleaningAssignmentPlanner.assign(tasks, cleaners, scheduledMinutes);
     }
 
     @Override
@@ -173,13 +274,15 @@ public class TaskServiceImpl implements TaskService {
         }
 
         // Sprawdź czy któryś z pokoi ma już zadanie na ten dzień
-        for (Integer roomId : roomIds) {
-            List<Task> existingTasks = taskRepository.findByRoomIdAndDate(roomId, date);
-            if (!existingTasks.isEmpty()) {
-                return false; // Pokój ma już zadanie na ten dzień
-            }
-        }
+        return findRoomIdsWithTasksOn(roomIds, date).isEmpty();
+    }
+
+    private static Integer userIdOf(Task task) {
+        return task.getAssignedTo() != null ? task.getAssignedTo().getId() : null;
+    }
 
-        return true;
+    private Set<Integer> findRoomIdsWithTasksOn(Collection<Integer> roomIds, LocalDate date) {
+        return new HashSet<>(taskRepository.findRoomIdsWithTasksBetween(
+                roomIds, date.atStartOfDay(), date.plusDays(1).atStartOfDay()));
     }
 }
@@ -5,6 +5,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.systemhotelowy.exception.ResourceNotFoundException;
+import org.systemhotelowy.model.Role;
 import org.systemhotelowy.model.User;
 import org.systemhotelowy.repository.UserRepository;
 import org.systemhotelowy.service.UserService;
@@ -51,6 +52,12 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByEmail(email);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> findByRole(Role role) {
+        return userRepository.findByRoleOrderByIdAsc(role);
+    }
+
     @Override
     public User update(User user) {
         Integer id = user.getId();
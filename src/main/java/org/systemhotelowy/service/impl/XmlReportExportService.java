@@ -1,34 +1,34 @@
 package org.systemhotelowy.service.impl;
 
-import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
-import jakarta.xml.bind.Marshaller;
-import jakarta.xml.bind.Unmarshaller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.systemhotelowy.dto.report.HotelReportDto;
 import org.systemhotelowy.dto.report.HotelReportImportSummaryDto;
 import org.systemhotelowy.dto.report.RoomReportEntry;
 import org.systemhotelowy.dto.report.TaskReportEntry;
+import org.systemhotelowy.model.Reservation;
 import org.systemhotelowy.model.Room;
-import org.systemhotelowy.model.RoomStatus;
 import org.systemhotelowy.model.Task;
-import org.systemhotelowy.model.TaskStatus;
+import org.systemhotelowy.service.RangeReportStreamer;
 import org.systemhotelowy.service.ReportExportService;
+import org.systemhotelowy.service.ReportFormat;
+import org.systemhotelowy.service.ReportImporter;
+import org.systemhotelowy.service.ReportStreamer;
+import org.systemhotelowy.service.ReportXmlContext;
+import org.systemhotelowy.service.ReservationService;
 import org.systemhotelowy.service.RoomService;
 import org.systemhotelowy.service.TaskService;
-import org.systemhotelowy.service.UserService;
 
-import javax.xml.XMLConstants;
-import javax.xml.transform.stream.StreamSource;
-import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
-import javax.xml.validation.Validator;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
@@ -40,7 +40,19 @@ public class XmlReportExportService implements ReportExportService {
 
     private final RoomService roomService;
     private final TaskService taskService;
-    private final UserService userService;
+    private final ReportImporter reportImporter;
+    private final ReservationService reservationService;
+    private final ReportStreamer reportStreamer;
+    private final RangeReportStreamer rangeReportStreamer;
+
+    /**
+     * Wymusza utworzenie JAXBContext i kompilację XSD przy starcie, a nie przy pierwszym raporcie.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ReportXmlContext.schema();
+        log.info("Report XML context ready (schema {})", ReportXmlContext.SCHEMA_PATH);
+    }
 
     /**
      * Eksport dziennego raportu hotelowego do XML (używany przez GET /api/reports/daily/xml).
@@ -52,107 +64,25 @@ public class XmlReportExportService implements ReportExportService {
     }
 
     /**
-     * Import dziennego raportu hotelowego z XML (używany przez POST /api/reports/daily/xml/import).
-     * Waliduje XML względem XSD, deserializuje do HotelReportDto, następnie zwraca podsumowanie.
+     * Strumieniowy eksport raportu dziennego; format wybiera writer (XML z walidacją XSD, CSV, NDJSON).
      */
-    public HotelReportImportSummaryDto importDailyReport(byte[] xmlBytes) {
-        try {
-            // 1. Walidacja względem XSD
-            validateAgainstSchema(xmlBytes);
-
-            // 2. Deserializacja XML -> HotelReportDto
-            JAXBContext context = JAXBContext.newInstance(HotelReportDto.class);
-            Unmarshaller unmarshaller = context.createUnmarshaller();
-
-            HotelReportDto dto = (HotelReportDto)
-                    unmarshaller.unmarshal(new ByteArrayInputStream(xmlBytes));
-
-            // 2a. Przetworzenie danych (aktualizacja bazy)
-            processImportedData(dto);
-
-            // 3. Zbudowanie podsumowania
-            HotelReportImportSummaryDto summary = new HotelReportImportSummaryDto();
-            summary.setDate(dto.getDate());
-            summary.setRoomsCount(dto.getRooms() != null ? dto.getRooms().size() : 0);
-            summary.setTasksCount(dto.getTasks() != null ? dto.getTasks().size() : 0);
-            summary.setReservationsCount(dto.getReservations() != null ? dto.getReservations().size() : 0);
-
-            return summary;
-        } catch (Exception e) {
-            log.error("Failed to import XML daily report", e);
-            throw new IllegalArgumentException("Could not import XML daily report", e);
-        }
+    @Override
+    public void exportDailyReport(LocalDate date, ReportFormat format, OutputStream out) {
+        reportStreamer.writeDaily(date, format.newWriter(out));
+    }
+
+    @Override
+    public void exportRangeReport(LocalDate from, LocalDate to, ReportFormat format, OutputStream out) {
+        rangeReportStreamer.writeRange(from, to, format.newWriter(out));
     }
 
     /**
-     * Aktualizuje stan bazy danych na podstawie zaimportowanego raportu.
+     * Import dziennego raportu hotelowego z XML (używany przez panel kierownika).
+     * Strumieniowy import z walidacją XSD i zapisem paczkami - patrz ReportImporter.
      */
-    private void processImportedData(HotelReportDto dto) {
-        // 1. Aktualizacja pokoi
-        if (dto.getRooms() != null) {
-            for (RoomReportEntry roomEntry : dto.getRooms()) {
-                if (roomEntry.getId() != null) {
-                    roomService.findById(roomEntry.getId()).ifPresent(room -> {
-                        boolean changed = false;
-                        // Aktualizacja statusu
-                        if (roomEntry.getStatus() != null) {
-                            try {
-                                RoomStatus newStatus = RoomStatus.valueOf(roomEntry.getStatus());
-                                if (room.getRoomStatus() != newStatus) {
-                                    room.setRoomStatus(newStatus);
-                                    changed = true;
-                                }
-                            } catch (IllegalArgumentException e) {
-                                log.warn("Invalid room status in import: {}", roomEntry.getStatus());
-                            }
-                        }
-                        
-                        if (changed) {
-                            roomService.update(room);
-                        }
-                    });
-                }
-            }
-        }
-
-        // 2. Aktualizacja zadań
-        if (dto.getTasks() != null) {
-            for (TaskReportEntry taskEntry : dto.getTasks()) {
-                if (taskEntry.getId() != null) {
-                    taskService.findById(taskEntry.getId()).ifPresent(task -> {
-                        boolean changed = false;
-                        // Aktualizacja statusu
-                        if (taskEntry.getStatus() != null) {
-                            try {
-                                TaskStatus newStatus = TaskStatus.valueOf(taskEntry.getStatus());
-                                if (task.getStatus() != newStatus) {
-                                    task.setStatus(newStatus);
-                                    changed = true;
-                                }
-                            } catch (IllegalArgumentException e) {
-                                log.warn("Invalid task status in import: {}", taskEntry.getStatus());
-                            }
-                        }
-
-                        // Aktualizacja przypisanego użytkownika (opcjonalnie)
-                        if (taskEntry.getAssignedToEmail() != null) {
-                            userService.findByEmail(taskEntry.getAssignedToEmail()).ifPresent(user -> {
-                                if (!user.equals(task.getAssignedTo())) {
-                                    task.setAssignedTo(user);
-                                    // changed = true; // Zmienna lokalna w lambdzie musi być finalna lub effectively final
-                                    // W tym przypadku musimy wymusić update, jeśli zmieniliśmy usera
-                                    taskService.update(task); 
-                                }
-                            });
-                        }
-
-                        if (changed) {
-                            taskService.update(task);
-                        }
-                    });
-                }
-            }
-        }
+    @Override
+    public HotelReportImportSummaryDto importDailyReport(byte[] xmlBytes) {
+        return reportImporter.importReport(new ByteArrayInputStream(xmlBytes));
     }
 
     /**
@@ -189,52 +119,29 @@ public class XmlReportExportService implements ReportExportService {
                 ))
                 .forEach(dto.getTasks()::add);
 
-        // reservations – na razie puste
+        // reservations obejmujące dany dzień
+        List<Reservation> reservations = reservationService != null
+                ? reservationService.findReservationsInPeriod(date, date)
+                : List.of();
+        reservations.stream()
+                .sorted(Comparator.comparing(Reservation::getId))
+                .map(ReportStreamer::toEntry)
+                .forEach(dto.getReservations()::add);
+
         return dto;
     }
 
     /**
-     * Serializacja DTO -> XML + walidacja względem XSD.
+     * Serializacja DTO -> XML z walidacją względem XSD w trakcie zapisu (resources/xsd/hotel-report.xsd).
      */
     private byte[] marshalToXml(HotelReportDto reportDto) {
         try {
-            JAXBContext context = JAXBContext.newInstance(HotelReportDto.class);
-            Marshaller marshaller = context.createMarshaller();
-            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-
             ByteArrayOutputStream out = new ByteArrayOutputStream();
-            marshaller.marshal(reportDto, out);
-            byte[] xmlBytes = out.toByteArray();
-
-            // Walidacja wygenerowanego XML względem XSD
-            validateAgainstSchema(xmlBytes);
-
-            return xmlBytes;
+            ReportXmlContext.marshal(reportDto, out);
+            return out.toByteArray();
         } catch (JAXBException e) {
             log.error("Error while marshalling hotel report to XML", e);
             throw new IllegalStateException("Could not generate XML report", e);
         }
     }
-
-    /**
-     * Walidacja XML względem schematu XSD (resources/xsd/hotel-report.xsd).
-     */
-    private void validateAgainstSchema(byte[] xmlBytes) {
-        try {
-            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-
-            try (var xsdStream = getClass().getClassLoader().getResourceAsStream("xsd/hotel-report.xsd")) {
-                if (xsdStream == null) {
-                    throw new IllegalStateException("XSD schema 'xsd/hotel-report.xsd' not found on classpath");
-                }
-
-                Schema schema = factory.newSchema(new StreamSource(xsdStream));
-                Validator validator = schema.newValidator();
-                validator.validate(new StreamSource(new ByteArrayInputStream(xmlBytes)));
-            }
-        } catch (Exception e) {
-            log.error("XML report is not valid against hotel-report.xsd schema", e);
-            throw new IllegalStateException("XML report is not valid against schema", e);
-        }
-    }
 }
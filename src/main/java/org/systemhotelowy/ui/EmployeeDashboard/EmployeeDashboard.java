@@ -5,6 +5,7 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import jakarta.annotation.security.RolesAllowed;
 import org.systemhotelowy.service.DashboardService;
+import org.systemhotelowy.service.KpiBroadcaster;
 import org.systemhotelowy.service.RoomService;
 import org.systemhotelowy.service.TaskService;
 import org.systemhotelowy.service.VaadinAuthenticationService;
@@ -30,7 +31,8 @@ public class EmployeeDashboard extends VerticalLayout {
             VaadinSecurityHelper securityHelper,
             RoomService roomService,
             TaskService taskService,
-            DashboardService dashboardService
+            DashboardService dashboardService,
+            KpiBroadcaster kpiBroadcaster
     ) {
         this.authService = authService;
         this.securityHelper = securityHelper;
@@ -46,7 +48,7 @@ public class EmployeeDashboard extends VerticalLayout {
         //       GÓRNY PASEK + KPI
         // =========================
         DashboardTopBar topBar = new DashboardTopBar("Panel Pracownika", authService, securityHelper);
-        KpiPanel kpiPanel = new KpiPanel(dashboardService, authService);
+        KpiPanel kpiPanel = new KpiPanel(dashboardService, kpiBroadcaster, authService);
 
         add(topBar, kpiPanel);
 
@@ -2,30 +2,29 @@ package org.systemhotelowy.ui.EmployeeDashboard;
 
 import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.shared.Registration;
 import org.systemhotelowy.dto.EmployeeKpiData;
 import org.systemhotelowy.model.User;
 import org.systemhotelowy.service.DashboardService;
+import org.systemhotelowy.service.KpiBroadcaster;
 import org.systemhotelowy.service.VaadinAuthenticationService;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-
 /**
  * Panel KPI dla pracownika - statystyki zadań i pokoi.
- * Automatycznie odświeża się co 5 sekund.
+ * Odświeżany przez KpiBroadcaster (Vaadin Push) po każdej zmianie danych.
  */
 public class KpiPanel extends VerticalLayout {
 
     private final DashboardService dashboardService;
-    private final VaadinAuthenticationService authService;
+    private final KpiBroadcaster kpiBroadcaster;
+    private final Integer userId;
 
     private HorizontalLayout kpiLayout;
     private Span readyValue;
@@ -33,12 +32,16 @@ public class KpiPanel extends VerticalLayout {
     private Span myTasksValue;
     private Span pendingTasksValue;
 
-    private ScheduledExecutorService scheduler;
-    private ScheduledFuture<?> refreshTask;
+    private Registration broadcasterRegistration;
 
-    public KpiPanel(DashboardService dashboardService, VaadinAuthenticationService authService) {
+    public KpiPanel(DashboardService dashboardService, KpiBroadcaster kpiBroadcaster,
+                    VaadinAuthenticationService authService) {
         this.dashboardService = dashboardService;
-        this.authService = authService;
+        this.kpiBroadcaster = kpiBroadcaster;
+
+        // Użytkownik ustalany raz w wątku żądania - odświeżenia z nadawcy nie mają kontekstu bezpieczeństwa
+        User currentUser = authService.getAuthenticatedUser().orElse(null);
+        this.userId = currentUser != null ? currentUser.getId() : null;
 
         setWidthFull();
         setPadding(false);
@@ -63,30 +66,25 @@ public class KpiPanel extends VerticalLayout {
     protected void onAttach(AttachEvent attachEvent) {
         super.onAttach(attachEvent);
 
-        // Uruchom automatyczne odświeżanie co 5 sekund
-        scheduler = Executors.newScheduledThreadPool(1);
-        refreshTask = scheduler.scheduleAtFixedRate(() -> {
-            attachEvent.getUI().access(this::refreshData);
-        }, 5, 5, TimeUnit.SECONDS);
+        // Odświeżenia przychodzą z jednego wspólnego nadawcy, a nie z wątku per panel;
+        // dane pracownika są czytane z liczników w pamięci, więc odświeżenie nie odpytuje bazy
+        UI ui = attachEvent.getUI();
+        refreshData();
+        broadcasterRegistration = kpiBroadcaster.register(data -> ui.access(this::refreshData));
     }
 
     @Override
     protected void onDetach(DetachEvent detachEvent) {
         super.onDetach(detachEvent);
 
-        // Zatrzymaj odświeżanie gdy komponent jest odłączony
-        if (refreshTask != null) {
-            refreshTask.cancel(true);
-        }
-        if (scheduler != null) {
-            scheduler.shutdown();
+        // Wyrejestruj panel gdy komponent jest odłączony
+        if (broadcasterRegistration != null) {
+            broadcasterRegistration.remove();
+            broadcasterRegistration = null;
         }
     }
 
     private void refreshData() {
-        User currentUser = authService.getAuthenticatedUser().orElse(null);
-        Integer userId = currentUser != null ? currentUser.getId() : null;
-
         EmployeeKpiData data = dashboardService.getEmployeeKpiData(userId);
 
         // Zaktualizuj wartości
@@ -1,6 +1,7 @@
 package org.systemhotelowy.ui.EmployeeDashboard;
 
 import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.checkbox.Checkbox;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.formlayout.FormLayout;
@@ -11,11 +12,13 @@ import com.vaadin.flow.component.textfield.TextField;
 import org.systemhotelowy.model.Task;
 import org.systemhotelowy.model.TaskStatus;
 import org.systemhotelowy.model.User;
+import org.systemhotelowy.service.CleaningRoutePlanner;
 import org.systemhotelowy.service.TaskService;
 import org.systemhotelowy.service.VaadinAuthenticationService;
 import org.systemhotelowy.ui.components.TaskGrid;
 import org.systemhotelowy.utils.NotificationUtils;
 
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -30,6 +33,7 @@ public class TaskPanel extends VerticalLayout {
     private final VaadinAuthenticationService authService;
 
     private TaskGrid taskGrid;
+    private Checkbox routeCheckbox;
     private List<Task> myTasks = new ArrayList<>();
 
     public TaskPanel(TaskService taskService, VaadinAuthenticationService authService) {
@@ -57,7 +61,14 @@ public class TaskPanel extends VerticalLayout {
             NotificationUtils.showSuccess("Zadania odświeżone");
         });
 
-        HorizontalLayout topBar = new HorizontalLayout(statusFilter, searchField, refreshBtn);
+        // Trasa: dzisiejsze otwarte zadania w kolejności ograniczającej zmiany pięter
+        routeCheckbox = new Checkbox("Trasa na dziś");
+        routeCheckbox.addValueChangeListener(e -> {
+            loadMyTasks();
+            filterTasks(statusFilter.getValue(), searchField.getValue());
+        });
+
+        HorizontalLayout topBar = new HorizontalLayout(statusFilter, searchField, routeCheckbox, refreshBtn);
         topBar.setWidthFull();
         topBar.setAlignItems(Alignment.END);
 
@@ -75,7 +86,13 @@ public class TaskPanel extends VerticalLayout {
     private void loadMyTasks() {
         User currentUser = authService.getAuthenticatedUser().orElse(null);
         if (currentUser != null) {
-            myTasks = taskService.findByAssignedToId(currentUser.getId());
+            if (routeCheckbox.getValue()) {
+                myTasks = taskService.planRoute(currentUser.getId(), LocalDate.now()).stream()
+                        .map(CleaningRoutePlanner.Stop::getTask)
+                        .collect(Collectors.toList());
+            } else {
+                myTasks = taskService.findByAssignedToId(currentUser.getId());
+            }
             taskGrid.setItems(myTasks);
         }
     }
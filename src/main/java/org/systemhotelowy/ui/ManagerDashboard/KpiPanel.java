@@ -2,27 +2,24 @@ package org.systemhotelowy.ui.ManagerDashboard;
 
 import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.shared.Registration;
 import org.systemhotelowy.dto.ManagerKpiData;
-import org.systemhotelowy.service.DashboardService;
-
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import org.systemhotelowy.service.KpiBroadcaster;
 
 /**
  * Panel KPI - wyświetla statystyki z prawdziwych danych z bazy.
- * Automatycznie odświeża się co 5 sekund.
+ * Odświeżany przez KpiBroadcaster (Vaadin Push) po każdej zmianie danych.
  */
 public class KpiPanel extends VerticalLayout {
 
-    private final DashboardService dashboardService;
+    private final KpiBroadcaster kpiBroadcaster;
 
     private HorizontalLayout kpiLayout;
     private Span readyValue;
@@ -30,11 +27,10 @@ public class KpiPanel extends VerticalLayout {
     private Span outOfOrderValue;
     private Span tasksValue;
 
-    private ScheduledExecutorService scheduler;
-    private ScheduledFuture<?> refreshTask;
+    private Registration broadcasterRegistration;
 
-    public KpiPanel(DashboardService dashboardService) {
-        this.dashboardService = dashboardService;
+    public KpiPanel(KpiBroadcaster kpiBroadcaster) {
+        this.kpiBroadcaster = kpiBroadcaster;
 
         setWidthFull();
         setPadding(false);
@@ -52,36 +48,31 @@ public class KpiPanel extends VerticalLayout {
         add(kpiLayout);
 
         // Początkowe załadowanie danych
-        refreshData();
+        refreshData(kpiBroadcaster.getLatest());
     }
 
     @Override
     protected void onAttach(AttachEvent attachEvent) {
         super.onAttach(attachEvent);
 
-        // Uruchom automatyczne odświeżanie co 5 sekund
-        scheduler = Executors.newScheduledThreadPool(1);
-        refreshTask = scheduler.scheduleAtFixedRate(() -> {
-            attachEvent.getUI().access(this::refreshData);
-        }, 5, 5, TimeUnit.SECONDS);
+        // Odświeżenia przychodzą z jednego wspólnego nadawcy, a nie z wątku per panel
+        UI ui = attachEvent.getUI();
+        refreshData(kpiBroadcaster.getLatest());
+        broadcasterRegistration = kpiBroadcaster.register(data -> ui.access(() -> refreshData(data)));
     }
 
     @Override
     protected void onDetach(DetachEvent detachEvent) {
         super.onDetach(detachEvent);
 
-        // Zatrzymaj odświeżanie gdy komponent jest odłączony
-        if (refreshTask != null) {
-            refreshTask.cancel(true);
-        }
-        if (scheduler != null) {
-            scheduler.shutdown();
+        // Wyrejestruj panel gdy komponent jest odłączony
+        if (broadcasterRegistration != null) {
+            broadcasterRegistration.remove();
+            broadcasterRegistration = null;
         }
     }
 
-    private void refreshData() {
-        ManagerKpiData data = dashboardService.getManagerKpiData();
-
+    private void refreshData(ManagerKpiData data) {
         // Zaktualizuj wartości
         if (readyValue != null) readyValue.setText(String.valueOf(data.getReadyRooms()));
         if (dirtyValue != null) dirtyValue.setText(String.valueOf(data.getDirtyRooms()));
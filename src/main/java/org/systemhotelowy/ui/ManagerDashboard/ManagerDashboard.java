@@ -13,6 +13,7 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.StreamResource;
 import jakarta.annotation.security.RolesAllowed;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.systemhotelowy.dto.report.HotelReportImportSummaryDto;
 import org.systemhotelowy.service.*;
 import org.systemhotelowy.ui.components.DashboardTopBar;
@@ -20,6 +21,7 @@ import org.systemhotelowy.utils.VaadinSecurityHelper;
 
 import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
+import java.util.concurrent.Executor;
 
 /**
  * Dashboard dla Kierownika - dostępny tylko dla użytkowników z rolą MANAGER lub ADMIN.
@@ -46,7 +48,9 @@ public class ManagerDashboard extends VerticalLayout {
             UserService userService,
             ReservationService reservationService,
             DashboardService dashboardService,
-            ReportExportService reportExportService
+            ReportExportService reportExportService,
+            KpiBroadcaster kpiBroadcaster,
+            @Qualifier("calendarPrefetchExecutor") Executor calendarPrefetchExecutor
     ) {
         this.authService = authService;
         this.securityHelper = securityHelper;
@@ -65,7 +69,7 @@ public class ManagerDashboard extends VerticalLayout {
         //       GÓRNY PASEK + KPI
         // =========================
         DashboardTopBar topBar = new DashboardTopBar("Panel Kierownika", authService, securityHelper);
-        KpiPanel kpiPanel = new KpiPanel(dashboardService);
+        KpiPanel kpiPanel = new KpiPanel(kpiBroadcaster);
 
         add(topBar, kpiPanel);
 
@@ -83,7 +87,7 @@ public class ManagerDashboard extends VerticalLayout {
         // =========================
         //       KALENDARZ REZERWACJI
         // =========================
-        ReservationCalendar reservationCalendar = new ReservationCalendar(reservationService, roomService);
+        ReservationCalendar reservationCalendar = new ReservationCalendar(reservationService, roomService, calendarPrefetchExecutor);
         add(reservationCalendar);
 
         // Rozciąganie paneli
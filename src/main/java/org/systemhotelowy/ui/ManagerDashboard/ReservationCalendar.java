@@ -1,54 +1,115 @@
 package org.systemhotelowy.ui.ManagerDashboard;
 
+import com.vaadin.flow.component.Html;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.grid.ColumnRendering;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.GridVariant;
-import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.data.renderer.LitRenderer;
 import org.systemhotelowy.model.Reservation;
 import org.systemhotelowy.model.ReservationStatus;
 import org.systemhotelowy.model.Room;
+import org.systemhotelowy.service.OccupancyMatrix;
 import org.systemhotelowy.service.ReservationService;
 import org.systemhotelowy.service.RoomService;
 import org.systemhotelowy.ui.components.ReservationFormDialog;
 
 import java.time.LocalDate;
 import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
  * Kalendarz rezerwacji z prawdziwymi danymi z bazy.
+ * Dane są ładowane tygodniowymi fragmentami trzymanymi w ograniczonym cache LRU,
+ * a sąsiednie okna są doładowywane w tle - nawigacja odpytuje bazę tylko o nowe dni.
  */
 public class ReservationCalendar extends VerticalLayout {
 
+    private static final int CHUNK_DAYS = 7;
+    private static final int MAX_CACHED_CHUNKS = 48;
+
     private final ReservationService reservationService;
     private final RoomService roomService;
+    private final Executor prefetchExecutor;
 
     private Grid<RoomRow> reservationGrid;
 
     private List<Room> rooms = new ArrayList<>();
-    private List<Reservation> reservations = new ArrayList<>();
 
     private LocalDate windowStart = LocalDate.now().minusDays(1);
-    private final int WINDOW_SIZE = 14;
+    private final LocalDate chunkAnchor = windowStart;
+    private ViewMode viewMode = ViewMode.TWO_WEEKS;
+
+    // Fragmenty okna (początek tygodnia -> macierz zajętości), najdawniej używane są usuwane
+    private final Map<LocalDate, OccupancyMatrix> chunkCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, OccupancyMatrix> eldest) {
+            return size() > MAX_CACHED_CHUNKS;
+        }
+    };
+    private final Set<LocalDate> pendingChunks = new HashSet<>();
+    private int cacheGeneration = 0;
 
     private Span rangeLabel;
 
-    public ReservationCalendar(ReservationService reservationService, RoomService roomService) {
+    /**
+     * Tryby widoku - długość okna jest wielokrotnością CHUNK_DAYS.
+     */
+    private enum ViewMode {
+        TWO_WEEKS("2 tygodnie", 14),
+        MONTH("Miesiąc", 35),
+        QUARTER("Kwartał", 91);
+
+        private final String label;
+        private final int days;
+
+        ViewMode(String label, int days) {
+            this.label = label;
+            this.days = days;
+        }
+    }
+
+    /**
+     * Komórka renderowana po stronie klienta (bez komponentu i listenerów na serwerze).
+     * Styl hover dla wolnych komórek definiuje jeden arkusz CSS dodany do kalendarza.
+     */
+    private static final String CELL_TEMPLATE =
+            "<div class=\"rc-cell ${item.color ? '' : 'rc-free'}\" title=\"${item.title}\" " +
+                    "style=\"background-color:${item.color || 'transparent'};border-radius:${item.radius}\" " +
+                    "@click=\"${select}\"></div>";
+
+    private static final String CELL_STYLES = "<style>" +
+            ".rc-cell{border:1px solid #e0e0e0;padding:6px;transition:background-color 0.15s;cursor:pointer;height:26px;box-sizing:content-box}" +
+            ".rc-cell.rc-free:hover{background-color:#f2f2f2 !important}" +
+            "</style>";
+
+    public ReservationCalendar(ReservationService reservationService, RoomService roomService, Executor prefetchExecutor) {
         this.reservationService = reservationService;
         this.roomService = roomService;
+        this.prefetchExecutor = prefetchExecutor;
 
         setSpacing(true);
         setPadding(true);
 
-        // Załaduj dane z bazy
-        loadData();
+        // Załaduj pokoje z bazy (rezerwacje ładowane fragmentami w refresh)
+        rooms = roomService.findAll();
 
         reservationGrid = new Grid<>(RoomRow.class, false);
         reservationGrid.setWidthFull();
@@ -58,12 +119,12 @@ public class ReservationCalendar extends VerticalLayout {
 
         // ======= PAGINATION =======
         Button prevBtn = new Button("<", e -> {
-            windowStart = windowStart.minusDays(WINDOW_SIZE);
+            windowStart = windowStart.minusDays(viewMode.days);
             refresh();
         });
 
         Button nextBtn = new Button(">", e -> {
-            windowStart = windowStart.plusDays(WINDOW_SIZE);
+            windowStart = windowStart.plusDays(viewMode.days);
             refresh();
         });
 
@@ -71,18 +132,33 @@ public class ReservationCalendar extends VerticalLayout {
         rangeLabel.setId("range-label");
         rangeLabel.getStyle().set("font-weight", "600").set("font-size", "14px");
 
-        HorizontalLayout pager = new HorizontalLayout(prevBtn, rangeLabel, nextBtn);
+        ComboBox<ViewMode> viewModeField = new ComboBox<>();
+        viewModeField.setItems(ViewMode.values());
+        viewModeField.setItemLabelGenerator(mode -> mode.label);
+        viewModeField.setValue(viewMode);
+        viewModeField.setAllowCustomValue(false);
+        viewModeField.setWidth("150px");
+        viewModeField.addValueChangeListener(e -> {
+            if (e.getValue() != null) {
+                viewMode = e.getValue();
+                refresh();
+            }
+        });
+
+        HorizontalLayout pager = new HorizontalLayout(prevBtn, rangeLabel, nextBtn, viewModeField);
         pager.setAlignItems(Alignment.CENTER);
 
+        Button reloadButton = new Button("Odśwież", e -> reloadAll());
+
         Button openFormButton = new Button("Dodaj rezerwację");
         openFormButton.addClickListener(e -> openReservationDialog(null, null));
 
-        HorizontalLayout header = new HorizontalLayout(pager, openFormButton);
+        HorizontalLayout header = new HorizontalLayout(pager, new HorizontalLayout(reloadButton, openFormButton));
         header.setWidthFull();
         header.setJustifyContentMode(JustifyContentMode.BETWEEN);
 
         refresh();
-        add(header, reservationGrid);
+        add(new Html(CELL_STYLES), header, reservationGrid);
         // ============================
         // STYLE
         // ============================
@@ -122,32 +198,93 @@ public class ReservationCalendar extends VerticalLayout {
         }
     }
 
-    private void loadData() {
+    // ------------------------------------------------------------------------
+    // DATA LOADING
+    // ------------------------------------------------------------------------
+
+    /**
+     * Przeładowuje pokoje i unieważnia wszystkie załadowane fragmenty (np. po zapisie rezerwacji).
+     */
+    private void reloadAll() {
         rooms = roomService.findAll();
-        LocalDate start = windowStart;
-        LocalDate end = windowStart.plusDays(WINDOW_SIZE);
-        reservations = reservationService.findReservationsInPeriod(start, end);
+        chunkCache.clear();
+        pendingChunks.clear();
+        cacheGeneration++;
+        refresh();
+    }
+
+    private LocalDate chunkStart(LocalDate day) {
+        long offset = ChronoUnit.DAYS.between(chunkAnchor, day);
+        return chunkAnchor.plusDays(Math.floorDiv(offset, CHUNK_DAYS) * CHUNK_DAYS);
+    }
+
+    private OccupancyMatrix loadChunk(List<Room> chunkRooms, LocalDate start) {
+        List<Reservation> reservations = reservationService.findReservationsInPeriod(start, start.plusDays(CHUNK_DAYS - 1));
+        return OccupancyMatrix.build(chunkRooms, reservations, start, CHUNK_DAYS);
+    }
+
+    /**
+     * Zwraca fragment z cache, a gdy go brak - ładuje go synchronicznie.
+     */
+    private OccupancyMatrix chunk(LocalDate start) {
+        OccupancyMatrix matrix = chunkCache.get(start);
+        if (matrix == null) {
+            matrix = loadChunk(rooms, start);
+            chunkCache.put(start, matrix);
+        }
+        return matrix;
+    }
+
+    private Reservation reservationAt(Room room, LocalDate day) {
+        return chunk(chunkStart(day)).get(room.getId(), day);
+    }
+
+    /**
+     * Doładowuje w tle poprzednie i następne okno, jeśli nie ma ich jeszcze w cache.
+     */
+    private void prefetchAdjacentWindows() {
+        UI ui = UI.getCurrent();
+        if (ui == null) {
+            return;
+        }
+        int days = viewMode.days;
+        for (LocalDate start = windowStart.minusDays(days); start.isBefore(windowStart.plusDays(2L * days)); start = start.plusDays(CHUNK_DAYS)) {
+            LocalDate chunkStart = start;
+            if (chunkCache.containsKey(chunkStart) || !pendingChunks.add(chunkStart)) {
+                continue;
+            }
+            int generation = cacheGeneration;
+            List<Room> chunkRooms = rooms;
+            CompletableFuture<OccupancyMatrix> future;
+            try {
+                future = CompletableFuture.supplyAsync(() -> loadChunk(chunkRooms, chunkStart), prefetchExecutor);
+            } catch (RejectedExecutionException e) {
+                // pula zajęta - fragment zostanie doładowany przy następnym przewinięciu albo synchronicznie
+                pendingChunks.remove(chunkStart);
+                continue;
+            }
+            future.whenComplete((matrix, error) -> {
+                try {
+                    ui.access(() -> {
+                        pendingChunks.remove(chunkStart);
+                        if (matrix != null && generation == cacheGeneration) {
+                            chunkCache.putIfAbsent(chunkStart, matrix);
+                        }
+                    });
+                } catch (UIDetachedException ignored) {
+                    // widok został zamknięty - wynik prefetchu nie jest już potrzebny
+                }
+            });
+        }
     }
 
     private void handleCellClick(Room room, LocalDate day) {
-        Optional<Reservation> found = reservations.stream()
-                .filter(r ->
-                        r.getRoom().getId().equals(room.getId()) &&
-                                !r.getCheckInDate().isAfter(day) &&
-                                !r.getCheckOutDate().isBefore(day)
-                )
-                .findFirst();
-
-        if (found.isPresent()) {
-            new ReservationFormDialog(found.get(), rooms, reservationService, () -> {
-                loadData();
-                refresh();
-            }).open();
+        Reservation found = reservationAt(room, day);
+
+        if (found != null) {
+            new ReservationFormDialog(found, rooms, reservationService, this::reloadAll).open();
         } else {
-            new ReservationFormDialog(room, day, rooms, reservationService, () -> {
-                loadData();
-                refresh();
-            }).open();
+            new ReservationFormDialog(room, day, rooms, reservationService, this::reloadAll).open();
         }
     }
 
@@ -156,10 +293,7 @@ public class ReservationCalendar extends VerticalLayout {
     // ------------------------------------------------------------------------
 
     private void openReservationDialog(Room preselectedRoom, LocalDate preselectedDay) {
-        new ReservationFormDialog(preselectedRoom, preselectedDay, rooms, reservationService, () -> {
-            loadData();
-            refresh();
-        }).open();
+        new ReservationFormDialog(preselectedRoom, preselectedDay, rooms, reservationService, this::reloadAll).open();
     }
 
     private String formatStatus(ReservationStatus status) {
@@ -200,20 +334,27 @@ public class ReservationCalendar extends VerticalLayout {
     // ------------------------------------------------------------------------
 
     private void refresh() {
-        // Przeładuj dane
-        loadData();
+        int days = viewMode.days;
+
+        // Fragmenty widocznego okna - z bazy ładowane są tylko brakujące
+        for (int i = 0; i < days; i += CHUNK_DAYS) {
+            chunk(chunkStart(windowStart.plusDays(i)));
+        }
 
         reservationGrid.removeAllColumns();
+        // Przy dłuższych widokach kolumny poza ekranem nie są renderowane
+        reservationGrid.setColumnRendering(days > ViewMode.TWO_WEEKS.days ? ColumnRendering.LAZY : ColumnRendering.EAGER);
 
         // ---- Left columns (narrow, fixed) ----
         reservationGrid.addColumn(RoomRow::getRoomNumber)
                 .setHeader("Pokój")
                 .setWidth("70px")
-                .setFlexGrow(0);
+                .setFlexGrow(0)
+                .setFrozen(true);
 
 
         // ---- Date columns ----
-        for (int i = 0; i < WINDOW_SIZE; i++) {
+        for (int i = 0; i < days; i++) {
             LocalDate currentDay = windowStart.plusDays(i);
 
             String dow = currentDay.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.forLanguageTag("pl"));
@@ -223,8 +364,9 @@ public class ReservationCalendar extends VerticalLayout {
             Span header = new Span();
             header.getElement().setProperty("innerHTML", headerHtml);
 
-            reservationGrid.addComponentColumn(row -> createCell(row, currentDay))
+            reservationGrid.addColumn(createCellRenderer(currentDay))
                     .setHeader(header)
+                    .setWidth("48px")
                     .setFlexGrow(1);
         }
 
@@ -236,65 +378,39 @@ public class ReservationCalendar extends VerticalLayout {
 
         // ---- Update range label ----
         LocalDate start = windowStart;
-        LocalDate end = windowStart.plusDays(WINDOW_SIZE - 1);
+        LocalDate end = windowStart.plusDays(days - 1);
         rangeLabel.setText(formatRange(start, end));
+
+        prefetchAdjacentWindows();
     }
 
     // ------------------------------------------------------------------------
     // CELL RENDERING
     // ------------------------------------------------------------------------
 
-    private Div createCell(RoomRow row, LocalDate day) {
-        Div cell = new Div();
-        cell.getStyle()
-                .set("border", "1px solid #e0e0e0")
-                .set("padding", "6px")
-                .set("border-radius", "4px")
-                .set("transition", "background-color 0.15s")
-                .set("cursor", "pointer")
-                .set("height", "26px");
-
-        Room room = row.getRoom();
-
-        Optional<Reservation> res = reservations.stream()
-                .filter(r ->
-                        r.getRoom().getId().equals(room.getId()) &&
-                                !r.getCheckInDate().isAfter(day) &&
-                                !r.getCheckOutDate().isBefore(day) &&
-                                r.getStatus() != ReservationStatus.CANCELLED
-                )
-                .findFirst();
-
-        if (res.isPresent()) {
-            Reservation rez = res.get();
-            String color = getColorForGuest(rez.getGuestName());
-
-            cell.getStyle().set("background-color", color);
-
-            if (day.equals(rez.getCheckInDate()))
-                cell.getStyle().set("border-top-left-radius", "12px")
-                        .set("border-bottom-left-radius", "12px");
-
-            if (day.equals(rez.getCheckOutDate()))
-                cell.getStyle().set("border-top-right-radius", "12px")
-                        .set("border-bottom-right-radius", "12px");
-
-            cell.getElement().setProperty("title",
-                    rez.getGuestName() + " (" + rez.getGuestPhone() + ") - " + formatStatus(rez.getStatus()));
-
-        } else {
-            cell.getElement().addEventListener("mouseover", e ->
-                    cell.getStyle().set("background-color", "#f2f2f2"));
-            cell.getElement().addEventListener("mouseout", e ->
-                    cell.getStyle().set("background-color", "transparent"));
-        }
-
-        LocalDate finalDay = day;
-        Room finalRoom = room;
-
-        cell.addClickListener(e -> handleCellClick(finalRoom, finalDay));
-
-        return cell;
+    private LitRenderer<RoomRow> createCellRenderer(LocalDate day) {
+        return LitRenderer.<RoomRow>of(CELL_TEMPLATE)
+                .withProperty("color", row -> {
+                    Reservation rez = reservationAt(row.getRoom(), day);
+                    return rez != null ? getColorForGuest(rez.getGuestName()) : "";
+                })
+                .withProperty("title", row -> {
+                    Reservation rez = reservationAt(row.getRoom(), day);
+                    return rez != null
+                            ? rez.getGuestName() + " (" + rez.getGuestPhone() + ") - " + formatStatus(rez.getStatus())
+                            : "";
+                })
+                .withProperty("radius", row -> {
+                    Reservation rez = reservationAt(row.getRoom(), day);
+                    if (rez == null) {
+                        return "4px";
+                    }
+                    String left = day.equals(rez.getCheckInDate()) ? "12px" : "4px";
+                    String right = day.equals(rez.getCheckOutDate()) ? "12px" : "4px";
+                    // kolejność: top-left top-right bottom-right bottom-left
+                    return left + " " + right + " " + right + " " + left;
+                })
+                .withFunction("select", row -> handleCellClick(row.getRoom(), day));
     }
 
     private String getColorForGuest(String guestName) {
@@ -1,6 +1,7 @@
 package org.systemhotelowy.ui.components;
 
 import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.checkbox.Checkbox;
 import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.datetimepicker.DateTimePicker;
 import com.vaadin.flow.component.dialog.Dialog;
@@ -19,6 +20,7 @@ import org.systemhotelowy.utils.NotificationUtils;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -37,6 +39,7 @@ public class TaskBatchDialog extends Dialog {
     private DateTimePicker scheduledAtPicker;
     private IntegerField durationField;
     private ComboBox<User> assignToCombo;
+    private Checkbox autoAssignCheckbox;
 
     public TaskBatchDialog(Set<Room> targetRooms,
                            User currentUser,
@@ -96,20 +99,25 @@ public class TaskBatchDialog extends Dialog {
 
         assignToCombo = new ComboBox<>("Przypisz do");
         assignToCombo.setRequired(true);
-        List<User> eligibleStaff = userService.findAll().stream()
-                .filter(u -> u.getRole() == Role.CLEANER)
-                .collect(Collectors.toList());
+        List<User> eligibleStaff = userService.findByRole(Role.CLEANER);
 
         assignToCombo.setItems(eligibleStaff);
         assignToCombo.setItemLabelGenerator(
                 u -> u.getFirstName() + " " + u.getLastName() + " (" + u.getRole() + ")"
         );
 
+        autoAssignCheckbox = new Checkbox("Rozdziel automatycznie między sprzątających");
+        autoAssignCheckbox.addValueChangeListener(e -> {
+            assignToCombo.setEnabled(!e.getValue());
+            assignToCombo.setRequired(!e.getValue());
+        });
+
         form.add(
                 descriptionArea,
                 remarksArea,
                 scheduledAtPicker,
                 durationField,
+                autoAssignCheckbox,
                 assignToCombo
         );
         form.setResponsiveSteps(new FormLayout.ResponsiveStep("0", 1));
@@ -118,7 +126,8 @@ public class TaskBatchDialog extends Dialog {
     }
 
     private void saveTasks() {
-        if (descriptionArea.isEmpty() || scheduledAtPicker.isEmpty() || assignToCombo.isEmpty()) {
+        boolean autoAssign = autoAssignCheckbox.getValue();
+        if (descriptionArea.isEmpty() || scheduledAtPicker.isEmpty() || (!autoAssign && assignToCombo.isEmpty())) {
             NotificationUtils.showError("Opis, data i osoba przypisana są wymagane");
             return;
         }
@@ -135,9 +144,17 @@ public class TaskBatchDialog extends Dialog {
 
         try {
             List<Task> tasksToCreate = prepareTasksList(scheduledAt);
+            Map<User, Long> workload = autoAssign ? taskService.assignToCleaners(tasksToCreate) : Map.of();
             List<Task> created = taskService.createBatch(tasksToCreate);
 
-            NotificationUtils.showSuccess("Utworzono " + created.size() + " zadań");
+            if (autoAssign) {
+                long maxMinutes = workload.values().stream().mapToLong(Long::longValue).max().orElse(0);
+                NotificationUtils.showSuccess("Utworzono " + created.size() + " zadań dla " +
+                        created.stream().map(Task::getAssignedTo).distinct().count() +
+                        " osób (maks. " + maxMinutes + " min na osobę)");
+            } else {
+                NotificationUtils.showSuccess("Utworzono " + created.size() + " zadań");
+            }
 
             if (onSuccess != null) {
                 onSuccess.run();
@@ -152,7 +169,8 @@ public class TaskBatchDialog extends Dialog {
 
     private List<Task> prepareTasksList(LocalDateTime scheduledAt) {
         List<Task> tasks = new ArrayList<>();
-        User assignee = assignToCombo.getValue();
+        // przy automatycznym przydziale assignedTo ustawia TaskService.assignToCleaners
+        User assignee = autoAssignCheckbox.getValue() ? null : assignToCombo.getValue();
         String description = descriptionArea.getValue();
         String remarks = remarksArea.getValue();
         int duration = durationField.getValue() != null ? durationField.getValue() : 30;
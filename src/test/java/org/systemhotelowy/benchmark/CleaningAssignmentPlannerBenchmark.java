@@ -0,0 +1,76 @@
+package org.systemhotelowy.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.Task;
+import org.systemhotelowy.model.User;
+import org.systemhotelowy.service.CleaningAssignmentPlanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Czas przydziału sprzątania dla dużego hotelu (400 pokoi, 30 osób).
+ * Poza zwykłym "test" - uruchamiany przez ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class CleaningAssignmentPlannerBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(CleaningAssignmentPlannerBenchmark.class);
+
+    private static final int ITERATIONS = 200;
+    private static final long MAX_BEST_MILLIS = 50;
+
+    @Test
+    void assign_largeHotel() {
+        List<User> cleaners = cleaners(30);
+        long best = Long.MAX_VALUE;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            List<Task> tasks = tasks(20, 20, 30 + i % 3 * 15);
+            long start = System.nanoTime();
+            CleaningAssignmentPlanner.assign(tasks, cleaners, Map.of());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        log.info("CleaningAssignmentPlanner: 400 zadań / 30 osób, najlepszy czas {} µs",
+                TimeUnit.NANOSECONDS.toMicros(best));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(best)).isLessThan(MAX_BEST_MILLIS);
+    }
+
+    private List<Task> tasks(int floors, int roomsPerFloor, int minutes) {
+        List<Task> tasks = new ArrayList<>();
+        int id = 1;
+        for (int floor = 1; floor <= floors; floor++) {
+            for (int r = 1; r <= roomsPerFloor; r++) {
+                Room room = new Room();
+                room.setId(id++);
+                room.setFloor(floor);
+                room.setNumber(String.format("%d%02d", floor, r));
+
+                Task task = new Task();
+                task.setRoom(room);
+                task.setDurationInMinutes(minutes);
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private List<User> cleaners(int count) {
+        List<User> cleaners = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setId(i);
+            cleaners.add(user);
+        }
+        return cleaners;
+    }
+}
@@ -0,0 +1,66 @@
+package org.systemhotelowy.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.Task;
+import org.systemhotelowy.service.CleaningRoutePlanner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Czas planowania trasy dla 60 zadań na 8 piętrach.
+ * Poza zwykłym "test" - uruchamiany przez ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class CleaningRoutePlannerBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(CleaningRoutePlannerBenchmark.class);
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 12, 9, 8, 0);
+    private static final int ITERATIONS = 500;
+    private static final long MAX_BEST_MILLIS = 10;
+
+    @Test
+    void plan_sixtyTasks() {
+        Random random = new Random(7);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 60; i++) {
+            tasks.add(task(i, 1 + random.nextInt(8), MORNING.plusMinutes(random.nextInt(6) * 60L), 15 + random.nextInt(4) * 15));
+        }
+
+        long best = Long.MAX_VALUE;
+        List<CleaningRoutePlanner.Stop> route = List.of();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            route = CleaningRoutePlanner.plan(tasks);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        log.info("CleaningRoutePlanner: 60 zadań, najlepszy czas {} µs, {} zmian pięter",
+                TimeUnit.NANOSECONDS.toMicros(best), CleaningRoutePlanner.floorChanges(route));
+        assertThat(TimeUnit.NANOSECONDS.toMillis(best)).isLessThan(MAX_BEST_MILLIS);
+    }
+
+    private Task task(int id, int floor, LocalDateTime scheduledAt, int minutes) {
+        Room room = new Room();
+        room.setId(id);
+        room.setFloor(floor);
+        room.setNumber(String.format("%d%02d", floor, id));
+
+        Task task = new Task();
+        task.setId(id);
+        task.setRoom(room);
+        task.setScheduledAt(scheduledAt);
+        task.setDurationInMinutes(minutes);
+        return task;
+    }
+}
@@ -0,0 +1,108 @@
+package org.systemhotelowy.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.systemhotelowy.dto.report.HotelReportDto;
+import org.systemhotelowy.dto.report.ReservationReportEntry;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+import org.systemhotelowy.service.ReportFormat;
+import org.systemhotelowy.service.ReportFormatWriter;
+import org.systemhotelowy.service.ReportXmlContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rozmiar (surowy i po gzip) oraz czas generowania raportu w formatach XML, CSV i NDJSON względem JAXB.
+ * Poza zwykłym "test" - uruchamiany przez ./gradlew benchmark; wyniki trafiają do logu.
+ */
+@Tag("benchmark")
+class ReportFormatWriterBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportFormatWriterBenchmark.class);
+
+    private static final int ROOMS = 5_000;
+    private static final int TASKS = 20_000;
+    private static final int RESERVATIONS = 5_000;
+    private static final int ITERATIONS = 5;
+
+    @Test
+    void formats_bytesAndTimeAgainstJaxb() throws Exception {
+        ReportXmlContext.marshal(dto(), new ByteArrayOutputStream());
+        for (ReportFormat format : ReportFormat.values()) {
+            write(format);
+        }
+
+        log.info("Raport {} pokoi, {} zadań, {} rezerwacji (średnio z {} przebiegów):", ROOMS, TASKS, RESERVATIONS, ITERATIONS);
+
+        long start = System.nanoTime();
+        byte[] jaxb = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ReportXmlContext.marshal(dto(), out);
+            jaxb = out.toByteArray();
+        }
+        report("XML (JAXB)", jaxb, (System.nanoTime() - start) / ITERATIONS);
+
+        for (ReportFormat format : ReportFormat.values()) {
+            start = System.nanoTime();
+            byte[] bytes = null;
+            for (int i = 0; i < ITERATIONS; i++) {
+                bytes = write(format);
+            }
+            report(format.name(), bytes, (System.nanoTime() - start) / ITERATIONS);
+        }
+    }
+
+    private static void report(String name, byte[] bytes, long nanos) throws IOException {
+        log.info("  {}: {} B, gzip {} B, {} ms", name, bytes.length, gzip(bytes).length, nanos / 1_000_000);
+    }
+
+    private static byte[] write(ReportFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportFormatWriter writer = format.newWriter(out);
+        HotelReportDto dto = dto();
+
+        writer.startReport(dto.getDate());
+        writer.startSection("rooms");
+        dto.getRooms().forEach(writer::room);
+        writer.endSection("rooms");
+        writer.startSection("tasks");
+        dto.getTasks().forEach(writer::task);
+        writer.endSection("tasks");
+        writer.startSection("reservations");
+        dto.getReservations().forEach(writer::reservation);
+        writer.endSection("reservations");
+        writer.endReport();
+        return out.toByteArray();
+    }
+
+    private static HotelReportDto dto() {
+        HotelReportDto dto = new HotelReportDto();
+        dto.setDate("2025-12-09");
+        for (int i = 0; i < ROOMS; i++) {
+            dto.getRooms().add(new RoomReportEntry(i, String.valueOf(100 + i), 1 + i % 10, "READY", "SINGLE"));
+        }
+        for (int i = 0; i < TASKS; i++) {
+            dto.getTasks().add(new TaskReportEntry(i, "PENDING", String.valueOf(100 + i % ROOMS),
+                    "cleaner" + i % 20 + "@hotel.test", "2025-12-09", 30));
+        }
+        for (int i = 0; i < RESERVATIONS; i++) {
+            dto.getReservations().add(new ReservationReportEntry(i, String.valueOf(100 + i % ROOMS),
+                    "CONFIRMED", "Kowalski, Jan \"VIP\"", "2025-12-08", "2025-12-10"));
+        }
+        return dto;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
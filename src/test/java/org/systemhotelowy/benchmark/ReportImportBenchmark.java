@@ -0,0 +1,128 @@
+package org.systemhotelowy.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.systemhotelowy.dto.report.HotelReportImportSummaryDto;
+import org.systemhotelowy.service.ReportImporter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Przepustowość strumieniowego importu raportu: 50 000 pozycji (1 000 pokoi + 49 000 zadań),
+ * każda ze zmianą statusu, zadania dodatkowo przepisywane na innego pracownika. Import (zapis treści do pliku,
+ * przebieg walidujący i przebieg zapisujący) nie może przetwarzać mniej niż {@value #MIN_ENTRIES_PER_SECOND}
+ * pozycji na sekundę. Wymaga bazy MySQL jak testy integracyjne; poza zwykłym "test" - uruchamiany przez
+ * ./gradlew benchmark. Poprawność importu sprawdza ReportImporterIntegrationTest.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class ReportImportBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportImportBenchmark.class);
+
+    private static final String SEED_PREFIX = "IMPBENCH-";
+    private static final String FROM_EMAIL = "impbench-from@hotel.test";
+    private static final String TO_EMAIL = "impbench-to@hotel.test";
+    private static final int ROOMS = 1_000;
+    private static final int TASKS = 49_000;
+    private static final LocalDate DATE = LocalDate.of(2041, 3, 1);
+    private static final int MIN_ENTRIES_PER_SECOND = 5_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReportImporter reportImporter;
+
+    private final List<Integer> roomIds = new ArrayList<>();
+    private final List<Integer> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        cleanUp();
+
+        for (String email : List.of(FROM_EMAIL, TO_EMAIL)) {
+            jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, role) VALUES (?, ?, ?, ?, ?)",
+                    "Import", "Bench", email, "x", "CLEANER");
+        }
+        Integer fromId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Integer.class, FROM_EMAIL);
+
+        List<Object[]> rooms = new ArrayList<>(ROOMS);
+        for (int i = 0; i < ROOMS; i++) {
+            rooms.add(new Object[]{SEED_PREFIX + i, 97, "SINGLE", "READY", 1});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO rooms (number, floor, type, room_status, capacity) VALUES (?, ?, ?, ?, ?)", rooms);
+        roomIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM rooms WHERE number LIKE ? ORDER BY id", Integer.class, SEED_PREFIX + "%"));
+
+        List<Object[]> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new Object[]{SEED_PREFIX + "task", "PENDING",
+                    Timestamp.valueOf(DATE.atTime(10, 0)), 30, fromId, roomIds.get(i % ROOMS)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (description, status, scheduled_at, duration_in_minutes, " +
+                "assigned_to_id, room_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, NOW(), NOW())", tasks);
+        taskIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE description = ? ORDER BY id", Integer.class, SEED_PREFIX + "task"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE description = ?", SEED_PREFIX + "task");
+        jdbcTemplate.update("DELETE FROM rooms WHERE number LIKE ?", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email IN (?, ?)", FROM_EMAIL, TO_EMAIL);
+        roomIds.clear();
+        taskIds.clear();
+    }
+
+    @Test
+    void importReport_benchmark50kEntries() {
+        byte[] xml = buildReport();
+
+        long start = System.nanoTime();
+        HotelReportImportSummaryDto summary = reportImporter.importReport(new ByteArrayInputStream(xml));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        double entriesPerSecond = (ROOMS + TASKS) * 1000.0 / Math.max(elapsedMs, 1);
+        log.info("Import raportu: {} pozycji w {} ms ({} pozycji/s)", ROOMS + TASKS, elapsedMs, (long) entriesPerSecond);
+
+        assertThat(summary.getRoomsCount()).isEqualTo(ROOMS);
+        assertThat(summary.getTasksCount()).isEqualTo(TASKS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rooms WHERE number LIKE ? AND room_status = 'DIRTY'",
+                Integer.class, SEED_PREFIX + "%")).isEqualTo(ROOMS);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks t JOIN users u ON u.id = t.assigned_to_id " +
+                        "WHERE t.description = ? AND t.status = 'DONE' AND u.email = ?",
+                Integer.class, SEED_PREFIX + "task", TO_EMAIL)).isEqualTo(TASKS);
+        assertThat(entriesPerSecond).as("pozycji/s (%d ms)", elapsedMs).isGreaterThanOrEqualTo(MIN_ENTRIES_PER_SECOND);
+    }
+
+    private byte[] buildReport() {
+        StringBuilder xml = new StringBuilder(ROOMS * 60 + TASKS * 140);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<hotelReport date=\"").append(DATE).append("\">\n<rooms>\n");
+        for (int i = 0; i < roomIds.size(); i++) {
+            xml.append("<room id=\"").append(roomIds.get(i)).append("\" number=\"").append(SEED_PREFIX).append(i)
+                    .append("\" status=\"DIRTY\"/>\n");
+        }
+        xml.append("</rooms>\n<tasks>\n");
+        for (Integer taskId : taskIds) {
+            xml.append("<task id=\"").append(taskId).append("\" status=\"DONE\" assignedToEmail=\"").append(TO_EMAIL)
+                    .append("\" scheduledDate=\"").append(DATE).append("\" durationInMinutes=\"30\"/>\n");
+        }
+        xml.append("</tasks>\n<reservations/>\n</hotelReport>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,95 @@
+package org.systemhotelowy.benchmark;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.Marshaller;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.systemhotelowy.dto.report.HotelReportDto;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+import org.systemhotelowy.service.ReportXmlContext;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.SchemaFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Kontekst JAXB i XSD tworzone przy każdym raporcie (dawna ścieżka) vs współdzielone w ReportXmlContext.
+ * Poza zwykłym "test" - uruchamiany przez ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class ReportXmlContextBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportXmlContextBenchmark.class);
+
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 50;
+
+    @Test
+    void marshal_sharedAgainstPerRequestContext() throws Exception {
+        HotelReportDto report = report(200);
+
+        for (int i = 0; i < WARMUP; i++) {
+            marshalPerRequest(report);
+            marshalShared(report);
+        }
+
+        long before = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            marshalPerRequest(report);
+        }
+        long perRequestMicros = (System.nanoTime() - before) / ITERATIONS / 1000;
+
+        long after = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            marshalShared(report);
+        }
+        long sharedMicros = (System.nanoTime() - after) / ITERATIONS / 1000;
+
+        log.info("Raport XML (200 pokoi + 200 zadań): przed {} µs, po {} µs na raport", perRequestMicros, sharedMicros);
+        assertThat(sharedMicros).isLessThan(perRequestMicros);
+    }
+
+    /**
+     * Dawna ścieżka: nowy JAXBContext, zapis, potem kompilacja XSD i ponowne parsowanie do walidacji.
+     */
+    private byte[] marshalPerRequest(HotelReportDto report) throws Exception {
+        Marshaller marshaller = JAXBContext.newInstance(HotelReportDto.class).createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaller.marshal(report, out);
+        byte[] xml = out.toByteArray();
+
+        try (InputStream xsd = getClass().getClassLoader().getResourceAsStream(ReportXmlContext.SCHEMA_PATH)) {
+            SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI)
+                    .newSchema(new StreamSource(xsd))
+                    .newValidator()
+                    .validate(new StreamSource(new ByteArrayInputStream(xml)));
+        }
+        return xml;
+    }
+
+    private byte[] marshalShared(HotelReportDto report) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportXmlContext.marshal(report, out);
+        return out.toByteArray();
+    }
+
+    private HotelReportDto report(int size) {
+        HotelReportDto report = new HotelReportDto();
+        report.setDate("2025-12-09");
+        for (int i = 0; i < size; i++) {
+            report.getRooms().add(new RoomReportEntry(i + 1, String.valueOf(100 + i), 1 + i / 20, "READY", "DOUBLE"));
+            report.getTasks().add(new TaskReportEntry(i + 1, "PENDING", String.valueOf(100 + i),
+                    "cleaner@hotel.test", "2025-12-09", 30));
+        }
+        return report;
+    }
+}
@@ -0,0 +1,127 @@
+package org.systemhotelowy.benchmark;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.systemhotelowy.dto.ReservationRequest;
+import org.systemhotelowy.service.ReservationService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Przepustowość równoległych rezerwacji nakładających się terminów przez ReservationService.create
+ * (blokada w JVM + SELECT ... FOR UPDATE): co najmniej {@value #MIN_ATTEMPTS_PER_SECOND} obsłużonych prób na sekundę.
+ * Wymaga bazy MySQL jak testy integracyjne; poza zwykłym "test" - uruchamiany przez ./gradlew benchmark.
+ * Brak podwójnych rezerwacji sprawdza ReservationConcurrencyIntegrationTest.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class ReservationBookingBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationBookingBenchmark.class);
+
+    private static final String SEED_ROOM_PREFIX = "BOOKBENCH-";
+    private static final String SEED_GUEST = "BOOKBENCH-SEED";
+    private static final int ROOMS = 8;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 40;
+    private static final int NIGHTS = 30;
+    private static final int MIN_ATTEMPTS_PER_SECOND = 50;
+    private static final LocalDate BASE = LocalDate.of(2045, 9, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    private final List<Integer> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        cleanUp();
+        for (int i = 0; i < ROOMS; i++) {
+            jdbcTemplate.update("INSERT INTO rooms (number, floor, type, room_status, capacity) VALUES (?, ?, ?, ?, ?)",
+                    SEED_ROOM_PREFIX + i, 98, "SINGLE", "READY", 2);
+        }
+        roomIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM rooms WHERE number LIKE ? ORDER BY id", Integer.class, SEED_ROOM_PREFIX + "%"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM reservations WHERE guest_name = ?", SEED_GUEST);
+        jdbcTemplate.update("DELETE FROM rooms WHERE number LIKE ?", SEED_ROOM_PREFIX + "%");
+        roomIds.clear();
+    }
+
+    @Test
+    void concurrentCreate_attemptsPerSecond() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    LocalDate checkIn = BASE.plusDays(random.nextInt(0, NIGHTS - 3));
+                    try {
+                        reservationService.create(request(roomIds.get(random.nextInt(ROOMS)),
+                                checkIn, checkIn.plusDays(random.nextInt(1, 4))));
+                        accepted.incrementAndGet();
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        // termin zajęty albo przekroczony czas oczekiwania na blokadę pokoju
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        log.info("Rezerwacje równoległe: {} prób ({} zapisanych) w {} ms, {} prób/s",
+                attempts, accepted.get(), (long) (seconds * 1000), (long) (attempts / seconds));
+        assertThat(attempts / seconds).isGreaterThanOrEqualTo(MIN_ATTEMPTS_PER_SECOND);
+    }
+
+    private static ReservationRequest request(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        ReservationRequest request = new ReservationRequest();
+        request.setRoomId(roomId);
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkOut);
+        request.setGuestName(SEED_GUEST);
+        request.setGuestEmail("bookbench@hotel.test");
+        request.setGuestPhone("000000000");
+        request.setNumberOfGuests(1);
+        request.setTotalPrice(BigDecimal.valueOf(100));
+        return request;
+    }
+}
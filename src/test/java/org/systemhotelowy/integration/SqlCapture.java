@@ -0,0 +1,129 @@
+package org.systemhotelowy.integration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Przechwytuje zapytania SQL wysyłane do bazy (tekst i wartości parametrów) w bieżącym wątku.
+ * <p>
+ * Testy planów zapytań włączają {@link Config} przez @Import, wywołują metody repozytorium między
+ * {@link #start()} a {@link #stop()} i wykonują EXPLAIN na dokładnie tym SQL, który wygenerował Hibernate.
+ */
+public final class SqlCapture {
+
+    private static final ThreadLocal<List<Statement>> CAPTURED = new ThreadLocal<>();
+
+    private SqlCapture() {
+    }
+
+    public static void start() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    public static List<Statement> stop() {
+        List<Statement> statements = CAPTURED.get();
+        CAPTURED.remove();
+        return statements != null ? statements : List.of();
+    }
+
+    /**
+     * Jedno wykonane zapytanie: SQL z placeholderami i parametry w kolejności indeksów JDBC.
+     */
+    public static final class Statement {
+        private final String sql;
+        private final Object[] parameters;
+
+        private Statement(String sql, Object[] parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public Object[] getParameters() {
+            return parameters;
+        }
+    }
+
+    /**
+     * Owija DataSource aplikacji pośrednikiem rejestrującym zapytania.
+     */
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        public static BeanPostProcessor sqlCaptureDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource) {
+                        return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                            Object result = method.invoke(target, args);
+                            return result instanceof Connection connection ? connection(connection) : result;
+                        });
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    private static Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = method.invoke(target, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return preparedStatement(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement preparedStatement(PreparedStatement statement, String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.startsWith("execute") && (args == null || args.length == 0)) {
+                List<Statement> captured = CAPTURED.get();
+                if (captured != null) {
+                    captured.add(new Statement(sql, parameters.values().toArray()));
+                }
+            }
+            return method.invoke(target, args);
+        });
+    }
+
+    private interface Handler<T> {
+        Object invoke(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            try {
+                return handler.invoke(target, method, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(SqlCapture.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+}
@@ -0,0 +1,187 @@
+package org.systemhotelowy.integration.report;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.systemhotelowy.dto.report.HotelReportImportSummaryDto;
+import org.systemhotelowy.service.ReportImporter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Semantyka importu raportu: pomijanie błędnych statusów i nieznanych pozycji, "ostatni wygrywa"
+ * dla powtórzeń w różnych fragmentach, odrzucenie raportu zakresowego i brak zmian przy błędzie schematu.
+ */
+@SpringBootTest
+class ReportImporterIntegrationTest {
+
+    private static final String SEED_PREFIX = "IMPORT-";
+    private static final String FIRST_EMAIL = "import-first@hotel.test";
+    private static final String SECOND_EMAIL = "import-second@hotel.test";
+    private static final String UNKNOWN_EMAIL = "import-unknown@hotel.test";
+    private static final LocalDate DATE = LocalDate.of(2041, 4, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReportImporter reportImporter;
+
+    private int roomId;
+    private int taskId;
+    private int firstUserId;
+    private int secondUserId;
+
+    @BeforeEach
+    void seed() {
+        cleanUp();
+
+        for (String email : new String[]{FIRST_EMAIL, SECOND_EMAIL}) {
+            jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, role) VALUES (?, ?, ?, ?, ?)",
+                    "Import", "Seed", email, "x", "CLEANER");
+        }
+        firstUserId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Integer.class, FIRST_EMAIL);
+        secondUserId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Integer.class, SECOND_EMAIL);
+
+        jdbcTemplate.update("INSERT INTO rooms (number, floor, type, room_status, capacity) VALUES (?, ?, ?, ?, ?)",
+                SEED_PREFIX + "1", 96, "SINGLE", "READY", 1);
+        roomId = jdbcTemplate.queryForObject("SELECT id FROM rooms WHERE number = ?", Integer.class, SEED_PREFIX + "1");
+
+        jdbcTemplate.update("INSERT INTO tasks (description, status, scheduled_at, duration_in_minutes, " +
+                        "assigned_to_id, room_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, NOW(), NOW())",
+                SEED_PREFIX + "task", "PENDING", Timestamp.valueOf(DATE.atTime(10, 0)), 30, firstUserId, roomId);
+        taskId = jdbcTemplate.queryForObject("SELECT id FROM tasks WHERE description = ?", Integer.class, SEED_PREFIX + "task");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE description = ?", SEED_PREFIX + "task");
+        jdbcTemplate.update("DELETE FROM rooms WHERE number LIKE ?", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email IN (?, ?)", FIRST_EMAIL, SECOND_EMAIL);
+    }
+
+    // -------------------------------------------------
+    // Błędne statusy, nieznane ID i e-maile
+    // -------------------------------------------------
+    @Test
+    void importReport_shouldSkipInvalidStatusesButApplyRestOfEntry() {
+        String xml = report(
+                room(roomId, "SPARKLING"),
+                task(taskId, "FINISHED", SECOND_EMAIL));
+
+        HotelReportImportSummaryDto summary = reportImporter.importReport(stream(xml));
+
+        assertThat(summary.getRoomsCount()).isEqualTo(1);
+        assertThat(roomStatus()).isEqualTo("READY");
+        assertThat(taskStatus()).isEqualTo("PENDING");
+        assertThat(taskAssignee()).isEqualTo(secondUserId);
+    }
+
+    @Test
+    void importReport_shouldIgnoreUnknownIdsAndEmails() {
+        String xml = report(
+                room(Integer.MAX_VALUE, "DIRTY") + room(roomId, "CLEANING"),
+                task(Integer.MAX_VALUE, "DONE", SECOND_EMAIL) + task(taskId, "IN_PROGRESS", UNKNOWN_EMAIL));
+
+        HotelReportImportSummaryDto summary = reportImporter.importReport(stream(xml));
+
+        assertThat(summary.getRoomsCount()).isEqualTo(2);
+        assertThat(summary.getTasksCount()).isEqualTo(2);
+        assertThat(roomStatus()).isEqualTo("CLEANING");
+        assertThat(taskStatus()).isEqualTo("IN_PROGRESS");
+        assertThat(taskAssignee()).isEqualTo(firstUserId);
+    }
+
+    // -------------------------------------------------
+    // Powtórzenia w różnych fragmentach - ostatni wygrywa
+    // -------------------------------------------------
+    @Test
+    void importReport_shouldApplyLastOccurrenceAcrossChunks() {
+        StringBuilder rooms = new StringBuilder(room(roomId, "DIRTY"));
+        StringBuilder tasks = new StringBuilder(task(taskId, "IN_PROGRESS", SECOND_EMAIL));
+        // wypełnienie nieznanymi ID, żeby drugie wystąpienie trafiło do kolejnego fragmentu
+        for (int i = 0; i < ReportImporter.CHUNK_SIZE; i++) {
+            rooms.append(room(Integer.MAX_VALUE - i, "DIRTY"));
+            tasks.append(task(Integer.MAX_VALUE - i, "DONE", FIRST_EMAIL));
+        }
+        rooms.append(room(roomId, "CLEANING"));
+        tasks.append(task(taskId, "DONE", FIRST_EMAIL));
+
+        reportImporter.importReport(stream(report(rooms.toString(), tasks.toString())));
+
+        assertThat(roomStatus()).isEqualTo("CLEANING");
+        assertThat(taskStatus()).isEqualTo("DONE");
+        assertThat(taskAssignee()).isEqualTo(firstUserId);
+    }
+
+    // -------------------------------------------------
+    // Odrzucane dokumenty - bez żadnych zmian
+    // -------------------------------------------------
+    @Test
+    void importReport_shouldRejectRangeReport() {
+        String xml = "<hotelRangeReport from=\"" + DATE + "\" to=\"" + DATE + "\"><day date=\"" + DATE + "\">" +
+                "<rooms>" + room(roomId, "DIRTY") + "</rooms><tasks/><reservations/></day></hotelRangeReport>";
+
+        assertThatThrownBy(() -> reportImporter.importReport(stream(xml)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("hotelReport");
+        assertThat(roomStatus()).isEqualTo("READY");
+    }
+
+    @Test
+    void importReport_shouldChangeNothingWhenSchemaErrorIsAtTheEnd() {
+        StringBuilder rooms = new StringBuilder(room(roomId, "DIRTY"));
+        StringBuilder tasks = new StringBuilder(task(taskId, "DONE", SECOND_EMAIL));
+        for (int i = 0; i < 2 * ReportImporter.CHUNK_SIZE; i++) {
+            rooms.append(room(Integer.MAX_VALUE - i, "DIRTY"));
+            tasks.append(task(Integer.MAX_VALUE - i, "DONE", SECOND_EMAIL));
+        }
+        // sekcja reservations zastąpiona nieznanym elementem na samym końcu dokumentu
+        String xml = "<hotelReport date=\"" + DATE + "\"><rooms>" + rooms + "</rooms><tasks>" + tasks + "</tasks>" +
+                "<unexpected/></hotelReport>";
+
+        assertThatThrownBy(() -> reportImporter.importReport(stream(xml)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(roomStatus()).isEqualTo("READY");
+        assertThat(taskStatus()).isEqualTo("PENDING");
+        assertThat(taskAssignee()).isEqualTo(firstUserId);
+    }
+
+    private static String report(String rooms, String tasks) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><hotelReport date=\"" + DATE + "\">" +
+                "<rooms>" + rooms + "</rooms><tasks>" + tasks + "</tasks><reservations/></hotelReport>";
+    }
+
+    private static String room(int id, String status) {
+        return "<room id=\"" + id + "\" status=\"" + status + "\"/>";
+    }
+
+    private static String task(int id, String status, String email) {
+        return "<task id=\"" + id + "\" status=\"" + status + "\" assignedToEmail=\"" + email + "\"/>";
+    }
+
+    private static ByteArrayInputStream stream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String roomStatus() {
+        return jdbcTemplate.queryForObject("SELECT room_status FROM rooms WHERE id = ?", String.class, roomId);
+    }
+
+    private String taskStatus() {
+        return jdbcTemplate.queryForObject("SELECT status FROM tasks WHERE id = ?", String.class, taskId);
+    }
+
+    private int taskAssignee() {
+        return jdbcTemplate.queryForObject("SELECT assigned_to_id FROM tasks WHERE id = ?", Integer.class, taskId);
+    }
+}
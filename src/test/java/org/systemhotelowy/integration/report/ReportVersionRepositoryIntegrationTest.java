@@ -0,0 +1,121 @@
+package org.systemhotelowy.integration.report;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.systemhotelowy.repository.ReportVersionRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Wersja danych raportu zmienia się przy zmianach w zakresie (edycja, usunięcie, nowa rezerwacja, pokój)
+ * i nie zmienia się przy zmianach w innych dniach.
+ */
+@SpringBootTest
+class ReportVersionRepositoryIntegrationTest {
+
+    private static final String SEED_PREFIX = "VERSION-";
+    private static final String EMAIL = "version-seed@hotel.test";
+    private static final LocalDate DATE = LocalDate.of(2042, 5, 10);
+    private static final LocalDateTime SEEDED_AT = LocalDateTime.of(2042, 1, 1, 10, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReportVersionRepository reportVersionRepository;
+
+    private int roomId;
+    private int userId;
+
+    @BeforeEach
+    void seed() {
+        cleanUp();
+
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, role) VALUES (?, ?, ?, ?, ?)",
+                "Version", "Seed", EMAIL, "x", "CLEANER");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Integer.class, EMAIL);
+
+        jdbcTemplate.update("INSERT INTO rooms (number, floor, type, room_status, capacity) VALUES (?, ?, ?, ?, ?)",
+                SEED_PREFIX + "1", 95, "SINGLE", "READY", 1);
+        roomId = jdbcTemplate.queryForObject("SELECT id FROM rooms WHERE number = ?", Integer.class, SEED_PREFIX + "1");
+
+        insertTask(SEED_PREFIX + "in-range", DATE);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE description LIKE ?", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM reservations WHERE guest_name LIKE ?", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM rooms WHERE number LIKE ?", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", EMAIL);
+    }
+
+    // -------------------------------------------------
+    // Zmiany w zakresie
+    // -------------------------------------------------
+    @Test
+    void rangeVersion_shouldChangeWhenTaskInRangeIsEditedOrDeleted() {
+        String seeded = reportVersionRepository.rangeVersion(DATE, DATE);
+
+        jdbcTemplate.update("UPDATE tasks SET status = 'DONE', updated_at = ? WHERE description = ?",
+                Timestamp.valueOf(SEEDED_AT.plusSeconds(1)), SEED_PREFIX + "in-range");
+        String edited = reportVersionRepository.rangeVersion(DATE, DATE);
+
+        jdbcTemplate.update("DELETE FROM tasks WHERE description = ?", SEED_PREFIX + "in-range");
+        String deleted = reportVersionRepository.rangeVersion(DATE, DATE);
+
+        assertThat(edited).isNotEqualTo(seeded);
+        assertThat(deleted).isNotEqualTo(edited);
+    }
+
+    @Test
+    void rangeVersion_shouldChangeWhenReservationOverlapsRange() {
+        String before = reportVersionRepository.rangeVersion(DATE, DATE);
+
+        jdbcTemplate.update("INSERT INTO reservations (room_id, check_in_date, check_out_date, guest_name, guest_phone, " +
+                        "number_of_guests, total_price, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                roomId, DATE.minusDays(2), DATE.plusDays(1), SEED_PREFIX + "guest", "500100200", 1, 100,
+                "CONFIRMED", Timestamp.valueOf(SEEDED_AT), Timestamp.valueOf(SEEDED_AT));
+
+        assertThat(reportVersionRepository.rangeVersion(DATE, DATE)).isNotEqualTo(before);
+    }
+
+    @Test
+    void rangeVersion_shouldChangeWhenRoomChanges() {
+        String before = reportVersionRepository.rangeVersion(DATE, DATE);
+
+        jdbcTemplate.update("UPDATE rooms SET room_status = 'DIRTY', updated_at = NOW(6) WHERE id = ?", roomId);
+
+        assertThat(reportVersionRepository.rangeVersion(DATE, DATE)).isNotEqualTo(before);
+    }
+
+    // -------------------------------------------------
+    // Zmiany poza zakresem
+    // -------------------------------------------------
+    @Test
+    void rangeVersion_shouldIgnoreTasksAndReservationsOnOtherDays() {
+        String before = reportVersionRepository.rangeVersion(DATE, DATE);
+
+        insertTask(SEED_PREFIX + "later", DATE.plusDays(5));
+        jdbcTemplate.update("INSERT INTO reservations (room_id, check_in_date, check_out_date, guest_name, guest_phone, " +
+                        "number_of_guests, total_price, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW(6))",
+                roomId, DATE.plusDays(3), DATE.plusDays(4), SEED_PREFIX + "later", "500100200", 1, 100, "CONFIRMED");
+
+        assertThat(reportVersionRepository.rangeVersion(DATE, DATE)).isEqualTo(before);
+    }
+
+    private void insertTask(String description, LocalDate date) {
+        jdbcTemplate.update("INSERT INTO tasks (description, status, scheduled_at, duration_in_minutes, " +
+                        "assigned_to_id, room_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                description, "PENDING", Timestamp.valueOf(date.atTime(10, 0)), 30, userId, roomId,
+                Timestamp.valueOf(SEEDED_AT), Timestamp.valueOf(SEEDED_AT));
+    }
+}
@@ -0,0 +1,134 @@
+package org.systemhotelowy.integration.reservation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.systemhotelowy.dto.ReservationRequest;
+import org.systemhotelowy.service.ReservationService;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Równoległe rezerwacje nakładających się terminów przez ReservationService.create - pełna ścieżka:
+ * blokada w JVM, SELECT ... FOR UPDATE na pokoju, sprawdzenie w bazie przy READ_COMMITTED.
+ * W bazie nie może pojawić się żadna para aktywnych rezerwacji tego samego pokoju o nakładających się terminach,
+ * a każda próba kończy się zapisem albo odrzuceniem. Przepustowość mierzy ReservationBookingBenchmark.
+ */
+@SpringBootTest
+class ReservationConcurrencyIntegrationTest {
+
+    private static final String SEED_ROOM_PREFIX = "CONCURRENCY-";
+    private static final String SEED_GUEST = "CONCURRENCY-SEED";
+    private static final int ROOMS = 8;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 40;
+    private static final int NIGHTS = 30;
+    private static final LocalDate BASE = LocalDate.of(2045, 6, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    private final List<Integer> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        cleanUp();
+        for (int i = 0; i < ROOMS; i++) {
+            jdbcTemplate.update("INSERT INTO rooms (number, floor, type, room_status, capacity) VALUES (?, ?, ?, ?, ?)",
+                    SEED_ROOM_PREFIX + i, 98, "SINGLE", "READY", 2);
+        }
+        roomIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM rooms WHERE number LIKE ? ORDER BY id", Integer.class, SEED_ROOM_PREFIX + "%"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM reservations WHERE guest_name = ?", SEED_GUEST);
+        jdbcTemplate.update("DELETE FROM rooms WHERE number LIKE ?", SEED_ROOM_PREFIX + "%");
+        roomIds.clear();
+    }
+
+    @Test
+    void concurrentCreate_shouldNeverStoreOverlappingReservations() throws Exception {
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    LocalDate checkIn = BASE.plusDays(random.nextInt(0, NIGHTS - 3));
+                    ReservationRequest request = request(roomIds.get(random.nextInt(ROOMS)),
+                            checkIn, checkIn.plusDays(random.nextInt(1, 4)));
+                    try {
+                        reservationService.create(request);
+                        accepted.incrementAndGet();
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        // termin zajęty albo przekroczony czas oczekiwania na blokadę pokoju
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(120, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        assertThat(accepted.get() + rejected.get()).isEqualTo(attempts);
+        assertThat(accepted.get()).isPositive();
+
+        // ta sama definicja nakładania się co w findOverlappingReservations (granice włącznie)
+        Integer overlapping = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservations a JOIN reservations b " +
+                        "ON a.room_id = b.room_id AND a.id < b.id " +
+                        "AND a.check_in_date <= b.check_out_date AND a.check_out_date >= b.check_in_date " +
+                        "WHERE a.guest_name = ? AND b.guest_name = ? " +
+                        "AND a.status NOT IN ('CANCELLED', 'CHECKED_OUT') AND b.status NOT IN ('CANCELLED', 'CHECKED_OUT')",
+                Integer.class, SEED_GUEST, SEED_GUEST);
+        assertThat(overlapping).isZero();
+
+        Integer stored = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservations WHERE guest_name = ?", Integer.class, SEED_GUEST);
+        assertThat(stored).isEqualTo(accepted.get());
+    }
+
+    private static ReservationRequest request(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        ReservationRequest request = new ReservationRequest();
+        request.setRoomId(roomId);
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkOut);
+        request.setGuestName(SEED_GUEST);
+        request.setGuestEmail("concurrency@hotel.test");
+        request.setGuestPhone("000000000");
+        request.setNumberOfGuests(1);
+        request.setTotalPrice(BigDecimal.valueOf(100));
+        return request;
+    }
+}
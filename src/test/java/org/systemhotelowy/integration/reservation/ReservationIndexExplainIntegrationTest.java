@@ -0,0 +1,149 @@
+package org.systemhotelowy.integration.reservation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.systemhotelowy.integration.SqlCapture;
+import org.systemhotelowy.repository.ReservationRepository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sprawdza planem zapytania (EXPLAIN), że zapytania o okres i o nakładanie się terminów
+ * korzystają z indeksów złożonych na tabeli reservations i pomijają historię sprzed szukanego okresu.
+ * <p>
+ * EXPLAIN jest wykonywany na SQL, który faktycznie wygenerował Hibernate dla metod repozytorium
+ * (przechwyconym przez {@link SqlCapture}), a nie na ręcznie przepisanym zapytaniu.
+ */
+@SpringBootTest
+@Import(SqlCapture.Config.class)
+class ReservationIndexExplainIntegrationTest {
+
+    private static final String SEED_GUEST = "EXPLAIN-SEED";
+    private static final String SEED_ROOM_PREFIX = "EXPLAIN-";
+    private static final int ROOMS = 40;
+    private static final int HISTORY_PER_ROOM = 500;
+    private static final LocalDate HISTORY_START = LocalDate.of(2036, 1, 1);
+    private static final LocalDate WINDOW_START = LocalDate.of(2040, 3, 10);
+    private static final LocalDate WINDOW_END = LocalDate.of(2040, 3, 12);
+    private static final Pattern RESERVATIONS_ALIAS = Pattern.compile("from reservations (\\w+)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private final List<Integer> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        cleanUp();
+
+        for (int i = 0; i < ROOMS; i++) {
+            jdbcTemplate.update("INSERT INTO rooms (number, floor, type, room_status, capacity) VALUES (?, ?, ?, ?, ?)",
+                    SEED_ROOM_PREFIX + i, 99, "SINGLE", "READY", 2);
+        }
+        roomIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM rooms WHERE number LIKE ? ORDER BY id", Integer.class, SEED_ROOM_PREFIX + "%"));
+
+        // każdy pokój: historia kolejnych 2-dniowych pobytów (2036-2038, 20 000 wierszy)
+        // i jeden pobyt w szukanym okresie w 2040
+        List<Object[]> rows = new ArrayList<>(ROOMS * (HISTORY_PER_ROOM + 1));
+        for (Integer roomId : roomIds) {
+            for (int n = 0; n < HISTORY_PER_ROOM; n++) {
+                LocalDate checkIn = HISTORY_START.plusDays(n * 2L);
+                rows.add(new Object[]{roomId, Date.valueOf(checkIn), Date.valueOf(checkIn.plusDays(2)),
+                        SEED_GUEST, "000000000", 1, 100, n % 10 == 0 ? "CANCELLED" : "CHECKED_OUT"});
+            }
+            rows.add(new Object[]{roomId, Date.valueOf(WINDOW_START), Date.valueOf(WINDOW_END),
+                    SEED_GUEST, "000000000", 1, 100, "CONFIRMED"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO reservations (room_id, check_in_date, check_out_date, guest_name, " +
+                "guest_phone, number_of_guests, total_price, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, NOW())", rows);
+        jdbcTemplate.execute("ANALYZE TABLE reservations");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM reservations WHERE guest_name = ?", SEED_GUEST);
+        jdbcTemplate.update("DELETE FROM rooms WHERE number LIKE ?", SEED_ROOM_PREFIX + "%");
+        roomIds.clear();
+    }
+
+    // -------------------------------------------
+    // 1. Okres (kalendarz) - findReservationsInPeriod
+    // -------------------------------------------
+    @Test
+    void periodQuery_shouldSkipHistoryUsingCheckoutIndex() {
+        SqlCapture.start();
+        reservationRepository.findReservationsInPeriod(WINDOW_START, WINDOW_END);
+        Map<String, Object> plan = explainCaptured();
+
+        assertThat(plan.get("key")).isEqualTo("idx_reservations_checkout_checkin");
+        assertThat(plan.get("type")).isEqualTo("range");
+        // w okresie jest 40 wierszy; pełny zakres po check_in_date <= koniec objąłby ~20 000
+        assertThat(rows(plan)).isLessThan(1_000);
+    }
+
+    // -------------------------------------------
+    // 2. Nakładanie się terminów w pokoju - existsOverlappingReservation
+    // -------------------------------------------
+    @Test
+    void overlapQuery_shouldSkipRoomHistoryUsingRoomDatesIndex() {
+        SqlCapture.start();
+        reservationRepository.existsOverlappingReservation(roomIds.get(0), WINDOW_START, WINDOW_END, null);
+        Map<String, Object> plan = explainCaptured();
+
+        assertThat(plan.get("key")).isEqualTo("idx_reservations_room_dates");
+        // pokój ma 500 wierszy historii i jeden w okresie
+        assertThat(rows(plan)).isLessThan(50);
+    }
+
+    // -------------------------------------------
+    // 3. Liczba rezerwacji pokoju w okresie - countReservationsForRoomInPeriod
+    // -------------------------------------------
+    @Test
+    void roomCountQuery_shouldSkipRoomHistoryUsingRoomDatesIndex() {
+        SqlCapture.start();
+        reservationRepository.countReservationsForRoomInPeriod(roomIds.get(0), WINDOW_START, WINDOW_END);
+        Map<String, Object> plan = explainCaptured();
+
+        assertThat(plan.get("key")).isEqualTo("idx_reservations_room_dates");
+        assertThat(rows(plan)).isLessThan(50);
+    }
+
+    /**
+     * EXPLAIN jedynego przechwyconego zapytania; zwraca wiersz planu dla tabeli reservations.
+     */
+    private Map<String, Object> explainCaptured() {
+        List<SqlCapture.Statement> statements = SqlCapture.stop();
+        assertThat(statements).hasSize(1);
+        SqlCapture.Statement statement = statements.get(0);
+
+        Matcher alias = RESERVATIONS_ALIAS.matcher(statement.getSql());
+        assertThat(alias.find()).as("SQL: %s", statement.getSql()).isTrue();
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + statement.getSql(), statement.getParameters());
+        return plan.stream()
+                .filter(row -> alias.group(1).equals(row.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No plan row for reservations in " + plan));
+    }
+
+    private static long rows(Map<String, Object> plan) {
+        return ((Number) plan.get("rows")).longValue();
+    }
+}
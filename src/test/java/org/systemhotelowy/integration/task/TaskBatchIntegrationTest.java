@@ -0,0 +1,143 @@
+package org.systemhotelowy.integration.task;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.Task;
+import org.systemhotelowy.model.TaskStatus;
+import org.systemhotelowy.model.User;
+import org.systemhotelowy.repository.RoomRepository;
+import org.systemhotelowy.repository.UserRepository;
+import org.systemhotelowy.service.TaskService;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Wsadowe tworzenie zadań przez JDBC batch: zapis wszystkich kolumn i ID, oraz Bean Validation
+ * przed zapisem (jak dawniej przy saveAll) - niepoprawna paczka nie zapisuje niczego.
+ */
+@SpringBootTest
+class TaskBatchIntegrationTest {
+
+    private static final String SEED_PREFIX = "BATCH-";
+    private static final String SEED_EMAIL = "batch-seed@hotel.test";
+    private static final LocalDate DAY = LocalDate.of(2046, 3, 15);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Room first;
+    private Room second;
+    private User cleaner;
+
+    @BeforeEach
+    void seed() {
+        cleanUp();
+
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, role) VALUES (?, ?, ?, ?, ?)",
+                "Batch", "Seed", SEED_EMAIL, "x", "CLEANER");
+        for (int i = 0; i < 2; i++) {
+            jdbcTemplate.update("INSERT INTO rooms (number, floor, type, room_status, capacity) VALUES (?, ?, ?, ?, ?)",
+                    SEED_PREFIX + i, 94, "SINGLE", "READY", 1);
+        }
+        cleaner = userRepository.findByEmail(SEED_EMAIL).orElseThrow();
+        first = roomRepository.findByNumber(SEED_PREFIX + 0).orElseThrow();
+        second = roomRepository.findByNumber(SEED_PREFIX + 1).orElseThrow();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE room_id IN (SELECT id FROM rooms WHERE number LIKE ?)", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM task_day_capacity WHERE task_date = ?", Date.valueOf(DAY));
+        jdbcTemplate.update("DELETE FROM rooms WHERE number LIKE ?", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", SEED_EMAIL);
+    }
+
+    // -------------------------------------------------
+    // Zapis paczki
+    // -------------------------------------------------
+    @Test
+    void createBatch_shouldInsertAllColumnsAndAssignIds() {
+        List<Task> created = taskService.createBatch(List.of(
+                task(first, SEED_PREFIX + "task", 45),
+                task(second, SEED_PREFIX + "task", 30)));
+
+        assertThat(created).allSatisfy(task -> {
+            assertThat(task.getId()).isNotNull();
+            assertThat(task.getCreatedAt()).isNotNull();
+        });
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT description, status, duration_in_minutes, assigned_to_id, room_id " +
+                        "FROM tasks WHERE id = ?", created.get(0).getId());
+        assertThat(row.get("description")).isEqualTo(SEED_PREFIX + "task");
+        assertThat(row.get("status")).isEqualTo("PENDING");
+        assertThat(((Number) row.get("duration_in_minutes")).intValue()).isEqualTo(45);
+        assertThat(((Number) row.get("assigned_to_id")).intValue()).isEqualTo(cleaner.getId());
+        assertThat(((Number) row.get("room_id")).intValue()).isEqualTo(first.getId());
+        assertThat(jdbcTemplate.queryForObject("SELECT scheduled_at FROM tasks WHERE id = ?", LocalDateTime.class,
+                created.get(1).getId())).isEqualTo(DAY.atTime(9, 0));
+    }
+
+    // -------------------------------------------------
+    // Bean Validation - paczka odrzucona w całości
+    // -------------------------------------------------
+    @Test
+    void createBatch_shouldRejectBlankDescription() {
+        assertRejected(task(first, SEED_PREFIX + "task", 30), task(second, " ", 30));
+    }
+
+    @Test
+    void createBatch_shouldRejectNonPositiveDuration() {
+        assertRejected(task(first, SEED_PREFIX + "task", 30), task(second, SEED_PREFIX + "task", 0));
+    }
+
+    @Test
+    void createBatch_shouldRejectMissingDuration() {
+        assertRejected(task(first, SEED_PREFIX + "task", 30), task(second, SEED_PREFIX + "task", null));
+    }
+
+    private void assertRejected(Task... tasks) {
+        assertThatThrownBy(() -> taskService.createBatch(List.of(tasks)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("nr 2");
+
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE room_id IN (?, ?)",
+                Integer.class, first.getId(), second.getId());
+        assertThat(count).isZero();
+        // walidacja przed zajęciem miejsca w limicie dnia
+        Integer reserved = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_day_capacity WHERE task_date = ? " +
+                "AND task_count > 0", Integer.class, Date.valueOf(DAY));
+        assertThat(reserved).isZero();
+    }
+
+    private Task task(Room room, String description, Integer duration) {
+        Task task = new Task();
+        task.setDescription(description);
+        task.setStatus(TaskStatus.PENDING);
+        task.setScheduledAt(DAY.atTime(9, 0));
+        task.setDurationInMinutes(duration);
+        task.setAssignedTo(cleaner);
+        task.setRoom(room);
+        return task;
+    }
+}
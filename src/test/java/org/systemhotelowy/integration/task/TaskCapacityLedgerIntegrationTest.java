@@ -0,0 +1,173 @@
+package org.systemhotelowy.integration.task;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.Task;
+import org.systemhotelowy.model.User;
+import org.systemhotelowy.repository.RoomRepository;
+import org.systemhotelowy.repository.UserRepository;
+import org.systemhotelowy.service.TaskCapacityLedger;
+import org.systemhotelowy.service.TaskService;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Dzienny limit zadań (tyle zadań ile pokoi) pilnowany przez TaskCapacityLedger:
+ * równoległe TaskService.create nie mogą go przekroczyć, a reconcile() naprawia licznik
+ * po usunięciu zadań z pominięciem serwisu (jak kaskada przy usuwaniu pokoju).
+ */
+@SpringBootTest
+class TaskCapacityLedgerIntegrationTest {
+
+    private static final String SEED_PREFIX = "CAPACITY-";
+    private static final String SEED_EMAIL = "capacity-seed@hotel.test";
+    private static final int ROOMS = 5;
+    private static final int THREADS = 12;
+    private static final int ATTEMPTS_PER_THREAD = 10;
+    private static final LocalDate DAY = LocalDate.of(2046, 2, 10);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCapacityLedger capacityLedger;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Room room;
+    private User cleaner;
+
+    @BeforeEach
+    void seed() {
+        cleanUp();
+
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, role) VALUES (?, ?, ?, ?, ?)",
+                "Capacity", "Seed", SEED_EMAIL, "x", "CLEANER");
+        for (int i = 0; i < ROOMS; i++) {
+            jdbcTemplate.update("INSERT INTO rooms (number, floor, type, room_status, capacity) VALUES (?, ?, ?, ?, ?)",
+                    SEED_PREFIX + i, 97, "SINGLE", "READY", 1);
+        }
+        cleaner = userRepository.findByEmail(SEED_EMAIL).orElseThrow();
+        room = roomRepository.findByNumber(SEED_PREFIX + 0).orElseThrow();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE description = ?", SEED_PREFIX + "task");
+        jdbcTemplate.update("DELETE FROM task_day_capacity WHERE task_date = ?", Date.valueOf(DAY));
+        jdbcTemplate.update("DELETE FROM rooms WHERE number LIKE ?", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", SEED_EMAIL);
+    }
+
+    // -------------------------------------------------
+    // Równoległe tworzenie - limit nie może zostać przekroczony
+    // -------------------------------------------------
+    @Test
+    void concurrentCreate_shouldNeverExceedDailyLimit() throws Exception {
+        int limit = roomCount();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // więcej prób niż miejsc w limicie, o ile baza nie ma bardzo wielu pokoi
+        int attemptsPerThread = Math.max(ATTEMPTS_PER_THREAD, limit / THREADS + ATTEMPTS_PER_THREAD);
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    try {
+                        taskService.create(task());
+                        accepted.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        assertThat(accepted.get()).isEqualTo(limit);
+        assertThat(rejected.get()).isEqualTo(THREADS * attemptsPerThread - limit);
+        assertThat(tasksOnDay()).isEqualTo(limit);
+        assertThat(counter()).isEqualTo(limit);
+    }
+
+    // -------------------------------------------------
+    // Uzgodnienie licznika po usunięciu zadań z pominięciem serwisu
+    // -------------------------------------------------
+    @Test
+    void reconcile_shouldFreeCapacityAfterDeletesOutsideService() {
+        int limit = roomCount();
+        for (int i = 0; i < limit; i++) {
+            taskService.create(task());
+        }
+        assertThatThrownBy(() -> taskService.create(task())).isInstanceOf(IllegalStateException.class);
+
+        // jak kaskada przy usuwaniu pokoju: zadania znikają, licznik zostaje za wysoki
+        jdbcTemplate.update("DELETE FROM tasks WHERE description = ? AND scheduled_at >= ? AND scheduled_at < ?",
+                SEED_PREFIX + "task", Timestamp.valueOf(DAY.atStartOfDay()), Timestamp.valueOf(DAY.plusDays(1).atStartOfDay()));
+        assertThat(counter()).isEqualTo(limit);
+
+        capacityLedger.reconcile();
+
+        assertThat(counter()).isEqualTo(tasksOnDay()).isZero();
+        taskService.create(task());
+        assertThat(counter()).isEqualTo(1);
+    }
+
+    private Task task() {
+        Task task = new Task();
+        task.setDescription(SEED_PREFIX + "task");
+        task.setScheduledAt(DAY.atTime(10, 0));
+        task.setDurationInMinutes(30);
+        task.setAssignedTo(cleaner);
+        task.setRoom(room);
+        return task;
+    }
+
+    private int roomCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM rooms", Integer.class);
+    }
+
+    private int tasksOnDay() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE scheduled_at >= ? AND scheduled_at < ?",
+                Integer.class, Timestamp.valueOf(DAY.atStartOfDay()), Timestamp.valueOf(DAY.plusDays(1).atStartOfDay()));
+    }
+
+    private int counter() {
+        return jdbcTemplate.queryForObject("SELECT task_count FROM task_day_capacity WHERE task_date = ?",
+                Integer.class, Date.valueOf(DAY));
+    }
+}
@@ -0,0 +1,143 @@
+package org.systemhotelowy.integration.task;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.systemhotelowy.integration.SqlCapture;
+import org.systemhotelowy.repository.TaskRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Regresja planów zapytań o zadania: każde zapytanie dzienne z TaskRepository musi korzystać z indeksu
+ * (EXPLAIN nie może pokazać pełnego skanu tabeli tasks). EXPLAIN jest wykonywany na SQL, który Hibernate
+ * faktycznie wysłał dla metod repozytorium (przechwyconym przez {@link SqlCapture}).
+ */
+@SpringBootTest
+@Import(SqlCapture.Config.class)
+class TaskQueryPlanIntegrationTest {
+
+    private static final String SEED_PREFIX = "PLAN-";
+    private static final String SEED_EMAIL = "plan-seed@hotel.test";
+    private static final int ROOMS = 40;
+    private static final int DAYS = 365;
+    private static final LocalDate BASE = LocalDate.of(2040, 1, 1);
+    private static final Pattern TASKS_ALIAS = Pattern.compile("from tasks (\\w+)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final List<Integer> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        cleanUp();
+
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, role) VALUES (?, ?, ?, ?, ?)",
+                "Plan", "Seed", SEED_EMAIL, "x", "CLEANER");
+        Integer userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Integer.class, SEED_EMAIL);
+
+        for (int i = 0; i < ROOMS; i++) {
+            jdbcTemplate.update("INSERT INTO rooms (number, floor, type, room_status, capacity) VALUES (?, ?, ?, ?, ?)",
+                    SEED_PREFIX + i, 98, "SINGLE", "READY", 1);
+        }
+        roomIds.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM rooms WHERE number LIKE ? ORDER BY id", Integer.class, SEED_PREFIX + "%"));
+
+        // jedno zadanie dziennie w każdym pokoju przez rok -> 14 600 wierszy
+        List<Object[]> rows = new ArrayList<>(ROOMS * DAYS);
+        for (Integer roomId : roomIds) {
+            for (int day = 0; day < DAYS; day++) {
+                rows.add(new Object[]{SEED_PREFIX + "task", "PENDING",
+                        Timestamp.valueOf(BASE.plusDays(day).atTime(10, 0)), 30, userId, roomId});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (description, status, scheduled_at, duration_in_minutes, " +
+                "assigned_to_id, room_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, NOW(), NOW())", rows);
+        jdbcTemplate.execute("ANALYZE TABLE tasks");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE description = ?", SEED_PREFIX + "task");
+        jdbcTemplate.update("DELETE FROM rooms WHERE number LIKE ?", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email = ?", SEED_EMAIL);
+        roomIds.clear();
+    }
+
+    // -------------------------------------------
+    // 1. findByScheduledAtRange / countByScheduledAtRange
+    // -------------------------------------------
+    @Test
+    void dayQueries_shouldRangeScanScheduledAtIndex() {
+        LocalDate day = BASE.plusDays(100);
+
+        SqlCapture.start();
+        taskRepository.findByScheduledAtRange(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        assertUsesIndex(SqlCapture.stop(), "idx_tasks_scheduled_at");
+
+        SqlCapture.start();
+        taskRepository.countByScheduledAtRange(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        assertUsesIndex(SqlCapture.stop(), "idx_tasks_scheduled_at");
+    }
+
+    // -------------------------------------------
+    // 2. findByRoomIdAndScheduledAtRange / findRoomIdsWithTasksBetween
+    // -------------------------------------------
+    @Test
+    void roomDayQueries_shouldUseRoomScheduledAtIndex() {
+        LocalDate day = BASE.plusDays(100);
+
+        SqlCapture.start();
+        taskRepository.findByRoomIdAndScheduledAtRange(roomIds.get(0), day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        assertUsesIndex(SqlCapture.stop(), "idx_tasks_room_scheduled_at");
+
+        SqlCapture.start();
+        taskRepository.findRoomIdsWithTasksBetween(roomIds.subList(0, 3), day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        assertUsesIndex(SqlCapture.stop(), null);
+    }
+
+    /**
+     * EXPLAIN pierwszego przechwyconego zapytania do tabeli tasks (kolejne mogą doczytywać powiązania).
+     * Plan nie może być pełnym skanem i musi szacować co najwyżej kilka dni danych zamiast całej tabeli;
+     * expectedKey = null akceptuje dowolny indeks.
+     */
+    private void assertUsesIndex(List<SqlCapture.Statement> statements, String expectedKey) {
+        SqlCapture.Statement statement = statements.stream()
+                .filter(captured -> TASKS_ALIAS.matcher(captured.getSql()).find())
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No tasks query captured"));
+        String sql = statement.getSql();
+        Matcher alias = TASKS_ALIAS.matcher(sql);
+        alias.find();
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, statement.getParameters());
+        Map<String, Object> row = plan.stream()
+                .filter(candidate -> alias.group(1).equals(candidate.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No plan row for tasks in " + plan));
+
+        assertThat(row.get("type")).as("typ dostępu dla: %s", sql).isNotEqualTo("ALL");
+        assertThat(row.get("key")).as("indeks dla: %s", sql).isNotNull();
+        if (expectedKey != null) {
+            assertThat(row.get("key")).as("indeks dla: %s", sql).isEqualTo(expectedKey);
+        }
+        // dzień to 40 wierszy z 14 600
+        assertThat(((Number) row.get("rows")).longValue()).as("szacowane wiersze dla: %s", sql).isLessThan(500);
+    }
+}
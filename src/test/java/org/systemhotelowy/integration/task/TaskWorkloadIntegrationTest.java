@@ -0,0 +1,144 @@
+package org.systemhotelowy.integration.task;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.systemhotelowy.dto.UserTaskCountResponse;
+import org.systemhotelowy.dto.UserWorkloadResponse;
+import org.systemhotelowy.service.TaskService;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Zestawienia dla /api/tasks/count-per-user i /api/tasks/workload: liczby per status i minuty w oknie dni,
+ * sprzątacz bez zadań w oknie z zerami, inni użytkownicy bez zadań pominięci.
+ */
+@SpringBootTest
+class TaskWorkloadIntegrationTest {
+
+    private static final String SEED_PREFIX = "WORKLOAD-";
+    private static final String BUSY_EMAIL = "workload-busy@hotel.test";
+    private static final String IDLE_EMAIL = "workload-idle@hotel.test";
+    private static final String MANAGER_EMAIL = "workload-manager@hotel.test";
+    private static final LocalDate DAY = LocalDate.of(2047, 4, 20);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskService taskService;
+
+    private int busyId;
+    private int idleId;
+    private int managerId;
+    private int roomId;
+
+    @BeforeEach
+    void seed() {
+        cleanUp();
+
+        busyId = insertUser(BUSY_EMAIL, "CLEANER");
+        idleId = insertUser(IDLE_EMAIL, "CLEANER");
+        managerId = insertUser(MANAGER_EMAIL, "MANAGER");
+        jdbcTemplate.update("INSERT INTO rooms (number, floor, type, room_status, capacity) VALUES (?, ?, ?, ?, ?)",
+                SEED_PREFIX + "1", 93, "SINGLE", "READY", 1);
+        roomId = jdbcTemplate.queryForObject("SELECT id FROM rooms WHERE number = ?", Integer.class, SEED_PREFIX + "1");
+
+        insertTask("PENDING", DAY, 30);
+        insertTask("IN_PROGRESS", DAY, 45);
+        insertTask("DONE", DAY, 20);
+        insertTask("CANCELLED", DAY, 60);
+        insertTask("PENDING", DAY.plusDays(10), 90);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE description LIKE ?", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM rooms WHERE number LIKE ?", SEED_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email IN (?, ?, ?)", BUSY_EMAIL, IDLE_EMAIL, MANAGER_EMAIL);
+    }
+
+    // -------------------------------------------------
+    // Liczba zadań na użytkownika
+    // -------------------------------------------------
+    @Test
+    void getTaskCountPerUser_shouldCountAllTasksOfUserWithData() {
+        List<UserTaskCountResponse> counts = taskService.getTaskCountPerUser();
+
+        UserTaskCountResponse busy = counts.stream()
+                .filter(count -> count.getUserId().equals(busyId))
+                .findFirst().orElseThrow();
+        assertThat(busy.getEmail()).isEqualTo(BUSY_EMAIL);
+        assertThat(busy.getTaskCount()).isEqualTo(5);
+    }
+
+    // -------------------------------------------------
+    // Obciążenie w oknie dni
+    // -------------------------------------------------
+    @Test
+    void getWorkloadPerUser_shouldCountStatusesAndMinutesInWindow() {
+        UserWorkloadResponse busy = workloadOf(taskService.getWorkloadPerUser(DAY, DAY), busyId).orElseThrow();
+
+        assertThat(busy.getPendingCount()).isEqualTo(1);
+        assertThat(busy.getInProgressCount()).isEqualTo(1);
+        assertThat(busy.getDoneCount()).isEqualTo(1);
+        assertThat(busy.getCancelledCount()).isEqualTo(1);
+        assertThat(busy.getTaskCount()).isEqualTo(4);
+        // bez anulowanego zadania
+        assertThat(busy.getTotalMinutes()).isEqualTo(95);
+    }
+
+    @Test
+    void getWorkloadPerUser_shouldIncludeWholeHistoryWithoutBounds() {
+        UserWorkloadResponse busy = workloadOf(taskService.getWorkloadPerUser(null, null), busyId).orElseThrow();
+
+        assertThat(busy.getPendingCount()).isEqualTo(2);
+        assertThat(busy.getTaskCount()).isEqualTo(5);
+        assertThat(busy.getTotalMinutes()).isEqualTo(185);
+    }
+
+    @Test
+    void getWorkloadPerUser_shouldListCleanerWithoutTasksInWindow() {
+        List<UserWorkloadResponse> workload = taskService.getWorkloadPerUser(DAY.plusDays(1), DAY.plusDays(2));
+
+        UserWorkloadResponse idle = workloadOf(workload, idleId).orElseThrow();
+        assertThat(idle.getEmail()).isEqualTo(IDLE_EMAIL);
+        assertThat(idle.getTaskCount()).isZero();
+        assertThat(idle.getPendingCount()).isZero();
+        assertThat(idle.getTotalMinutes()).isZero();
+        // sprzątacz z zadaniami tylko poza oknem też ma wiersz z zerami
+        assertThat(workloadOf(workload, busyId).orElseThrow().getTaskCount()).isZero();
+        assertThat(workloadOf(workload, managerId)).isEmpty();
+    }
+
+    @Test
+    void getWorkloadPerUser_shouldRejectReversedRange() {
+        assertThatThrownBy(() -> taskService.getWorkloadPerUser(DAY, DAY.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Optional<UserWorkloadResponse> workloadOf(List<UserWorkloadResponse> workload, int userId) {
+        return workload.stream().filter(row -> row.getUserId().equals(userId)).findFirst();
+    }
+
+    private int insertUser(String email, String role) {
+        jdbcTemplate.update("INSERT INTO users (first_name, last_name, email, password, role) VALUES (?, ?, ?, ?, ?)",
+                "Workload", "Seed", email, "x", role);
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Integer.class, email);
+    }
+
+    private void insertTask(String status, LocalDate date, int minutes) {
+        jdbcTemplate.update("INSERT INTO tasks (description, status, scheduled_at, duration_in_minutes, " +
+                        "assigned_to_id, room_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, NOW(), NOW())",
+                SEED_PREFIX + status, status, Timestamp.valueOf(date.atTime(10, 0)), minutes, busyId, roomId);
+    }
+}
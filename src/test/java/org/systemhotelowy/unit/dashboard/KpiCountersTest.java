@@ -0,0 +1,96 @@
+package org.systemhotelowy.unit.dashboard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.systemhotelowy.model.RoomStatus;
+import org.systemhotelowy.model.TaskStatus;
+import org.systemhotelowy.repository.RoomRepository;
+import org.systemhotelowy.repository.TaskRepository;
+import org.systemhotelowy.service.KpiCounters;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KpiCountersTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private KpiCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new KpiCounters(roomRepository, taskRepository);
+        when(roomRepository.countGroupedByStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{RoomStatus.READY, 5L},
+                new Object[]{RoomStatus.DIRTY, 2L}
+        ));
+        when(taskRepository.countGroupedByUserAndStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{1, TaskStatus.PENDING, 3L},
+                new Object[]{1, TaskStatus.DONE, 4L},
+                new Object[]{2, TaskStatus.IN_PROGRESS, 1L}
+        ));
+        counters.warmUp();
+    }
+
+    // -------------------------------------------------
+    // Ładowanie z zapytań GROUP BY
+    // -------------------------------------------------
+    @Test
+    void warmUp_shouldLoadCountsFromGroupedQueries() {
+        assertThat(counters.roomCount(RoomStatus.READY)).isEqualTo(5);
+        assertThat(counters.roomCount(RoomStatus.DIRTY)).isEqualTo(2);
+        assertThat(counters.roomCount(RoomStatus.OUT_OF_ORDER)).isZero();
+        assertThat(counters.taskCount()).isEqualTo(8);
+        assertThat(counters.taskCountForUser(1)).isEqualTo(7);
+        assertThat(counters.openTaskCountForUser(1)).isEqualTo(3);
+        assertThat(counters.openTaskCountForUser(2)).isEqualTo(1);
+        assertThat(counters.taskCountForUser(99)).isZero();
+    }
+
+    // -------------------------------------------------
+    // Zmiany przyrostowe (bez aktywnej transakcji stosowane od razu)
+    // -------------------------------------------------
+    @Test
+    void changes_shouldMoveCountsBetweenStates() {
+        counters.roomChanged(RoomStatus.READY, RoomStatus.DIRTY);
+        counters.roomChanged(null, RoomStatus.OUT_OF_ORDER);
+        counters.taskChanged(1, TaskStatus.PENDING, 2, TaskStatus.DONE);
+        counters.taskAdded(2, TaskStatus.PENDING);
+        counters.taskRemoved(1, TaskStatus.DONE);
+
+        assertThat(counters.roomCount(RoomStatus.READY)).isEqualTo(4);
+        assertThat(counters.roomCount(RoomStatus.DIRTY)).isEqualTo(3);
+        assertThat(counters.roomCount(RoomStatus.OUT_OF_ORDER)).isEqualTo(1);
+        assertThat(counters.taskCount()).isEqualTo(8);
+        assertThat(counters.taskCountForUser(1)).isEqualTo(5);
+        assertThat(counters.openTaskCountForUser(1)).isEqualTo(2);
+        assertThat(counters.taskCountForUser(2)).isEqualTo(3);
+        assertThat(counters.openTaskCountForUser(2)).isEqualTo(2);
+    }
+
+    // -------------------------------------------------
+    // Uzgadnianie usuwa dryf
+    // -------------------------------------------------
+    @Test
+    void reconcile_shouldCorrectDriftAgainstDatabase() {
+        counters.roomChanged(null, RoomStatus.READY);
+        counters.taskAdded(3, TaskStatus.PENDING);
+
+        counters.reconcile();
+
+        assertThat(counters.roomCount(RoomStatus.READY)).isEqualTo(5);
+        assertThat(counters.taskCount()).isEqualTo(8);
+        assertThat(counters.taskCountForUser(3)).isZero();
+        assertThat(counters.openTaskCountForUser(3)).isZero();
+    }
+}
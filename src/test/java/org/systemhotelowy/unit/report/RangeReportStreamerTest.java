@@ -0,0 +1,144 @@
+package org.systemhotelowy.unit.report;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+import org.systemhotelowy.model.Reservation;
+import org.systemhotelowy.model.ReservationStatus;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.repository.ReservationRepository;
+import org.systemhotelowy.service.RangeReportStreamer;
+import org.systemhotelowy.service.ReportStreamer;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RangeReportStreamerTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 12, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 10);
+
+    private ReportStreamer reportStreamer;
+    private ReservationRepository reservationRepository;
+    private ExecutorService executor;
+    private RangeReportStreamer streamer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        reportStreamer = mock(ReportStreamer.class);
+        reservationRepository = mock(ReservationRepository.class);
+        executor = Executors.newFixedThreadPool(4);
+        streamer = new RangeReportStreamer(reportStreamer, reservationRepository, executor);
+
+        doAnswer(inv -> {
+            Consumer<RoomReportEntry> consumer = inv.getArgument(0);
+            consumer.accept(new RoomReportEntry(1, "101", 1, "READY", "SINGLE"));
+            consumer.accept(new RoomReportEntry(2, "102", 1, "DIRTY", "DOUBLE"));
+            return null;
+        }).when(reportStreamer).forEachRoom(any());
+
+        // jedno zadanie na dzień, z datą dnia w numerze pokoju
+        doAnswer(inv -> {
+            LocalDate day = inv.getArgument(0);
+            Consumer<TaskReportEntry> consumer = inv.getArgument(1);
+            consumer.accept(new TaskReportEntry(day.getDayOfMonth(), "PENDING", "101", null, day.toString(), 30));
+            return null;
+        }).when(reportStreamer).forEachTask(any(), any());
+
+        when(reservationRepository.findReservationsInPeriod(FROM, TO)).thenReturn(new ArrayList<>(List.of(
+                reservation(8, LocalDate.of(2025, 12, 9), LocalDate.of(2025, 12, 12)),
+                reservation(5, LocalDate.of(2025, 11, 28), LocalDate.of(2025, 12, 2))
+        )));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // -------------------------------------------------
+    // Dni w kolejności, wspólny snapshot pokoi, rezerwacje rozdzielone na dni
+    // -------------------------------------------------
+    @Test
+    void writeRangeXml_shouldWriteDaysInOrderFromSharedSnapshot() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamer.writeRangeXml(FROM, TO, out);
+
+        Element root = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(out.toByteArray())).getDocumentElement();
+        assertThat(root.getTagName()).isEqualTo("hotelRangeReport");
+
+        NodeList days = root.getElementsByTagName("day");
+        assertThat(days.getLength()).isEqualTo(10);
+        for (int i = 0; i < days.getLength(); i++) {
+            Element day = (Element) days.item(i);
+            LocalDate date = FROM.plusDays(i);
+            assertThat(day.getAttribute("date")).isEqualTo(date.toString());
+            assertThat(day.getElementsByTagName("room").getLength()).isEqualTo(2);
+            assertThat(((Element) day.getElementsByTagName("task").item(0)).getAttribute("scheduledDate"))
+                    .isEqualTo(date.toString());
+        }
+
+        assertThat(reservationIds((Element) days.item(0))).containsExactly("5");
+        assertThat(reservationIds((Element) days.item(1))).containsExactly("5");
+        assertThat(reservationIds((Element) days.item(4))).isEmpty();
+        assertThat(reservationIds((Element) days.item(9))).containsExactly("8");
+
+        // pokoje i rezerwacje czytane raz na cały zakres
+        verify(reportStreamer, times(1)).forEachRoom(any());
+        verify(reservationRepository, times(1)).findReservationsInPeriod(FROM, TO);
+    }
+
+    @Test
+    void writeRangeXml_shouldRejectInvalidRange() {
+        assertThatThrownBy(() -> streamer.writeRangeXml(TO, FROM, OutputStream.nullOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> streamer.writeRangeXml(FROM, FROM.plusDays(RangeReportStreamer.MAX_DAYS),
+                OutputStream.nullOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> reservationIds(Element day) {
+        NodeList reservations = day.getElementsByTagName("reservation");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < reservations.getLength(); i++) {
+            ids.add(((Element) reservations.item(i)).getAttribute("id"));
+        }
+        return ids;
+    }
+
+    private static Reservation reservation(int id, LocalDate checkIn, LocalDate checkOut) {
+        Room room = new Room();
+        room.setNumber("10" + id);
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setRoom(room);
+        reservation.setGuestName("Gość " + id);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        reservation.setCheckInDate(checkIn);
+        reservation.setCheckOutDate(checkOut);
+        return reservation;
+    }
+}
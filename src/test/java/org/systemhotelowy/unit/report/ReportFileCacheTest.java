@@ -0,0 +1,95 @@
+package org.systemhotelowy.unit.report;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.systemhotelowy.service.ReportFileCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportFileCacheTest {
+
+    @TempDir
+    Path directory;
+
+    // -------------------------------------------------
+    // Zapis, odczyt, ETag
+    // -------------------------------------------------
+    @Test
+    void put_shouldStoreReportUnderStableETag() throws IOException {
+        ReportFileCache cache = new ReportFileCache(directory.toString(), 1024);
+        cache.loadIndex();
+
+        ReportFileCache.CachedReport stored = cache.put("RANGE_XML:2025-12-01:2025-12-07:final", out -> write(out, "<report/>"));
+
+        ReportFileCache.CachedReport read = cache.get("RANGE_XML:2025-12-01:2025-12-07:final").orElseThrow();
+        assertThat(Files.readString(read.getPath())).isEqualTo("<report/>");
+        assertThat(read.getSize()).isEqualTo(9);
+        assertThat(read.getETag()).isEqualTo(stored.getETag()).startsWith("\"").endsWith("\"");
+        assertThat(cache.get("RANGE_XML:2025-12-01:2025-12-08:final")).isEmpty();
+    }
+
+    @Test
+    void put_shouldLeaveNoFileWhenGenerationFails() throws IOException {
+        ReportFileCache cache = new ReportFileCache(directory.toString(), 1024);
+        cache.loadIndex();
+
+        assertThatThrownBy(() -> cache.put("DAILY_XML:2025-12-01:2025-12-01:final", out -> {
+            write(out, "<hotelReport");
+            throw new IllegalStateException("XML report is not valid against schema");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cache.get("DAILY_XML:2025-12-01:2025-12-01:final")).isEmpty();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    // -------------------------------------------------
+    // Limit rozmiaru i trwałość między restartami
+    // -------------------------------------------------
+    @Test
+    void put_shouldEvictLeastRecentlyUsedAboveLimit() throws InterruptedException {
+        ReportFileCache cache = new ReportFileCache(directory.toString(), 25);
+        cache.loadIndex();
+
+        cache.put("a", out -> write(out, "0123456789"));
+        Thread.sleep(5);
+        cache.put("b", out -> write(out, "0123456789"));
+        Thread.sleep(5);
+        cache.get("a");
+        cache.put("c", out -> write(out, "0123456789"));
+
+        assertThat(cache.get("a")).isPresent();
+        assertThat(cache.get("b")).isEmpty();
+        assertThat(cache.get("c")).isPresent();
+        assertThat(cache.totalBytes()).isEqualTo(20);
+    }
+
+    @Test
+    void loadIndex_shouldFindReportsWrittenBeforeRestart() {
+        ReportFileCache before = new ReportFileCache(directory.toString(), 1024);
+        before.loadIndex();
+        before.put("RANGE_XML:2025-11-01:2025-11-30:final", out -> write(out, "<report/>"));
+
+        ReportFileCache after = new ReportFileCache(directory.toString(), 1024);
+        after.loadIndex();
+
+        assertThat(after.get("RANGE_XML:2025-11-01:2025-11-30:final")).isPresent();
+    }
+
+    private static void write(OutputStream out, String content) {
+        try {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.systemhotelowy.unit.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.systemhotelowy.dto.report.HotelReportDto;
+import org.systemhotelowy.dto.report.ReservationReportEntry;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+import org.systemhotelowy.service.ReportFormat;
+import org.systemhotelowy.service.ReportFormatWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportFormatWriterTest {
+
+    // -------------------------------------------------
+    // Wybór formatu z nagłówka Accept
+    // -------------------------------------------------
+    @Test
+    void fromAcceptHeader_shouldHonourQualityAndDefaultToXml() throws Exception {
+        assertThat(ReportFormat.fromAcceptHeader(null)).isEqualTo(ReportFormat.XML);
+        assertThat(ReportFormat.fromAcceptHeader("*/*")).isEqualTo(ReportFormat.XML);
+        assertThat(ReportFormat.fromAcceptHeader("text/csv")).isEqualTo(ReportFormat.CSV);
+        assertThat(ReportFormat.fromAcceptHeader("application/xml;q=0.5, application/x-ndjson")).isEqualTo(ReportFormat.NDJSON);
+        assertThat(ReportFormat.fromAcceptHeader("text/*")).isEqualTo(ReportFormat.CSV);
+    }
+
+    @Test
+    void fromAcceptHeader_shouldRejectUnsupportedTypeAsNotAcceptable() {
+        assertThatThrownBy(() -> ReportFormat.fromAcceptHeader("image/png"))
+                .isInstanceOfSatisfying(HttpMediaTypeNotAcceptableException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+                    assertThat(e.getSupportedMediaTypes()).contains(MediaType.APPLICATION_XML, MediaType.APPLICATION_NDJSON);
+                });
+        assertThatThrownBy(() -> ReportFormat.fromAcceptHeader("not a media type"))
+                .isInstanceOf(HttpMediaTypeNotAcceptableException.class);
+    }
+
+    // -------------------------------------------------
+    // CSV i NDJSON
+    // -------------------------------------------------
+    @Test
+    void csvWriter_shouldWriteOneRecordPerEntryWithQuoting() {
+        String csv = new String(write(ReportFormat.CSV, 1, 1, 1), StandardCharsets.UTF_8);
+
+        assertThat(csv.split("\r\n")).containsExactly(
+                "section,date,id,number,floor,status,type,roomNumber,assignedToEmail,scheduledDate,durationInMinutes,guestName,checkInDate,checkOutDate",
+                "room,2025-12-09,0,100,1,READY,SINGLE,,,,,,,",
+                "task,2025-12-09,0,,,PENDING,,100,cleaner0@hotel.test,2025-12-09,30,,,",
+                "reservation,2025-12-09,0,,,CONFIRMED,,100,,,,\"Kowalski, Jan \"\"VIP\"\"\",2025-12-08,2025-12-10"
+        );
+    }
+
+    @Test
+    void ndjsonWriter_shouldWriteOneJsonObjectPerLine() throws IOException {
+        String ndjson = new String(write(ReportFormat.NDJSON, 2, 1, 1), StandardCharsets.UTF_8);
+        String[] lines = ndjson.split("\n");
+
+        assertThat(lines).hasSize(4);
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode room = mapper.readTree(lines[0]);
+        assertThat(room.get("section").asText()).isEqualTo("room");
+        assertThat(room.get("date").asText()).isEqualTo("2025-12-09");
+        assertThat(room.get("floor").asInt()).isEqualTo(1);
+        JsonNode reservation = mapper.readTree(lines[3]);
+        assertThat(reservation.get("guestName").asText()).isEqualTo("Kowalski, Jan \"VIP\"");
+        assertThat(reservation.has("type")).isFalse();
+    }
+
+    @Test
+    void csvWriter_shouldBeSmallerThanXml() {
+        byte[] xml = write(ReportFormat.XML, 50, 200, 50);
+        byte[] csv = write(ReportFormat.CSV, 50, 200, 50);
+
+        assertThat(csv.length).isLessThan(xml.length);
+    }
+
+    private static byte[] write(ReportFormat format, int rooms, int tasks, int reservations) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportFormatWriter writer = format.newWriter(out);
+        HotelReportDto dto = dto(rooms, tasks, reservations);
+
+        writer.startReport(dto.getDate());
+        writer.startSection("rooms");
+        dto.getRooms().forEach(writer::room);
+        writer.endSection("rooms");
+        writer.startSection("tasks");
+        dto.getTasks().forEach(writer::task);
+        writer.endSection("tasks");
+        writer.startSection("reservations");
+        dto.getReservations().forEach(writer::reservation);
+        writer.endSection("reservations");
+        writer.endReport();
+        return out.toByteArray();
+    }
+
+    private static HotelReportDto dto(int rooms, int tasks, int reservations) {
+        HotelReportDto dto = new HotelReportDto();
+        dto.setDate("2025-12-09");
+        for (int i = 0; i < rooms; i++) {
+            dto.getRooms().add(new RoomReportEntry(i, String.valueOf(100 + i), 1 + i % 10, "READY", "SINGLE"));
+        }
+        for (int i = 0; i < tasks; i++) {
+            dto.getTasks().add(new TaskReportEntry(i, "PENDING", String.valueOf(100 + i % Math.max(rooms, 1)),
+                    "cleaner" + i % 20 + "@hotel.test", "2025-12-09", 30));
+        }
+        for (int i = 0; i < reservations; i++) {
+            dto.getReservations().add(new ReservationReportEntry(i, String.valueOf(100 + i % Math.max(rooms, 1)),
+                    "CONFIRMED", "Kowalski, Jan \"VIP\"", "2025-12-08", "2025-12-10"));
+        }
+        return dto;
+    }
+}
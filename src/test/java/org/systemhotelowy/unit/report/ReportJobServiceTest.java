@@ -0,0 +1,260 @@
+package org.systemhotelowy.unit.report;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.systemhotelowy.exception.ResourceNotFoundException;
+import org.systemhotelowy.repository.ReportVersionRepository;
+import org.systemhotelowy.service.RangeReportStreamer;
+import org.systemhotelowy.service.ReportFileCache;
+import org.systemhotelowy.service.ReportJobService;
+import org.systemhotelowy.service.ReportJobService.ReportJob;
+import org.systemhotelowy.service.ReportJobService.ReportJobStatus;
+import org.systemhotelowy.service.ReportJobService.ReportType;
+import org.systemhotelowy.service.ReportStreamer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ReportJobService z executorem, który tylko kolejkuje zadania - test decyduje, kiedy raport jest generowany.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ReportJobServiceTest {
+
+    private static final LocalDate PAST_FROM = LocalDate.of(2025, 11, 1);
+    private static final LocalDate PAST_TO = LocalDate.of(2025, 11, 7);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private ReportStreamer reportStreamer;
+
+    @Mock
+    private RangeReportStreamer rangeReportStreamer;
+
+    @Mock
+    private ReportVersionRepository reportVersionRepository;
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private ReportFileCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReportFileCache(directory.toString(), 1024);
+        cache.loadIndex();
+
+        doAnswer(invocation -> write(invocation.getArgument(2), "<hotelRangeReport/>"))
+                .when(rangeReportStreamer).writeRangeXml(any(), any(), any());
+        doAnswer(invocation -> write(invocation.getArgument(1), "<hotelReport/>"))
+                .when(reportStreamer).writeDailyXml(any(), any());
+        when(reportVersionRepository.rangeVersion(any(), any())).thenReturn("r1-t1-v1");
+    }
+
+    // -------------------------------------------------
+    // Łączenie zleceń o tym samym kluczu
+    // -------------------------------------------------
+    @Test
+    void submit_shouldReturnRunningJobForSameKey() {
+        ReportJobService service = service(queued::add);
+
+        ReportJob first = service.submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+        ReportJob second = service.submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+        ReportJob other = service.submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO.plusDays(1));
+
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(queued).hasSize(2);
+    }
+
+    @Test
+    void submit_shouldServeFinishedReportFromCache() {
+        ReportJobService service = service(queued::add);
+        ReportJob first = service.submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+        runQueued();
+
+        ReportJob second = service.submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+
+        assertThat(first.getStatus()).isEqualTo(ReportJobStatus.DONE);
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getStatus()).isEqualTo(ReportJobStatus.DONE);
+        assertThat(second.getETag()).isEqualTo(first.getETag());
+        assertThat(queued).isEmpty();
+        verify(rangeReportStreamer, times(1)).writeRangeXml(any(), any(), any());
+    }
+
+    // -------------------------------------------------
+    // Pełna kolejka - 409
+    // -------------------------------------------------
+    @Test
+    void submit_shouldRejectWhenQueueIsFullAndReleaseKey() {
+        boolean[] full = {true};
+        ReportJobService service = service(command -> {
+            if (full[0]) {
+                throw new RejectedExecutionException("queue full");
+            }
+            queued.add(command);
+        });
+
+        assertThatThrownBy(() -> service.submit(ReportType.DAILY_XML, PAST_FROM, null))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("queue is full");
+
+        // odrzucone zlecenie nie blokuje klucza - kolejna próba trafia do kolejki
+        full[0] = false;
+        ReportJob job = service.submit(ReportType.DAILY_XML, PAST_FROM, null);
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.QUEUED);
+        assertThat(queued).hasSize(1);
+    }
+
+    // -------------------------------------------------
+    // Wersja danych zakresu
+    // -------------------------------------------------
+    @Test
+    void submit_shouldRegeneratePastRangeWhenItsDataChanged() {
+        ReportJobService service = service(queued::add);
+        service.submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+        runQueued();
+
+        when(reportVersionRepository.rangeVersion(PAST_FROM, PAST_TO)).thenReturn("r1-t2-v1");
+        ReportJob afterChange = service.submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+
+        assertThat(afterChange.getStatus()).isEqualTo(ReportJobStatus.QUEUED);
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    void submit_shouldKeepPastRangeWhenOtherDaysChanged() {
+        ReportJobService service = service(queued::add);
+        service.submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+        runQueued();
+
+        LocalDate today = LocalDate.now();
+        when(reportVersionRepository.rangeVersion(eq(today), eq(today))).thenReturn("r1-t2-v1");
+        service.submit(ReportType.DAILY_XML, today, null);
+        ReportJob past = service.submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+
+        assertThat(past.getStatus()).isEqualTo(ReportJobStatus.DONE);
+        verify(rangeReportStreamer, times(1)).writeRangeXml(any(), any(), any());
+    }
+
+    @Test
+    void submit_shouldServeReportWrittenBeforeRestart() {
+        service(queued::add).submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+        runQueued();
+
+        cache = new ReportFileCache(directory.toString(), 1024);
+        cache.loadIndex();
+        ReportJob afterRestart = service(queued::add).submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+
+        assertThat(afterRestart.getStatus()).isEqualTo(ReportJobStatus.DONE);
+        assertThat(queued).isEmpty();
+    }
+
+    // -------------------------------------------------
+    // Wynik zlecenia w kolejnych stanach
+    // -------------------------------------------------
+    @Test
+    void getResult_shouldRejectJobThatIsNotReady() {
+        ReportJobService service = service(queued::add);
+        ReportJob job = service.submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+
+        assertThatThrownBy(() -> service.getResult(job.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not ready");
+    }
+
+    @Test
+    void getResult_shouldReportFailedJob() {
+        doThrow(new IllegalStateException("XML report is not valid against schema"))
+                .when(reportStreamer).writeDailyXml(any(), any());
+        ReportJobService service = service(queued::add);
+        ReportJob job = service.submit(ReportType.DAILY_XML, PAST_FROM, null);
+        runQueued();
+
+        assertThat(job.getStatus()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(job.getError()).contains("not valid");
+        assertThatThrownBy(() -> service.getResult(job.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("failed");
+    }
+
+    @Test
+    void getResult_shouldReturnFileOfFinishedJob() throws IOException {
+        ReportJobService service = service(queued::add);
+        ReportJob job = service.submit(ReportType.DAILY_XML, PAST_FROM, null);
+        runQueued();
+
+        ReportFileCache.CachedReport result = service.getResult(job.getId());
+
+        assertThat(Files.readString(result.getPath())).isEqualTo("<hotelReport/>");
+        assertThat(result.getETag()).isEqualTo(job.getETag());
+    }
+
+    @Test
+    void getResult_shouldReturnNotFoundWhenResultWasEvicted() {
+        cache = new ReportFileCache(directory.toString(), 25);
+        cache.loadIndex();
+        ReportJobService service = service(queued::add);
+        ReportJob range = service.submit(ReportType.RANGE_XML, PAST_FROM, PAST_TO);
+        runQueued();
+        service.submit(ReportType.DAILY_XML, PAST_FROM, null);
+        runQueued();
+
+        assertThatThrownBy(() -> service.getResult(range.getId()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void getResult_shouldReturnNotFoundForUnknownJob() {
+        ReportJobService service = service(queued::add);
+
+        assertThatThrownBy(() -> service.getResult("missing"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private ReportJobService service(Executor executor) {
+        return new ReportJobService(reportStreamer, rangeReportStreamer, cache, reportVersionRepository, executor);
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private static Void write(OutputStream out, String content) {
+        try {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return null;
+    }
+}
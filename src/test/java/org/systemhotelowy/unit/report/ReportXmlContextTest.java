@@ -0,0 +1,54 @@
+package org.systemhotelowy.unit.report;
+
+import org.junit.jupiter.api.Test;
+import org.systemhotelowy.dto.report.HotelReportDto;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+import org.systemhotelowy.service.ReportXmlContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportXmlContextTest {
+
+    // -------------------------------------------------
+    // Zapis i odczyt przez współdzielony kontekst
+    // -------------------------------------------------
+    @Test
+    void marshalAndUnmarshal_shouldRoundTripReport() throws Exception {
+        HotelReportDto report = report(3);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportXmlContext.marshal(report, out);
+        HotelReportDto read = ReportXmlContext.unmarshal(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(read.getDate()).isEqualTo("2025-12-09");
+        assertThat(read.getRooms()).hasSize(3);
+        assertThat(read.getTasks()).hasSize(3);
+        assertThat(read.getRooms().get(1).getNumber()).isEqualTo("101");
+    }
+
+    @Test
+    void unmarshal_shouldRejectDocumentInvalidAgainstSchema() {
+        // brak wymaganego atrybutu date i sekcji tasks/reservations
+        byte[] xml = "<hotelReport><rooms/></hotelReport>".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> ReportXmlContext.unmarshal(new ByteArrayInputStream(xml)))
+                .isInstanceOf(jakarta.xml.bind.UnmarshalException.class);
+    }
+
+    private HotelReportDto report(int size) {
+        HotelReportDto report = new HotelReportDto();
+        report.setDate("2025-12-09");
+        for (int i = 0; i < size; i++) {
+            report.getRooms().add(new RoomReportEntry(i + 1, String.valueOf(100 + i), 1 + i / 20, "READY", "DOUBLE"));
+            report.getTasks().add(new TaskReportEntry(i + 1, "PENDING", String.valueOf(100 + i),
+                    "cleaner@hotel.test", "2025-12-09", 30));
+        }
+        return report;
+    }
+}
@@ -0,0 +1,64 @@
+package org.systemhotelowy.unit.report;
+
+import org.junit.jupiter.api.Test;
+import org.systemhotelowy.dto.report.HotelReportDto;
+import org.systemhotelowy.dto.report.ReservationReportEntry;
+import org.systemhotelowy.dto.report.RoomReportEntry;
+import org.systemhotelowy.dto.report.TaskReportEntry;
+import org.systemhotelowy.service.ReportXmlContext;
+import org.systemhotelowy.service.ReportXmlWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportXmlWriterTest {
+
+    // -------------------------------------------------
+    // Dokument zgodny z wynikiem JAXB
+    // -------------------------------------------------
+    @Test
+    void streamedReport_shouldBeReadableByJaxb() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReportXmlWriter writer = new ReportXmlWriter(out);
+
+        writer.startReport("2025-12-09");
+        writer.startSection("rooms");
+        writer.room(new RoomReportEntry(1, "101", 1, "READY", "SINGLE"));
+        writer.room(new RoomReportEntry(2, "102", 1, "DIRTY", null));
+        writer.endSection("rooms");
+        writer.startSection("tasks");
+        writer.task(new TaskReportEntry(7, "PENDING", "102", "cleaner@hotel.test", "2025-12-09", 30));
+        writer.endSection("tasks");
+        writer.startSection("reservations");
+        writer.reservation(new ReservationReportEntry(5, "101", "CONFIRMED", "Jan Kowalski & syn", "2025-12-08", "2025-12-10"));
+        writer.endSection("reservations");
+        writer.endReport();
+
+        HotelReportDto read = ReportXmlContext.unmarshal(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(read.getDate()).isEqualTo("2025-12-09");
+        assertThat(read.getRooms()).extracting(RoomReportEntry::getNumber).containsExactly("101", "102");
+        assertThat(read.getRooms().get(1).getType()).isNull();
+        assertThat(read.getTasks().get(0).getAssignedToEmail()).isEqualTo("cleaner@hotel.test");
+        assertThat(read.getReservations().get(0).getGuestName()).isEqualTo("Jan Kowalski & syn");
+    }
+
+    // -------------------------------------------------
+    // Walidacja w trakcie zapisu
+    // -------------------------------------------------
+    @Test
+    void writer_shouldFailAsSoonAsDocumentBreaksSchema() {
+        ReportXmlWriter writer = new ReportXmlWriter(OutputStream.nullOutputStream());
+        writer.startReport("2025-12-09");
+        writer.startSection("rooms");
+        writer.endSection("rooms");
+
+        // sekcja tasks jest wymagana przed reservations
+        assertThatThrownBy(() -> writer.startSection("reservations"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("not valid against schema");
+    }
+}
@@ -0,0 +1,59 @@
+package org.systemhotelowy.unit.reservation;
+
+import org.junit.jupiter.api.Test;
+import org.systemhotelowy.model.Reservation;
+import org.systemhotelowy.model.ReservationStatus;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.service.OccupancyMatrix;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OccupancyMatrixTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 12, 1);
+
+    @Test
+    void build_shouldMapReservationsToRoomDayCells() {
+        // given
+        Room room101 = room(1, "101");
+        Room room102 = room(2, "102");
+        Reservation acrossWindowStart = reservation(10, room101, START.minusDays(3), START.plusDays(1), ReservationStatus.CONFIRMED);
+        Reservation cancelled = reservation(11, room102, START.plusDays(2), START.plusDays(4), ReservationStatus.CANCELLED);
+        Reservation inside = reservation(12, room102, START.plusDays(5), START.plusDays(6), ReservationStatus.PENDING);
+
+        // when
+        OccupancyMatrix matrix = OccupancyMatrix.build(
+                List.of(room101, room102), List.of(acrossWindowStart, cancelled, inside), START, 14);
+
+        // then
+        assertThat(matrix.get(1, START)).isSameAs(acrossWindowStart);
+        assertThat(matrix.get(1, START.plusDays(1))).isSameAs(acrossWindowStart);
+        assertThat(matrix.get(1, START.plusDays(2))).isNull();
+        assertThat(matrix.get(2, START.plusDays(3))).isNull();
+        assertThat(matrix.get(2, START.plusDays(5))).isSameAs(inside);
+        assertThat(matrix.get(2, START.plusDays(6))).isSameAs(inside);
+        // poza oknem i nieznany pokój
+        assertThat(matrix.get(1, START.minusDays(1))).isNull();
+        assertThat(matrix.get(99, START)).isNull();
+    }
+
+    private Room room(Integer id, String number) {
+        Room room = new Room();
+        room.setId(id);
+        room.setNumber(number);
+        return room;
+    }
+
+    private Reservation reservation(Integer id, Room room, LocalDate checkIn, LocalDate checkOut, ReservationStatus status) {
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setRoom(room);
+        reservation.setCheckInDate(checkIn);
+        reservation.setCheckOutDate(checkOut);
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
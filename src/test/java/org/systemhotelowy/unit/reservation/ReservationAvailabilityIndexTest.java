@@ -0,0 +1,92 @@
+package org.systemhotelowy.unit.reservation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.systemhotelowy.model.Reservation;
+import org.systemhotelowy.model.ReservationStatus;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.repository.ReservationRepository;
+import org.systemhotelowy.service.ReservationAvailabilityIndex;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationAvailabilityIndexTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ReservationAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ReservationAvailabilityIndex(reservationRepository);
+        when(reservationRepository.findActiveReservationRanges()).thenReturn(List.<Object[]>of(
+                new Object[]{1, 10, LocalDate.of(2025, 12, 10), LocalDate.of(2025, 12, 12)},
+                new Object[]{2, 10, LocalDate.of(2025, 12, 20), LocalDate.of(2025, 12, 30)}
+        ));
+        index.warmUp();
+    }
+
+    // -------------------------------------------------
+    // Wykrywanie nakładania się przedziałów
+    // -------------------------------------------------
+    @Test
+    void isAvailable_shouldDetectOverlapLikeDatabaseQuery() {
+        assertThat(index.isReady()).isTrue();
+
+        // dokładnie ten sam okres
+        assertThat(index.isAvailable(10, LocalDate.of(2025, 12, 10), LocalDate.of(2025, 12, 12), null)).isFalse();
+        // okres zaczynający się w dniu wymeldowania (granice włączne jak w findOverlappingReservations)
+        assertThat(index.isAvailable(10, LocalDate.of(2025, 12, 12), LocalDate.of(2025, 12, 14), null)).isFalse();
+        // okres w środku długiej rezerwacji
+        assertThat(index.isAvailable(10, LocalDate.of(2025, 12, 25), LocalDate.of(2025, 12, 26), null)).isFalse();
+        // wolna luka
+        assertThat(index.isAvailable(10, LocalDate.of(2025, 12, 14), LocalDate.of(2025, 12, 18), null)).isTrue();
+        // inny pokój
+        assertThat(index.isAvailable(11, LocalDate.of(2025, 12, 10), LocalDate.of(2025, 12, 12), null)).isTrue();
+        // z pominięciem edytowanej rezerwacji
+        assertThat(index.isAvailable(10, LocalDate.of(2025, 12, 10), LocalDate.of(2025, 12, 12), 1)).isTrue();
+    }
+
+    // -------------------------------------------------
+    // Synchronizacja z zapisami
+    // -------------------------------------------------
+    @Test
+    void register_shouldRemoveCancelledAndMoveChangedReservations() {
+        Reservation cancelled = reservation(1, 10, LocalDate.of(2025, 12, 10), LocalDate.of(2025, 12, 12),
+                ReservationStatus.CANCELLED);
+        index.register(cancelled);
+        assertThat(index.isAvailable(10, LocalDate.of(2025, 12, 10), LocalDate.of(2025, 12, 12), null)).isTrue();
+
+        Reservation moved = reservation(2, 11, LocalDate.of(2025, 12, 20), LocalDate.of(2025, 12, 30),
+                ReservationStatus.CONFIRMED);
+        index.register(moved);
+        assertThat(index.isAvailable(10, LocalDate.of(2025, 12, 25), LocalDate.of(2025, 12, 26), null)).isTrue();
+        assertThat(index.isAvailable(11, LocalDate.of(2025, 12, 25), LocalDate.of(2025, 12, 26), null)).isFalse();
+
+        index.unregister(2);
+        assertThat(index.isAvailable(11, LocalDate.of(2025, 12, 25), LocalDate.of(2025, 12, 26), null)).isTrue();
+    }
+
+    private Reservation reservation(Integer id, Integer roomId, LocalDate checkIn, LocalDate checkOut,
+                                    ReservationStatus status) {
+        Room room = new Room();
+        room.setId(roomId);
+
+        Reservation reservation = new Reservation();
+        reservation.setId(id);
+        reservation.setRoom(room);
+        reservation.setCheckInDate(checkIn);
+        reservation.setCheckOutDate(checkOut);
+        reservation.setStatus(status);
+        return reservation;
+    }
+}
@@ -1,5 +1,6 @@
 package org.systemhotelowy.unit.reservation;
 
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,20 +8,32 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.systemhotelowy.dto.ReservationBatchItemResponse;
 import org.systemhotelowy.dto.ReservationRequest;
 import org.systemhotelowy.mapper.ReservationMapper;
+import org.systemhotelowy.model.Reservation;
 import org.systemhotelowy.model.ReservationStatus;
 import org.systemhotelowy.model.Room;
 import org.systemhotelowy.model.RoomStatus;
 import org.systemhotelowy.model.RoomType;
+import org.systemhotelowy.repository.ReservationBatchRepository;
 import org.systemhotelowy.repository.ReservationRepository;
 import org.systemhotelowy.repository.RoomRepository;
+import org.systemhotelowy.service.ReservationAvailabilityIndex;
+import org.systemhotelowy.service.RoomBookingLocks;
 import org.systemhotelowy.service.impl.ReservationServiceImpl;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +49,15 @@ class ReservationServiceImplTest {
     @Mock
     private ReservationMapper reservationMapper;
 
+    @Mock
+    private ReservationBatchRepository reservationBatchRepository;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private ReservationServiceImpl reservationService;
 
     @BeforeEach
@@ -43,7 +65,12 @@ class ReservationServiceImplTest {
         reservationService = new ReservationServiceImpl(
                 reservationRepository,
                 roomRepository,
-                reservationMapper
+                reservationMapper,
+                new ReservationAvailabilityIndex(reservationRepository),
+                new RoomBookingLocks(),
+                reservationBatchRepository,
+                validator,
+                eventPublisher
         );
     }
 
@@ -114,4 +141,61 @@ class ReservationServiceImplTest {
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
+    // -------------------------------------------------
+    //  Wsadowe tworzenie rezerwacji
+    // -------------------------------------------------
+    @Test
+    void createBatch_shouldReportPerItemResultsAndRejectOverlapsWithinBatch() {
+        // given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        LocalDate checkOut = checkIn.plusDays(2);
+
+        Room room = new Room();
+        room.setId(1);
+        room.setNumber("101");
+        room.setCapacity(2);
+
+        when(roomRepository.lockAllByIdIn(anyCollection())).thenReturn(List.of(room));
+        when(reservationMapper.toEntity(any()))
+                .thenAnswer(invocation -> new ReservationMapper().toEntity(invocation.getArgument(0)));
+        doAnswer(invocation -> {
+            List<Reservation> inserted = invocation.getArgument(0);
+            for (int i = 0; i < inserted.size(); i++) {
+                inserted.get(i).setId(100 + i);
+            }
+            return null;
+        }).when(reservationBatchRepository).insertAll(anyList());
+
+        List<ReservationRequest> requests = List.of(
+                batchRequest(1, checkIn, checkOut),                         // OK
+                batchRequest(1, checkIn.plusDays(1), checkOut.plusDays(1)), // nakłada się na pozycję 0
+                batchRequest(1, checkOut, checkIn),                         // złe daty
+                batchRequest(2, checkIn, checkOut)                          // pokój nie istnieje
+        );
+
+        // when
+        List<ReservationBatchItemResponse> results = reservationService.createBatch(requests);
+
+        // then
+        assertThat(results).extracting(ReservationBatchItemResponse::isSuccess)
+                .containsExactly(true, false, false, false);
+        assertThat(results.get(1).getError()).contains("zarezerwowany");
+        assertThat(results.get(2).getError()).contains("Data wymeldowania");
+        assertThat(results.get(3).getError()).contains("Pokój nie znaleziony");
+    }
+
+    private ReservationRequest batchRequest(Integer roomId, LocalDate checkIn, LocalDate checkOut) {
+        return new ReservationRequest(
+                roomId,
+                checkIn,
+                checkOut,
+                "Group Guest",
+                "group@example.com",
+                "123456789",
+                2,
+                BigDecimal.TEN,
+                ReservationStatus.CONFIRMED,
+                null
+        );
+    }
 }
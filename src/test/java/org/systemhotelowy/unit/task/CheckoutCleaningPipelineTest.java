@@ -0,0 +1,261 @@
+package org.systemhotelowy.unit.task;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.systemhotelowy.event.ReservationStatusChangedEvent;
+import org.systemhotelowy.model.ReservationStatus;
+import org.systemhotelowy.model.Role;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.RoomStatus;
+import org.systemhotelowy.model.Task;
+import org.systemhotelowy.model.User;
+import org.systemhotelowy.repository.ReservationRepository;
+import org.systemhotelowy.repository.TaskRepository;
+import org.systemhotelowy.repository.UserRepository;
+import org.systemhotelowy.service.CheckoutCleaningPipeline;
+import org.systemhotelowy.service.RoomService;
+import org.systemhotelowy.service.TaskService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CheckoutCleaningPipeline z synchronicznym executorem (przetwarzanie w wątku testu, bez odczekania i backoffu).
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CheckoutCleaningPipelineTest {
+
+    @Mock
+    private RoomService roomService;
+
+    @Mock
+    private TaskService taskService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CheckoutCleaningPipeline pipeline;
+
+    // rezerwacje CHECKED_OUT (ID rezerwacji -> ID pokoju) i te ze znacznikiem obsłużenia
+    private final Map<Integer, Integer> checkouts = new HashMap<>();
+    private final Set<Integer> handled = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new CheckoutCleaningPipeline(roomService, taskService, taskRepository, userRepository,
+                reservationRepository, Runnable::run, transactionManager, 0, 0);
+
+        when(roomService.updateStatuses(anyCollection(), eq(RoomStatus.DIRTY)))
+                .thenAnswer(invocation -> rooms(invocation.getArgument(0)));
+        when(taskRepository.findRoomIdsWithTasksBetween(anyCollection(), any(), any())).thenReturn(List.of());
+        when(userRepository.findByRoleOrderByIdAsc(Role.CLEANER)).thenReturn(List.of(new User()));
+        when(taskService.createBatch(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(reservationRepository.findUnhandledCheckouts(anyCollection())).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            for (Integer id : invocation.<Collection<Integer>>getArgument(0)) {
+                if (checkouts.containsKey(id) && !handled.contains(id)) {
+                    rows.add(new Object[]{id, checkouts.get(id)});
+                }
+            }
+            return rows;
+        });
+        when(reservationRepository.markCleaningHandled(anyCollection(), any())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            handled.addAll(ids);
+            return ids.size();
+        });
+    }
+
+    // -------------------------------------------------
+    // Kolejka: scalanie po pokoju, wstawienie bez blokowania
+    // -------------------------------------------------
+    @Test
+    void start_shouldCoalesceQueuedCheckoutsPerRoomIntoOneBatch() {
+        pipeline.onStatusChanged(checkOut(1, 10));
+        pipeline.onStatusChanged(checkOut(2, 10));
+        pipeline.onStatusChanged(checkOut(3, 11));
+        // zmiana inna niż wymeldowanie nie trafia do kolejki
+        pipeline.onStatusChanged(new ReservationStatusChangedEvent(4, 12, ReservationStatus.CONFIRMED, ReservationStatus.CHECKED_IN));
+        assertThat(pipeline.getPendingCount()).isEqualTo(3);
+
+        pipeline.start();
+
+        verify(roomService, times(1)).updateStatuses(Set.of(10, 11), RoomStatus.DIRTY);
+        assertThat(createdRoomIds()).containsExactly(10, 11);
+        assertThat(pipeline.getPendingCount()).isZero();
+    }
+
+    @Test
+    void onStatusChanged_shouldDropWithoutBlockingWhenQueueIsFull() {
+        for (int i = 0; i < 1000; i++) {
+            pipeline.onStatusChanged(checkOut(i, i));
+        }
+
+        pipeline.onStatusChanged(checkOut(1000, 1000));
+
+        assertThat(pipeline.getPendingCount()).isEqualTo(1000);
+    }
+
+    // -------------------------------------------------
+    // Ponawianie: błędy przejściowe tak, reguły biznesowe nie
+    // -------------------------------------------------
+    @Test
+    void onStatusChanged_shouldRetryTransientFailure() {
+        doThrow(new QueryTimeoutException("lock wait timeout"))
+                .doAnswer(invocation -> rooms(invocation.getArgument(0)))
+                .when(roomService).updateStatuses(anyCollection(), eq(RoomStatus.DIRTY));
+        pipeline.start();
+
+        pipeline.onStatusChanged(checkOut(1, 10));
+
+        verify(roomService, times(2)).updateStatuses(anyCollection(), eq(RoomStatus.DIRTY));
+        assertThat(createdRoomIds()).containsExactly(10);
+    }
+
+    @Test
+    void onStatusChanged_shouldGiveUpAfterMaxAttempts() {
+        doThrow(new QueryTimeoutException("lock wait timeout"))
+                .when(roomService).updateStatuses(anyCollection(), eq(RoomStatus.DIRTY));
+        pipeline.start();
+
+        pipeline.onStatusChanged(checkOut(1, 10));
+
+        verify(roomService, times(3)).updateStatuses(anyCollection(), eq(RoomStatus.DIRTY));
+        verify(taskService, never()).createBatch(anyList());
+    }
+
+    @Test
+    void onStatusChanged_shouldMarkDirtyWithoutTasksOnBusinessRuleViolation() {
+        doThrow(new IllegalStateException("daily task limit reached")).when(taskService).createBatch(anyList());
+        pipeline.start();
+
+        pipeline.onStatusChanged(checkOut(1, 10));
+
+        // bez ponowień: wycofana próba z zadaniami, potem same pokoje DIRTY ze znacznikiem obsłużenia
+        verify(taskService, times(1)).createBatch(anyList());
+        verify(roomService, times(2)).updateStatuses(anyCollection(), eq(RoomStatus.DIRTY));
+        assertThat(handled).containsExactly(1);
+    }
+
+    // -------------------------------------------------
+    // Tworzenie zadań: pokój z zadaniem na dziś, brak sprzątających
+    // -------------------------------------------------
+    @Test
+    void onStatusChanged_shouldSkipRoomThatAlreadyHasTaskToday() {
+        when(taskRepository.findRoomIdsWithTasksBetween(anyCollection(), any(), any())).thenReturn(List.of(10));
+        pipeline.onStatusChanged(checkOut(1, 10));
+        pipeline.onStatusChanged(checkOut(2, 11));
+
+        pipeline.start();
+
+        assertThat(createdRoomIds()).containsExactly(11);
+    }
+
+    @Test
+    void onStatusChanged_shouldMarkDirtyWithoutTasksWhenNoCleaners() {
+        when(userRepository.findByRoleOrderByIdAsc(Role.CLEANER)).thenReturn(List.of());
+        pipeline.start();
+
+        pipeline.onStatusChanged(checkOut(1, 10));
+
+        verify(roomService).updateStatuses(anyCollection(), eq(RoomStatus.DIRTY));
+        verify(taskService, never()).assignToCleaners(anyList());
+        verify(taskService, never()).createBatch(anyList());
+        assertThat(handled).containsExactly(1);
+    }
+
+    // -------------------------------------------------
+    // Uzgodnienie: wymeldowania bez zadania (utracone zdarzenia)
+    // -------------------------------------------------
+    @Test
+    void sweep_shouldCreateTasksForTodaysCheckoutsWithoutTask() {
+        checkOut(20, 20);
+        checkOut(21, 21);
+        when(reservationRepository.findUnhandledCheckoutIds(any())).thenReturn(List.of(20, 21));
+        pipeline.start();
+
+        pipeline.sweep();
+
+        assertThat(createdRoomIds()).containsExactly(20, 21);
+        assertThat(handled).containsExactlyInAnyOrder(20, 21);
+    }
+
+    @Test
+    void sweep_shouldDoNothingWhenEveryCheckoutWasHandled() {
+        when(reservationRepository.findUnhandledCheckoutIds(any())).thenReturn(List.of());
+        pipeline.start();
+
+        pipeline.sweep();
+
+        verify(roomService, never()).updateStatuses(anyCollection(), any());
+    }
+
+    @Test
+    void sweep_shouldNotReprocessCheckoutHandledBefore() {
+        // brak sprzątających - pokój DIRTY bez zadania, wymeldowanie i tak obsłużone
+        when(userRepository.findByRoleOrderByIdAsc(Role.CLEANER)).thenReturn(List.of());
+        pipeline.start();
+        pipeline.onStatusChanged(checkOut(1, 10));
+        when(reservationRepository.findUnhandledCheckoutIds(any())).thenReturn(List.of(1));
+
+        pipeline.sweep();
+
+        verify(roomService, times(1)).updateStatuses(anyCollection(), eq(RoomStatus.DIRTY));
+    }
+
+    private ReservationStatusChangedEvent checkOut(int reservationId, int roomId) {
+        checkouts.put(reservationId, roomId);
+        return new ReservationStatusChangedEvent(reservationId, roomId, ReservationStatus.CHECKED_IN, ReservationStatus.CHECKED_OUT);
+    }
+
+    private static List<Room> rooms(Collection<Integer> ids) {
+        List<Room> rooms = new ArrayList<>();
+        for (Integer id : ids) {
+            Room room = new Room();
+            room.setId(id);
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Integer> createdRoomIds() {
+        ArgumentCaptor<List<Task>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskService).createBatch(captor.capture());
+        return captor.getValue().stream().map(task -> task.getRoom().getId()).toList();
+    }
+}
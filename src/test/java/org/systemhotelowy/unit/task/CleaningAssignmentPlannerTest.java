@@ -0,0 +1,115 @@
+package org.systemhotelowy.unit.task;
+
+import org.junit.jupiter.api.Test;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.Task;
+import org.systemhotelowy.model.User;
+import org.systemhotelowy.service.CleaningAssignmentPlanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CleaningAssignmentPlannerTest {
+
+    // -------------------------------------------------
+    // Równomierny podział i trzymanie pięter razem
+    // -------------------------------------------------
+    @Test
+    void assign_shouldBalanceLoadAndKeepSmallFloorsTogether() {
+        // 4 piętra po 5 pokoi x 30 min, 4 osoby -> idealnie po jednym piętrze
+        List<Task> tasks = tasks(4, 5, 30);
+        List<User> cleaners = cleaners(4);
+
+        Map<User, Long> load = CleaningAssignmentPlanner.assign(tasks, cleaners, Map.of());
+
+        assertThat(load.values()).containsOnly(150L);
+        for (int floor = 1; floor <= 4; floor++) {
+            assertThat(assigneesOnFloor(tasks, floor)).hasSize(1);
+        }
+    }
+
+    @Test
+    void assign_shouldAccountForAlreadyScheduledMinutes() {
+        List<Task> tasks = tasks(2, 2, 60);
+        List<User> cleaners = cleaners(2);
+
+        // pierwsza osoba ma już 240 min -> wszystko trafia do drugiej
+        Map<User, Long> load = CleaningAssignmentPlanner.assign(tasks, cleaners, Map.of(1, 240L));
+
+        assertThat(tasks).allSatisfy(t -> assertThat(t.getAssignedTo().getId()).isEqualTo(2));
+        assertThat(load.get(cleaners.get(1))).isEqualTo(240L);
+    }
+
+    @Test
+    void assign_shouldBeDeterministic() {
+        List<Task> first = tasks(7, 13, 25);
+        List<Task> second = tasks(7, 13, 25);
+        List<User> cleaners = cleaners(5);
+
+        CleaningAssignmentPlanner.assign(first, cleaners, Map.of());
+        CleaningAssignmentPlanner.assign(second, cleaners, Map.of());
+
+        for (int i = 0; i < first.size(); i++) {
+            assertThat(second.get(i).getAssignedTo()).isEqualTo(first.get(i).getAssignedTo());
+        }
+    }
+
+    // -------------------------------------------------
+    // Duży hotel: 400 pokoi, 30 osób
+    // -------------------------------------------------
+    @Test
+    void assign_shouldStayWithinTwiceLowerBoundForLargeHotel() {
+        List<Task> tasks = tasks(20, 20, 45);
+        List<User> cleaners = cleaners(30);
+
+        Map<User, Long> load = CleaningAssignmentPlanner.assign(tasks, cleaners, Map.of());
+
+        long max = load.values().stream().mapToLong(Long::longValue).max().orElseThrow();
+        long total = load.values().stream().mapToLong(Long::longValue).sum();
+        long lowerBound = (total + cleaners.size() - 1) / cleaners.size();
+        assertThat(total).isEqualTo(400L * 45);
+        // LPT na blokach nie większych niż średnia: maksimum co najwyżej dwa razy dolna granica
+        assertThat(max).isLessThanOrEqualTo(2 * lowerBound);
+    }
+
+    private Set<Integer> assigneesOnFloor(List<Task> tasks, int floor) {
+        return tasks.stream()
+                .filter(t -> t.getRoom().getFloor() == floor)
+                .map(t -> t.getAssignedTo().getId())
+                .collect(Collectors.toSet());
+    }
+
+    private List<Task> tasks(int floors, int roomsPerFloor, int minutes) {
+        List<Task> tasks = new ArrayList<>();
+        int id = 1;
+        for (int floor = 1; floor <= floors; floor++) {
+            for (int r = 1; r <= roomsPerFloor; r++) {
+                Room room = new Room();
+                room.setId(id++);
+                room.setFloor(floor);
+                room.setNumber(String.format("%d%02d", floor, r));
+
+                Task task = new Task();
+                task.setRoom(room);
+                task.setDurationInMinutes(minutes);
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private List<User> cleaners(int count) {
+        List<User> cleaners = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            User user = new User();
+            user.setId(i);
+            cleaners.add(user);
+        }
+        return cleaners;
+    }
+}
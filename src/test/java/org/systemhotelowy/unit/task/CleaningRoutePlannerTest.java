@@ -0,0 +1,96 @@
+package org.systemhotelowy.unit.task;
+
+import org.junit.jupiter.api.Test;
+import org.systemhotelowy.model.Room;
+import org.systemhotelowy.model.Task;
+import org.systemhotelowy.service.CleaningRoutePlanner;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CleaningRoutePlannerTest {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2025, 12, 9, 8, 0);
+
+    // -------------------------------------------------
+    // Ograniczanie zmian pięter
+    // -------------------------------------------------
+    @Test
+    void plan_shouldVisitEachFloorOnceWhenAllTasksAreAvailable() {
+        List<Task> tasks = new ArrayList<>();
+        int id = 1;
+        for (int floor = 1; floor <= 5; floor++) {
+            for (int r = 1; r <= 4; r++) {
+                tasks.add(task(id++, floor, MORNING, 20));
+            }
+        }
+        Collections.shuffle(tasks, new Random(42));
+
+        List<CleaningRoutePlanner.Stop> route = CleaningRoutePlanner.plan(tasks);
+
+        assertThat(route).hasSize(20);
+        assertThat(CleaningRoutePlanner.floorChanges(route)).isEqualTo(4);
+    }
+
+    // -------------------------------------------------
+    // Okna czasowe: start nie wcześniej niż scheduledAt, bez nakładania się zadań
+    // -------------------------------------------------
+    @Test
+    void plan_shouldRespectScheduledAtAndDurations() {
+        List<Task> tasks = List.of(
+                task(1, 3, MORNING, 30),
+                task(2, 1, MORNING, 30),
+                task(3, 3, MORNING.plusHours(3), 30),
+                task(4, 1, MORNING.plusMinutes(10), 45)
+        );
+
+        List<CleaningRoutePlanner.Stop> route = CleaningRoutePlanner.plan(tasks);
+
+        LocalDateTime previousEnd = null;
+        for (CleaningRoutePlanner.Stop stop : route) {
+            assertThat(stop.getPlannedStart()).isAfterOrEqualTo(stop.getTask().getScheduledAt());
+            if (previousEnd != null) {
+                assertThat(stop.getPlannedStart()).isAfterOrEqualTo(previousEnd);
+            }
+            previousEnd = stop.getPlannedStart().plusMinutes(stop.getTask().getDurationInMinutes());
+        }
+        // zadanie z 11:00 jest ostatnie, mimo że jest na piętrze 3 jak pierwsze
+        assertThat(route.get(3).getTask().getId()).isEqualTo(3);
+    }
+
+    // -------------------------------------------------
+    // Pełny dzień: 60 zadań na 8 piętrach
+    // -------------------------------------------------
+    @Test
+    void plan_shouldScheduleEveryTaskExactlyOnce() {
+        Random random = new Random(7);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 60; i++) {
+            tasks.add(task(i, 1 + random.nextInt(8), MORNING.plusMinutes(random.nextInt(6) * 60L), 15 + random.nextInt(4) * 15));
+        }
+
+        List<CleaningRoutePlanner.Stop> route = CleaningRoutePlanner.plan(tasks);
+
+        assertThat(route).extracting(stop -> stop.getTask().getId())
+                .containsExactlyInAnyOrderElementsOf(tasks.stream().map(Task::getId).toList());
+    }
+
+    private Task task(int id, int floor, LocalDateTime scheduledAt, int minutes) {
+        Room room = new Room();
+        room.setId(id);
+        room.setFloor(floor);
+        room.setNumber(String.format("%d%02d", floor, id));
+
+        Task task = new Task();
+        task.setId(id);
+        task.setRoom(room);
+        task.setScheduledAt(scheduledAt);
+        task.setDurationInMinutes(minutes);
+        return task;
+    }
+}